@@ -47,7 +47,7 @@ public class BasicCompassPlot extends CompassPlot {
     public BasicCompassPlot(Color roseColor) {
         super(new DefaultValueDataset(0.0));
         
-        setSeriesNeedle(ChartUtil.WIND_NEEDLE);
+        setSeriesNeedle(0, new WindArrowsNeedle());
         setSeriesPaint(0, Color.black);        // arrow heads
         setSeriesOutlinePaint(0, Color.black); // arrow shafts and arrow head outline
         setRosePaint(roseColor);
@@ -43,6 +43,7 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.DateAxis;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.fx.ChartViewer;
 import org.jfree.chart.labels.StandardCategoryToolTipGenerator;
 import org.jfree.chart.labels.StandardXYToolTipGenerator;
 import org.jfree.chart.labels.XYToolTipGenerator;
@@ -253,6 +254,11 @@ public class ChartUtil {
 
     }
 
+    /**
+     * Creates a time series chart that decimates dense series to the plot
+     * resolution. The plot's dataset is a {@link DecimatedXYDataset} view of
+     * the given dataset.
+     */
     public static JFreeChart createDiurnalChart(
             XYDataset dataset, String title, String timeAxisLabel, String valueAxisLabel) {
 
@@ -265,12 +271,12 @@ public class ChartUtil {
 
         XYToolTipGenerator toolTipGenerator
                 = StandardXYToolTipGenerator.getTimeSeriesInstance();
-        XYLineAndShapeRenderer renderer = new HighlightXYLineAndShapeRenderer(true, true);
+        XYLineAndShapeRenderer renderer = new DecimatingXYLineAndShapeRenderer(true, true);
         renderer.setBaseToolTipGenerator(toolTipGenerator);
         renderer.setBaseShapesVisible(true);
         renderer.setBaseShapesFilled(true);
 
-        XYPlot plot = new XYPlot(dataset, timeAxis, valueAxis, null);
+        XYPlot plot = new XYPlot(new DecimatedXYDataset(dataset), timeAxis, valueAxis, null);
         plot.setOrientation(PlotOrientation.VERTICAL);
         plot.setDomainCrosshairVisible(true);
         plot.setDomainCrosshairLockedOnData(true);
@@ -313,4 +319,17 @@ public class ChartUtil {
 
         return chartPanel;
     }
+
+    /**
+     * Creates a JavaFX viewer for an XY chart with crosshairs, e.g., the haul
+     * chart or a chart from createWindChart or createDiurnalChart. The
+     * crosshairs and the outline of the data item under the mouse are drawn
+     * on an overlay, so moving the mouse does not redraw the chart.
+     */
+    public static ChartViewer createCommonChartViewer(JFreeChart chart) {
+        ChartViewer viewer = new ChartViewer(chart);
+        viewer.setCrosshairOverlay(true);
+        viewer.setHoverHighlight(true);
+        return viewer;
+    }
 }
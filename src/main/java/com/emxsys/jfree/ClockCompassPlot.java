@@ -30,6 +30,8 @@
 package com.emxsys.jfree;
 
 import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.GeneralPath;
@@ -75,6 +77,8 @@ public class ClockCompassPlot extends CompassPlot {
     public void setSeriesNeedle(int index, int type) {
         if (type == CLOCK_HAND_NEEDLE) {
             setSeriesNeedle(index, new ClockHandsNeedle());
+        } else if (type == WIND_NEEDLE) {
+            setSeriesNeedle(index, new WindArrowsNeedle());
         } else {
             super.setSeriesNeedle(index, type);
         }
@@ -90,6 +94,14 @@ public class ClockCompassPlot extends CompassPlot {
             Hour, Minute
         };
 
+        /**
+         * The cached hand outlines, centered on the origin.
+         */
+        private transient Shape hourHand;
+        private transient Shape minuteHand;
+        private transient int cachedRadius;
+        private transient int cachedLenX;
+
         @Override
         public void draw(Graphics2D g2, Rectangle2D plotArea, Point2D rotate, double angle) {
             super.draw(g2, plotArea, rotate, angle); //To change body of generated methods, choose Tools | Templates.
@@ -125,43 +137,63 @@ public class ClockCompassPlot extends CompassPlot {
         }
 
         private void drawHand(ClockHand hand, Graphics2D g2, Rectangle2D plotArea, Point2D rotate, double angle) {
-            Area shape;
-            GeneralPath pointer = new GeneralPath();
-
             int minY = (int) (plotArea.getMinY());
-            //int maxX = (int) (plotArea.getMaxX());
             int maxY = (int) (plotArea.getMaxY());
-            int midY = ((maxY - minY) / 2) + minY;
-
+            int radius = (maxY - minY) / 2;
+            int midY = radius + minY;
             int midX = (int) (plotArea.getMinX() + (plotArea.getWidth() / 2));
-            //int midY = (int) (plotArea.getMinY() + (plotArea.getHeight() / 2));
             int lenX = (int) (plotArea.getWidth() / 10);
             if (lenX < 2) {
                 lenX = 2;
             }
 
-            pointer.moveTo(midX - lenX, midY - lenX);
-            pointer.lineTo(midX + lenX, midY - lenX);
+            // The hand outlines are centered on the origin and only rebuilt
+            // when the plot size changes; the position and rotation are
+            // applied as a transform.
+            if (hourHand == null || radius != cachedRadius || lenX != cachedLenX) {
+                hourHand = createHand(ClockHand.Hour, radius, lenX);
+                minuteHand = createHand(ClockHand.Minute, radius, lenX);
+                cachedRadius = radius;
+                cachedLenX = lenX;
+            }
+            AffineTransform transform = new AffineTransform();
+            if ((rotate != null) && (angle != 0)) {
+                /// we have rotation
+                transform.setToRotation(angle, rotate.getX(), rotate.getY());
+            }
+            transform.translate(midX, midY);
+
+            AffineTransform saved = g2.getTransform();
+            g2.transform(transform);
+            defaultDisplay(g2, hand == ClockHand.Hour ? hourHand : minuteHand);
+            g2.setTransform(saved);
+        }
+
+        /**
+         * Creates the outline of a hand centered on the origin.
+         *
+         * @param hand the hand.
+         * @param radius the distance from the center to the top of the plot area.
+         * @param lenX the half-width of the hand's base.
+         * @return The hand outline.
+         */
+        private static Shape createHand(ClockHand hand, int radius, int lenX) {
+            GeneralPath pointer = new GeneralPath();
+            pointer.moveTo(-lenX, -lenX);
+            pointer.lineTo(lenX, -lenX);
             if (hand == ClockHand.Hour) {
-                pointer.lineTo(midX, minY + (midY - minY) * 0.33); // hour hand len is 2/3 the radius
+                pointer.lineTo(0, -radius + radius * 0.33); // hour hand len is 2/3 the radius
             } else {
-                pointer.lineTo(midX, minY); //  minute hand len is the radius
+                pointer.lineTo(0, -radius); //  minute hand len is the radius
             }
             pointer.closePath();
 
-            lenX = 4 * lenX;
-            Ellipse2D circle = new Ellipse2D.Double(midX - lenX / 2,
-                    midY - lenX / 2, lenX, lenX);
+            int diameter = 4 * lenX;
+            Ellipse2D circle = new Ellipse2D.Double(-diameter / 2, -diameter / 2, diameter, diameter);
 
-            shape = new Area(circle);
+            Area shape = new Area(circle);
             shape.add(new Area(pointer));
-            if ((rotate != null) && (angle != 0)) {
-                /// we have rotation
-                getTransform().setToRotation(angle, rotate.getX(), rotate.getY());
-                shape.transform(getTransform());
-            }
-            defaultDisplay(g2, shape);
-
+            return shape;
         }
 
         /**
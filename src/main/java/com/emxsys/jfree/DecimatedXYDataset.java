@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.jfree;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.general.DatasetUtilities;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A view of an XYDataset that presents only the items retained by a
+ * {@link DecimatingXYLineAndShapeRenderer}, so that the plot iterates over
+ * the retained items instead of every item. Items outside the range
+ * processed by the renderer are presented unchanged, so the bounds of the
+ * view are those of the source dataset.
+ *
+ * The renderer updates the retained items while the plot is rendered,
+ * without a DatasetChangeEvent; changes to the source dataset are
+ * forwarded and reset the view to every item. A view must only be rendered
+ * by one renderer.
+ *
+ * @author Bruce Schubert
+ */
+public class DecimatedXYDataset extends AbstractXYDataset
+        implements DomainInfo, RangeInfo, DatasetChangeListener {
+
+    /**
+     * The retained items for a series over the processed item range.
+     */
+    private static class Retained {
+
+        final int first;
+        final int last;
+        final int[] items;
+
+        Retained(int first, int last, int[] items) {
+            this.first = first;
+            this.last = last;
+            this.items = items;
+        }
+    }
+
+    private final XYDataset source;
+
+    /** The retained items for each series (an element is null if all items are presented). */
+    private Retained[] retained = new Retained[0];
+
+    /**
+     * Constructs a view that presents every item of the source dataset
+     * until it is rendered.
+     *
+     * @param source The source dataset.
+     */
+    public DecimatedXYDataset(XYDataset source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Null 'source' argument.");
+        }
+        this.source = source;
+        source.addChangeListener(this);
+    }
+
+    /**
+     * @return The source dataset.
+     */
+    public XYDataset getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the index of an item of the view in the source dataset.
+     *
+     * @param series The series index.
+     * @param item The item index in the view.
+     * @return The item index in the source dataset.
+     */
+    public int getSourceItem(int series, int item) {
+        Retained r = series < retained.length ? retained[series] : null;
+        if (r == null || item < r.first) {
+            return item;
+        }
+        int offset = item - r.first;
+        if (offset < r.items.length) {
+            return r.items[offset];
+        }
+        return r.last + 1 + offset - r.items.length;
+    }
+
+    /**
+     * Presents only the retained items within the processed item range of
+     * a series.
+     *
+     * @param series The series index.
+     * @param first The first processed item of the source dataset.
+     * @param last The last processed item of the source dataset.
+     * @param items The retained items of the source dataset, or null to
+     * present every item.
+     */
+    void setRetained(int series, int first, int last, BitSet items) {
+        if (retained.length != source.getSeriesCount()) {
+            retained = new Retained[source.getSeriesCount()];
+        }
+        if (items == null) {
+            retained[series] = null;
+            return;
+        }
+        int[] indices = items.get(first, last + 1).stream().map(i -> i + first).toArray();
+        retained[series] = new Retained(first, last, indices);
+    }
+
+    /**
+     * Presents every item of the source dataset.
+     */
+    void clearRetained() {
+        Arrays.fill(retained, null);
+    }
+
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        retained = new Retained[0];
+        fireDatasetChanged();
+    }
+
+    @Override
+    public int getSeriesCount() {
+        return source.getSeriesCount();
+    }
+
+    @Override
+    public Comparable getSeriesKey(int series) {
+        return source.getSeriesKey(series);
+    }
+
+    @Override
+    public DomainOrder getDomainOrder() {
+        return source.getDomainOrder();
+    }
+
+    @Override
+    public int getItemCount(int series) {
+        int count = source.getItemCount(series);
+        Retained r = series < retained.length ? retained[series] : null;
+        return r == null ? count : count - (r.last - r.first + 1) + r.items.length;
+    }
+
+    @Override
+    public Number getX(int series, int item) {
+        return source.getX(series, getSourceItem(series, item));
+    }
+
+    @Override
+    public double getXValue(int series, int item) {
+        return source.getXValue(series, getSourceItem(series, item));
+    }
+
+    @Override
+    public Number getY(int series, int item) {
+        return source.getY(series, getSourceItem(series, item));
+    }
+
+    @Override
+    public double getYValue(int series, int item) {
+        return source.getYValue(series, getSourceItem(series, item));
+    }
+
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        Range range = getDomainBounds(includeInterval);
+        return range == null ? Double.NaN : range.getLowerBound();
+    }
+
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        Range range = getDomainBounds(includeInterval);
+        return range == null ? Double.NaN : range.getUpperBound();
+    }
+
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        return DatasetUtilities.findDomainBounds(source, includeInterval);
+    }
+
+    @Override
+    public double getRangeLowerBound(boolean includeInterval) {
+        Range range = getRangeBounds(includeInterval);
+        return range == null ? Double.NaN : range.getLowerBound();
+    }
+
+    @Override
+    public double getRangeUpperBound(boolean includeInterval) {
+        Range range = getRangeBounds(includeInterval);
+        return range == null ? Double.NaN : range.getUpperBound();
+    }
+
+    @Override
+    public Range getRangeBounds(boolean includeInterval) {
+        return DatasetUtilities.findRangeBounds(source, includeInterval);
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.jfree;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.BitSet;
+import org.jfree.chart.axis.DateAxis;
+import org.jfree.chart.axis.LogarithmicAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.SegmentedTimeline;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.entity.XYItemEntity;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.RendererUtilities;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A HighlightXYLineAndShapeRenderer that only draws the items needed to
+ * reproduce each series at the current plot resolution. The domain is
+ * divided into buckets one pixel wide; in each bucket the first, last,
+ * minimum and maximum items are drawn (M4 aggregation), which renders the
+ * same line as drawing every item. Render time then depends on the number
+ * of pixels rather than the number of items.
+ *
+ * Decimation is applied to a {@link DecimatedXYDataset} view of the data:
+ * the renderer updates the view's retained items when it is initialised,
+ * so the plot only iterates over those. Other datasets are drawn in full.
+ * The shapes, tooltips and entities of the items that are not retained are
+ * not drawn or added; with more than a few items per pixel, the shapes
+ * overlap anyway. Decimation is suspended while an item is edited.
+ *
+ * The buckets are aligned to the pixel columns of the data area. When the
+ * chart is panned by a whole number of pixels the existing buckets stay
+ * aligned, so only the buckets that scroll into view are computed; a zoom,
+ * a resize or a dataset change starts over. Decimation is only applied to datasets in
+ * ascending x order on linear domain axes, and only when a series has more
+ * visible items than the decimation threshold times the plot width.
+ *
+ * @author Bruce Schubert
+ */
+public class DecimatingXYLineAndShapeRenderer extends HighlightXYLineAndShapeRenderer {
+
+    /**
+     * Decimate a series when it has more than this many visible items per
+     * pixel.
+     */
+    private double threshold = 2.0;
+
+    /** The view the cached buckets belong to (can be null). */
+    private DecimatedXYDataset cachedDataset;
+
+    /** The bucket width (in data units) for the cached buckets. */
+    private double bucketWidth;
+
+    /** The domain value at the start of bucket zero. */
+    private double bucketOrigin;
+
+    /** The retained items for each series (an element is null if the series is drawn in full). */
+    private Decimation[] decimations = new Decimation[0];
+
+    /** Resets the cache when the dataset changes. */
+    private transient DatasetChangeListener datasetListener = createDatasetListener();
+
+    /**
+     * The retained items for a series over the processed item range.
+     */
+    private static class Decimation {
+
+        final BitSet retained = new BitSet();
+        int first = -1;
+        int last = -1;
+        boolean active;
+    }
+
+    /**
+     * Constructs a renderer. Series lines are always drawn as a path.
+     *
+     * @param lines Lines visible?
+     * @param shapes Shapes visible?
+     */
+    public DecimatingXYLineAndShapeRenderer(boolean lines, boolean shapes) {
+        super(lines, shapes);
+        setDrawSeriesLineAsPath(true);
+    }
+
+    /**
+     * Gets the number of visible items per pixel above which a series is
+     * decimated. The default is 2.
+     *
+     * @return The threshold.
+     */
+    public double getDecimationThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets the number of visible items per pixel above which a series is
+     * decimated.
+     *
+     * @param threshold The threshold (must be positive).
+     */
+    public void setDecimationThreshold(double threshold) {
+        if (!(threshold > 0)) {
+            throw new IllegalArgumentException("Threshold must be positive.");
+        }
+        this.threshold = threshold;
+        this.decimations = new Decimation[0];
+        fireChangeEvent();
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        DecimatingXYLineAndShapeRenderer clone = (DecimatingXYLineAndShapeRenderer) super.clone();
+        clone.cachedDataset = null;
+        clone.decimations = new Decimation[0];
+        clone.datasetListener = clone.createDatasetListener();
+        return clone;
+    }
+
+    private DatasetChangeListener createDatasetListener() {
+        return new DatasetChangeListener() {
+            @Override
+            public void datasetChanged(DatasetChangeEvent event) {
+                decimations = new Decimation[0];
+            }
+        };
+    }
+
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        XYItemRendererState state = super.initialise(g2, dataArea, plot, dataset, info);
+        updateDecimation(dataArea, plot, dataset);
+        return state;
+    }
+
+    /**
+     * Starts editing an item. The item of an entity of a decimated view is
+     * converted to the item of the source dataset, and the view presents
+     * every item until the editing ends.
+     *
+     * @param itemEntity The entity of the edited item.
+     */
+    @Override
+    public void startItemEditing(XYItemEntity itemEntity) {
+        if (itemEntity.getDataset() instanceof DecimatedXYDataset) {
+            DecimatedXYDataset view = (DecimatedXYDataset) itemEntity.getDataset();
+            int series = itemEntity.getSeriesIndex();
+            itemEntity = new XYItemEntity(itemEntity.getArea(), view.getSource(), series,
+                    view.getSourceItem(series, itemEntity.getItem()),
+                    itemEntity.getToolTipText(), itemEntity.getURLText());
+        }
+        super.startItemEditing(itemEntity);
+        fireChangeEvent();
+    }
+
+    @Override
+    public void endItemEditing() {
+        super.endItemEditing();
+        fireChangeEvent();
+    }
+
+    /**
+     * Computes the retained items for the visible range of each series,
+     * reusing the buckets from the previous render where possible, and
+     * presents them in the view.
+     */
+    private void updateDecimation(Rectangle2D dataArea, XYPlot plot, XYDataset dataset) {
+        if (!(dataset instanceof DecimatedXYDataset)) {
+            return;
+        }
+        DecimatedXYDataset view = (DecimatedXYDataset) dataset;
+        if (view != cachedDataset) {
+            if (cachedDataset != null) {
+                cachedDataset.removeChangeListener(datasetListener);
+            }
+            cachedDataset = view;
+            cachedDataset.addChangeListener(datasetListener);
+            decimations = new Decimation[0];
+        }
+        XYDataset source = view.getSource();
+        int index = plot.indexOf(view);
+        ValueAxis axis = index >= 0 ? plot.getDomainAxisForDataset(index) : plot.getDomainAxis();
+        double pixels = plot.getOrientation().isVertical() ? dataArea.getWidth() : dataArea.getHeight();
+        if (!isLinear(axis) || source.getDomainOrder() != DomainOrder.ASCENDING || pixels < 1
+                || getEditSeries() >= 0) {
+            decimations = new Decimation[0];
+            view.clearRetained();
+            return;
+        }
+        double lower = axis.getLowerBound();
+        double upper = axis.getUpperBound();
+        double width = (upper - lower) / pixels;
+        // Keep the buckets if the zoom level is unchanged and the pixel
+        // columns are still aligned with them (allowing for rounding in the
+        // axis range when panning)
+        double shift = (lower - bucketOrigin) / bucketWidth;
+        if (Math.abs(width - bucketWidth) > bucketWidth * 1e-9
+                || Math.abs(shift - Math.rint(shift)) > 1e-6) {
+            bucketWidth = width;
+            bucketOrigin = lower;
+            decimations = new Decimation[0];
+        }
+        int seriesCount = source.getSeriesCount();
+        if (decimations.length != seriesCount) {
+            decimations = new Decimation[seriesCount];
+        }
+        for (int series = 0; series < seriesCount; series++) {
+            int itemCount = source.getItemCount(series);
+            if (itemCount == 0) {
+                view.setRetained(series, 0, 0, null);
+                continue;
+            }
+            int[] bounds = RendererUtilities.findLiveItems(source, series, lower, upper);
+            int first = Math.max(bounds[0] - 1, 0);
+            int last = Math.min(bounds[1] + 1, itemCount - 1);
+            Decimation d = decimations[series];
+            if (d == null) {
+                d = new Decimation();
+                decimations[series] = d;
+            }
+            d.active = (last - first + 1) > threshold * pixels;
+            if (d.active) {
+                ensureProcessed(d, source, series, first, last);
+                view.setRetained(series, d.first, d.last, d.retained);
+            } else {
+                view.setRetained(series, 0, 0, null);
+            }
+        }
+    }
+
+    /**
+     * Extends the processed item range of the decimation to cover the given
+     * items, processing whole buckets only.
+     */
+    private void ensureProcessed(Decimation d, XYDataset dataset, int series, int first, int last) {
+        if (d.first < 0 || last < d.first - 1 || first > d.last + 1) {
+            // No overlap with the processed range: start over
+            d.retained.clear();
+            int a = bucketStart(dataset, series, first);
+            int b = bucketEnd(dataset, series, last);
+            processBuckets(d.retained, dataset, series, a, b);
+            d.first = a;
+            d.last = b;
+            return;
+        }
+        if (first < d.first) {
+            int a = bucketStart(dataset, series, first);
+            processBuckets(d.retained, dataset, series, a, d.first - 1);
+            d.first = a;
+        }
+        if (last > d.last) {
+            int b = bucketEnd(dataset, series, last);
+            processBuckets(d.retained, dataset, series, d.last + 1, b);
+            d.last = b;
+        }
+    }
+
+    /**
+     * Marks the first, last, minimum and maximum item of each bucket in the
+     * item range. Items with a NaN y-value are kept along with their
+     * neighbors so that gaps in the line are preserved.
+     */
+    private void processBuckets(BitSet retained, XYDataset dataset, int series, int a, int b) {
+        long bucket = Long.MIN_VALUE;
+        int bucketFirst = -1;
+        int minItem = -1;
+        int maxItem = -1;
+        double min = Double.NaN;
+        double max = Double.NaN;
+        for (int item = a; item <= b; item++) {
+            long k = bucketOf(dataset.getXValue(series, item));
+            if (k != bucket) {
+                if (bucketFirst >= 0) {
+                    retainBucket(retained, bucketFirst, item - 1, minItem, maxItem);
+                }
+                bucket = k;
+                bucketFirst = item;
+                minItem = -1;
+                maxItem = -1;
+                min = Double.NaN;
+                max = Double.NaN;
+            }
+            double y = dataset.getYValue(series, item);
+            if (Double.isNaN(y)) {
+                retained.set(Math.max(item - 1, 0), item + 2);
+            } else {
+                if (minItem < 0 || y < min) {
+                    min = y;
+                    minItem = item;
+                }
+                if (maxItem < 0 || y > max) {
+                    max = y;
+                    maxItem = item;
+                }
+            }
+        }
+        if (bucketFirst >= 0) {
+            retainBucket(retained, bucketFirst, b, minItem, maxItem);
+        }
+    }
+
+    private static void retainBucket(BitSet retained, int first, int last, int minItem, int maxItem) {
+        retained.set(first);
+        retained.set(last);
+        if (minItem >= 0) {
+            retained.set(minItem);
+            retained.set(maxItem);
+        }
+    }
+
+    private long bucketOf(double x) {
+        return (long) Math.floor((x - bucketOrigin) / bucketWidth);
+    }
+
+    /**
+     * Gets the index of the first item in the same bucket as the given item.
+     */
+    private int bucketStart(XYDataset dataset, int series, int item) {
+        long k = bucketOf(dataset.getXValue(series, item));
+        while (item > 0 && bucketOf(dataset.getXValue(series, item - 1)) == k) {
+            item--;
+        }
+        return item;
+    }
+
+    /**
+     * Gets the index of the last item in the same bucket as the given item.
+     */
+    private int bucketEnd(XYDataset dataset, int series, int item) {
+        long k = bucketOf(dataset.getXValue(series, item));
+        int last = dataset.getItemCount(series) - 1;
+        while (item < last && bucketOf(dataset.getXValue(series, item + 1)) == k) {
+            item++;
+        }
+        return item;
+    }
+
+    /**
+     * Determines if the axis maps data values to Java2D linearly, which is
+     * required for buckets of a fixed width in data units.
+     */
+    private static boolean isLinear(ValueAxis axis) {
+        if (axis instanceof DateAxis) {
+            return !(((DateAxis) axis).getTimeline() instanceof SegmentedTimeline);
+        }
+        return axis instanceof NumberAxis && !(axis instanceof LogarithmicAxis);
+    }
+}
@@ -64,4 +64,12 @@ public class HighlightXYLineAndShapeRenderer extends XYLineAndShapeRenderer {
         editSeries = -1;
         editItem = -1;
     }
+
+    protected int getEditSeries() {
+        return editSeries;
+    }
+
+    protected int getEditItem() {
+        return editItem;
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.jfree;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+/**
+ * A bitmap cache for the static layers of a plot (e.g., a compass rose or a
+ * dial scale). The layers are rendered into an image aligned with the device
+ * pixels once, and the image is drawn until the bounds, the transform or the
+ * anti-aliasing hints change, or until the cache is invalidated.
+ *
+ * @author Bruce Schubert
+ */
+final class LayerCache {
+
+    /**
+     * Transforms that do not map the image pixels onto device pixels.
+     */
+    private static final int UNALIGNED = AffineTransform.TYPE_FLIP
+            | AffineTransform.TYPE_MASK_ROTATION
+            | AffineTransform.TYPE_GENERAL_TRANSFORM;
+
+    private BufferedImage image;
+    private final Rectangle2D bounds = new Rectangle2D.Double();
+    private final AffineTransform transform = new AffineTransform();
+    private Rectangle device;
+    private Object antialiasing;
+    private Object textAntialiasing;
+
+    /**
+     * Discards the cached image; the layers are rendered again on the next
+     * draw.
+     */
+    void invalidate() {
+        image = null;
+    }
+
+    /**
+     * Draws the cached layers, rendering them first if necessary. The layers
+     * are painted directly if the graphics device is rotated or flipped.
+     *
+     * @param g2 The graphics device.
+     * @param bounds The bounds of the layers in user space.
+     * @param painter Paints the layers in user space.
+     */
+    void draw(Graphics2D g2, Rectangle2D bounds, Consumer<Graphics2D> painter) {
+        AffineTransform tx = g2.getTransform();
+        if ((tx.getType() & UNALIGNED) != 0) {
+            painter.accept(g2);
+            return;
+        }
+        Object aa = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        Object textAa = g2.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+        if (image == null
+                || !bounds.equals(this.bounds) || !tx.equals(transform)
+                || aa != antialiasing || textAa != textAntialiasing) {
+            this.bounds.setRect(bounds);
+            transform.setTransform(tx);
+            antialiasing = aa;
+            textAntialiasing = textAa;
+            device = tx.createTransformedShape(bounds).getBounds();
+            render(g2, painter);
+        }
+        if (image == null) {
+            return;
+        }
+        g2.setTransform(new AffineTransform());
+        g2.drawImage(image, device.x, device.y, null);
+        g2.setTransform(tx);
+    }
+
+    private void render(Graphics2D g2, Consumer<Graphics2D> painter) {
+        if (device.width <= 0 || device.height <= 0) {
+            image = null;
+            return;
+        }
+        // A new image each time, since image consumers (e.g., FXGraphics2D)
+        // may cache conversions of an image instance
+        image = new BufferedImage(device.width, device.height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHints(g2.getRenderingHints());
+            g.setStroke(g2.getStroke());
+            g.setFont(g2.getFont());
+            g.translate(-device.x, -device.y);
+            g.transform(transform);
+            painter.accept(g);
+        } finally {
+            g.dispose();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.jfree;
+
+import org.jfree.data.xy.Vector;
+import org.jfree.data.xy.VectorXYDataset;
+
+/**
+ * A VectorXYDataset backed by primitive arrays, suitable for wind charts
+ * created with ChartUtil.createWindChart. Each series has long[] x, double[]
+ * y and double[] dx/dy columns; see PrimitiveXYDataset.
+ *
+ * @author Bruce Schubert
+ */
+public class PrimitiveVectorXYDataset extends PrimitiveXYDataset implements VectorXYDataset {
+
+    /**
+     * Constructs an empty dataset.
+     */
+    public PrimitiveVectorXYDataset() {
+        super(true);
+    }
+
+    /**
+     * Appends an item to a series and sends a DatasetChangeEvent to all
+     * registered listeners.
+     *
+     * @param series The series index.
+     * @param x The x-value; must not be less than the last x-value in the
+     * series.
+     * @param y The y-value.
+     * @param dx The x-component of the vector.
+     * @param dy The y-component of the vector.
+     */
+    public void add(int series, long x, double y, double dx, double dy) {
+        Series s = getSeries(series);
+        int i = s.count;
+        appendItem(s, x, y);
+        s.vx[i] = dx;
+        s.vy[i] = dy;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Appends a batch of items to a series and sends a single
+     * DatasetChangeEvent to all registered listeners.
+     *
+     * @param series The series index.
+     * @param x The x-values, in ascending order.
+     * @param y The y-values.
+     * @param dx The vector x-components.
+     * @param dy The vector y-components.
+     * @param offset The index of the first item to append.
+     * @param length The number of items to append.
+     */
+    public void add(int series, long[] x, double[] y, double[] dx, double[] dy, int offset, int length) {
+        if (offset + length > dx.length || offset + length > dy.length) {
+            throw new IllegalArgumentException("Invalid offset or length.");
+        }
+        Series s = getSeries(series);
+        int start = s.count;
+        appendColumns(s, x, y, offset, length);
+        System.arraycopy(dx, offset, s.vx, start, length);
+        System.arraycopy(dy, offset, s.vy, start, length);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Appends an item with a zero-length vector.
+     */
+    @Override
+    public void add(int series, long x, double y) {
+        add(series, x, y, 0.0, 0.0);
+    }
+
+    /**
+     * Appends a batch of items with zero-length vectors.
+     */
+    @Override
+    public void add(int series, long[] x, double[] y, int offset, int length) {
+        add(series, x, y, new double[x.length], new double[x.length], offset, length);
+    }
+
+    @Override
+    public double getVectorXValue(int series, int item) {
+        Series s = getSeries(series);
+        if (item >= s.count) {
+            throw new IndexOutOfBoundsException("Item index out of bounds: " + item);
+        }
+        return s.vx[item];
+    }
+
+    @Override
+    public double getVectorYValue(int series, int item) {
+        Series s = getSeries(series);
+        if (item >= s.count) {
+            throw new IndexOutOfBoundsException("Item index out of bounds: " + item);
+        }
+        return s.vy[item];
+    }
+
+    @Override
+    public Vector getVector(int series, int item) {
+        return new Vector(getVectorXValue(series, item), getVectorYValue(series, item));
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.jfree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.xy.AbstractXYDataset;
+
+/**
+ * An XYDataset backed by primitive arrays: a long[] column for the x-values
+ * (e.g., milliseconds for a DateAxis) and a double[] column for the
+ * y-values. Items are appended in ascending x order, the columns grow by
+ * doubling, and the domain and range bounds are maintained as items are
+ * added, so item access and bounds queries are O(1) and there is no object
+ * per data point.
+ *
+ * Use the batch add method to append many items with a single
+ * DatasetChangeEvent.
+ *
+ * @author Bruce Schubert
+ */
+public class PrimitiveXYDataset extends AbstractXYDataset implements DomainInfo, RangeInfo {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The column storage for a series.
+     */
+    protected static class Series {
+
+        final Comparable<?> key;
+        long[] x;
+        double[] y;
+        double[] vx;
+        double[] vy;
+        int count;
+        double minY = Double.NaN;
+        double maxY = Double.NaN;
+
+        Series(Comparable<?> key, int capacity, boolean vectors) {
+            this.key = key;
+            this.x = new long[capacity];
+            this.y = new double[capacity];
+            if (vectors) {
+                this.vx = new double[capacity];
+                this.vy = new double[capacity];
+            }
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity > x.length) {
+                int newCapacity = Math.max(capacity, x.length * 2);
+                x = Arrays.copyOf(x, newCapacity);
+                y = Arrays.copyOf(y, newCapacity);
+                if (vx != null) {
+                    vx = Arrays.copyOf(vx, newCapacity);
+                    vy = Arrays.copyOf(vy, newCapacity);
+                }
+            }
+        }
+
+        void includeY(double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            if (Double.isNaN(minY) || value < minY) {
+                minY = value;
+            }
+            if (Double.isNaN(maxY) || value > maxY) {
+                maxY = value;
+            }
+        }
+    }
+
+    private final List<Series> seriesList = new ArrayList<>();
+    private final boolean vectors;
+
+    /**
+     * Constructs an empty dataset.
+     */
+    public PrimitiveXYDataset() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty dataset.
+     *
+     * @param vectors If true, each series also has vector (dx, dy) columns.
+     */
+    protected PrimitiveXYDataset(boolean vectors) {
+        this.vectors = vectors;
+    }
+
+    /**
+     * Adds a new, empty series to the dataset.
+     *
+     * @param key The series key.
+     * @return The index of the new series.
+     */
+    public int addSeries(Comparable<?> key) {
+        return addSeries(key, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Adds a new, empty series to the dataset.
+     *
+     * @param key The series key.
+     * @param initialCapacity The number of items to allocate space for.
+     * @return The index of the new series.
+     */
+    public int addSeries(Comparable<?> key, int initialCapacity) {
+        if (key == null) {
+            throw new IllegalArgumentException("Null 'key' argument.");
+        }
+        if (indexOf(key) >= 0) {
+            throw new IllegalArgumentException("Duplicate series key: " + key);
+        }
+        seriesList.add(new Series(key, Math.max(1, initialCapacity), vectors));
+        fireDatasetChanged();
+        return seriesList.size() - 1;
+    }
+
+    /**
+     * Appends an item to a series and sends a DatasetChangeEvent to all
+     * registered listeners.
+     *
+     * @param series The series index.
+     * @param x The x-value; must not be less than the last x-value in the
+     * series.
+     * @param y The y-value (NaN is permitted).
+     */
+    public void add(int series, long x, double y) {
+        appendItem(getSeries(series), x, y);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Appends an x and y value to the series without firing an event.
+     */
+    void appendItem(Series s, long x, double y) {
+        checkOrder(s, x);
+        s.ensureCapacity(s.count + 1);
+        s.x[s.count] = x;
+        s.y[s.count] = y;
+        s.includeY(y);
+        s.count++;
+    }
+
+    /**
+     * Appends a batch of items to a series and sends a single
+     * DatasetChangeEvent to all registered listeners.
+     *
+     * @param series The series index.
+     * @param x The x-values, in ascending order.
+     * @param y The y-values.
+     * @param offset The index of the first item to append.
+     * @param length The number of items to append.
+     */
+    public void add(int series, long[] x, double[] y, int offset, int length) {
+        Series s = getSeries(series);
+        appendColumns(s, x, y, offset, length);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Appends x and y values to the series without firing an event.
+     */
+    void appendColumns(Series s, long[] x, double[] y, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > x.length || offset + length > y.length) {
+            throw new IllegalArgumentException("Invalid offset or length.");
+        }
+        if (length == 0) {
+            return;
+        }
+        checkOrder(s, x[offset]);
+        for (int i = offset + 1; i < offset + length; i++) {
+            if (x[i] < x[i - 1]) {
+                throw new IllegalArgumentException("The x-values must be in ascending order.");
+            }
+        }
+        s.ensureCapacity(s.count + length);
+        System.arraycopy(x, offset, s.x, s.count, length);
+        System.arraycopy(y, offset, s.y, s.count, length);
+        for (int i = offset; i < offset + length; i++) {
+            s.includeY(y[i]);
+        }
+        s.count += length;
+    }
+
+    /**
+     * Removes all the items from a series (the allocated capacity is kept)
+     * and sends a DatasetChangeEvent to all registered listeners.
+     *
+     * @param series The series index.
+     */
+    public void clear(int series) {
+        Series s = getSeries(series);
+        s.count = 0;
+        s.minY = Double.NaN;
+        s.maxY = Double.NaN;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Gets the series storage.
+     *
+     * @param series The series index.
+     * @return The series.
+     */
+    protected Series getSeries(int series) {
+        if (series < 0 || series >= seriesList.size()) {
+            throw new IllegalArgumentException("Series index out of bounds: " + series);
+        }
+        return seriesList.get(series);
+    }
+
+    private static void checkOrder(Series s, long x) {
+        if (s.count > 0 && x < s.x[s.count - 1]) {
+            throw new IllegalArgumentException("The x-values must be in ascending order.");
+        }
+    }
+
+    @Override
+    public int getSeriesCount() {
+        return seriesList.size();
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Comparable getSeriesKey(int series) {
+        return getSeries(series).key;
+    }
+
+    @Override
+    public int getItemCount(int series) {
+        return getSeries(series).count;
+    }
+
+    /**
+     * Returns DomainOrder.ASCENDING; the x-values are always in ascending
+     * order, which lets JFreeChart use a binary search for the visible items.
+     *
+     * @return DomainOrder.ASCENDING
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    @Override
+    public double getXValue(int series, int item) {
+        Series s = seriesList.get(series);
+        if (item >= s.count) {
+            throw new IndexOutOfBoundsException("Item index out of bounds: " + item);
+        }
+        return s.x[item];
+    }
+
+    @Override
+    public Number getY(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    @Override
+    public double getYValue(int series, int item) {
+        Series s = seriesList.get(series);
+        if (item >= s.count) {
+            throw new IndexOutOfBoundsException("Item index out of bounds: " + item);
+        }
+        return s.y[item];
+    }
+
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        double result = Double.NaN;
+        for (Series s : seriesList) {
+            if (s.count > 0 && !(s.x[0] >= result)) {
+                result = s.x[0];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        double result = Double.NaN;
+        for (Series s : seriesList) {
+            if (s.count > 0 && !(s.x[s.count - 1] <= result)) {
+                result = s.x[s.count - 1];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        double lower = getDomainLowerBound(includeInterval);
+        if (Double.isNaN(lower)) {
+            return null;
+        }
+        return new Range(lower, getDomainUpperBound(includeInterval));
+    }
+
+    @Override
+    public double getRangeLowerBound(boolean includeInterval) {
+        double result = Double.NaN;
+        for (Series s : seriesList) {
+            if (!Double.isNaN(s.minY) && !(s.minY >= result)) {
+                result = s.minY;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public double getRangeUpperBound(boolean includeInterval) {
+        double result = Double.NaN;
+        for (Series s : seriesList) {
+            if (!Double.isNaN(s.maxY) && !(s.maxY <= result)) {
+                result = s.maxY;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Range getRangeBounds(boolean includeInterval) {
+        double lower = getRangeLowerBound(includeInterval);
+        if (Double.isNaN(lower)) {
+            return null;
+        }
+        return new Range(lower, getRangeUpperBound(includeInterval));
+    }
+
+    /**
+     * Finds the index of the series with the given key.
+     *
+     * @param key The series key.
+     * @return The series index, or -1 if not found.
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public int indexOf(Comparable key) {
+        for (int i = 0; i < seriesList.size(); i++) {
+            if (seriesList.get(i).key.equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -35,15 +35,21 @@ import java.awt.Font;
 import java.awt.GradientPaint;
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Shape;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.text.DecimalFormat;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.PlotState;
+import org.jfree.chart.plot.dial.AbstractDialLayer;
 import org.jfree.chart.plot.dial.ArcDialFrame;
 import org.jfree.chart.plot.dial.DialBackground;
+import org.jfree.chart.plot.dial.DialFrame;
+import org.jfree.chart.plot.dial.DialLayer;
+import org.jfree.chart.plot.dial.DialLayerChangeEvent;
 import org.jfree.chart.plot.dial.DialPlot;
 import org.jfree.chart.plot.dial.DialPointer;
+import org.jfree.chart.plot.dial.DialScale;
 import org.jfree.chart.plot.dial.StandardDialScale;
 import org.jfree.data.general.ValueDataset;
 import org.jfree.ui.GradientPaintTransformType;
@@ -53,10 +59,44 @@ import org.jfree.ui.StandardGradientPaintTransformer;
 /**
  * A dial plot used in a to display terrain slope.
  *
+ * The static layers can be rendered into cached images, so redrawing the
+ * plot after the slope changes only draws the needle. DialPlot draws the
+ * background and scale into the image below the needle, with the needle,
+ * cap and frame hidden; the cap and frame are cached above the needle. Once
+ * layers, scales or pointers are added or removed, the plot is drawn by
+ * DialPlot alone. The cache is disabled by default. It rasterizes the static
+ * layers, so leave it disabled when drawing to a vector graphics target
+ * (e.g., SVG or PDF export); on a ChartViewer, enable it together with the
+ * viewer's image cache, else the cached images are converted for JavaFX on
+ * every frame.
+ *
  * @author Bruce Schubert
  */
 public class SlopePlot extends DialPlot {
 
+    /**
+     * The needle, the only layer drawn each time.
+     */
+    private final DialPointer needle;
+
+    /**
+     * The layers below the needle.
+     */
+    private transient LayerCache underlay;
+    /**
+     * The layers above the needle.
+     */
+    private transient LayerCache overlay;
+    private boolean layerCacheEnabled = false;
+    /**
+     * Set when the layers differ from those added by the constructor.
+     */
+    private boolean layersChanged = false;
+    /**
+     * Set while the needle, cap and frame are hidden to draw the underlay.
+     */
+    private transient boolean hidingLayers = false;
+
     public SlopePlot(ValueDataset dataset) {
         super(dataset);
         // Set the viewport of the circular dial;
@@ -93,14 +133,211 @@ public class SlopePlot extends DialPlot {
         addScale(0, scale);
 
         // Needle
-        DialPointer needle = new DialPointer.Pin();
+        needle = new DialPointer.Pin();
         needle.setRadius(0.84);
         addLayer(needle);
+        layersChanged = false;
+    }
+
+    /**
+     * Returns a flag that controls whether the static layers are drawn from
+     * cached images. The default value is false.
+     *
+     * @return A boolean.
+     */
+    public boolean isLayerCacheEnabled() {
+        return layerCacheEnabled;
+    }
+
+    /**
+     * Sets a flag that controls whether the static layers are drawn from
+     * cached images and sends a PlotChangeEvent to all registered listeners.
+     *
+     * @param enabled The new flag value.
+     */
+    public void setLayerCacheEnabled(boolean enabled) {
+        this.layerCacheEnabled = enabled;
+        invalidateLayers();
+        fireChangeEvent();
+    }
+
+    @Override
+    public void setView(double x, double y, double w, double h) {
+        invalidateLayers();
+        super.setView(x, y, w, h);
+    }
+
+    @Override
+    public void setDialFrame(DialFrame frame) {
+        invalidateLayers();
+        super.setDialFrame(frame);
+    }
+
+    @Override
+    public void setBackground(DialLayer background) {
+        invalidateLayers();
+        super.setBackground(background);
+    }
+
+    @Override
+    public void setCap(DialLayer cap) {
+        invalidateLayers();
+        super.setCap(cap);
+    }
+
+    // DialPlot's removeLayer(DialLayer) and removePointer(DialPointer) call
+    // removeLayer(int), and addScale calls removeLayer(int) and adds the
+    // scale after the needle
+
+    @Override
+    public void addLayer(DialLayer layer) {
+        layersChanged = true;
+        super.addLayer(layer);
+    }
+
+    @Override
+    public void removeLayer(int index) {
+        layersChanged = true;
+        super.removeLayer(index);
     }
 
+    @Override
+    public void addScale(int index, DialScale scale) {
+        layersChanged = true;
+        super.addScale(index, scale);
+    }
+
+    @Override
+    public void addPointer(DialPointer pointer) {
+        layersChanged = true;
+        super.addPointer(pointer);
+    }
+
+    @Override
+    public void removePointer(int index) {
+        layersChanged = true;
+        super.removePointer(index);
+    }
+
+    @Override
+    public void dialLayerChanged(DialLayerChangeEvent event) {
+        if (hidingLayers) {
+            return;
+        }
+        if (event.getDialLayer() != needle) {
+            invalidateLayers();
+        }
+        super.dialLayerChanged(event);
+    }
+
+    private void invalidateLayers() {
+        if (underlay != null) {
+            underlay.invalidate();
+            overlay.invalidate();
+        }
+    }
+
+    /**
+     * Draws the cached background and scale, the needle, and the cached cap
+     * and frame.
+     *
+     * @param g2 The graphics device.
+     * @param area The plot area.
+     * @param anchor The anchor point (null permitted).
+     * @param parentState The state from the parent plot, if there is one.
+     * @param info Collects info about the drawing (null permitted).
+     */
     @Override
     public void draw(Graphics2D g2, Rectangle2D area, Point2D anchor, PlotState parentState, PlotRenderingInfo info) {
-        super.draw(g2, area, anchor, parentState, info); //To change body of generated methods, choose Tools | Templates.
+        if (!layerCacheEnabled || layersChanged || !canHide(getCap()) || !canHide(getDialFrame())) {
+            super.draw(g2, area, anchor, parentState, info);
+            return;
+        }
+        if (underlay == null) {
+            underlay = new LayerCache();
+            overlay = new LayerCache();
+        }
+        Shape origClip = g2.getClip();
+        g2.setClip(area);
+
+        // the same as DialPlot.viewToFrame
+        double width = area.getWidth() / getViewWidth();
+        double height = area.getHeight() / getViewHeight();
+        Rectangle2D frame = new Rectangle2D.Double(
+                area.getX() - (width * getViewX()),
+                area.getY() - (height * getViewY()),
+                width, height);
+
+        underlay.draw(g2, area, g -> drawUnderlay(g, area));
+        drawLayer(g2, needle, frame, area);
+        overlay.draw(g2, area, g -> {
+            g.setClip(area);
+            drawLayer(g, getCap(), frame, area);
+            DialFrame dialFrame = getDialFrame();
+            if (dialFrame.isVisible()) {
+                dialFrame.draw(g, this, frame, area);
+            }
+        });
+
+        g2.setClip(origClip);
+    }
+
+    private static boolean canHide(DialLayer layer) {
+        return layer == null || layer instanceof AbstractDialLayer;
+    }
+
+    /**
+     * Draws the background and scale with DialPlot, with the needle, cap and
+     * frame hidden. The plot's listeners are not notified of the changes.
+     */
+    private void drawUnderlay(Graphics2D g2, Rectangle2D area) {
+        AbstractDialLayer cap = (AbstractDialLayer) getCap();
+        AbstractDialLayer dialFrame = (AbstractDialLayer) getDialFrame();
+        boolean needleVisible = needle.isVisible();
+        boolean capVisible = cap != null && cap.isVisible();
+        boolean frameVisible = dialFrame.isVisible();
+        hidingLayers = true;
+        try {
+            needle.setVisible(false);
+            if (cap != null) {
+                cap.setVisible(false);
+            }
+            dialFrame.setVisible(false);
+            super.draw(g2, area, null, null, null);
+        } finally {
+            needle.setVisible(needleVisible);
+            if (cap != null) {
+                cap.setVisible(capVisible);
+            }
+            dialFrame.setVisible(frameVisible);
+            hidingLayers = false;
+        }
+    }
+
+    /**
+     * Draws a layer, clipped to the dial window if required; the same as
+     * DialPlot.draw.
+     */
+    private void drawLayer(Graphics2D g2, DialLayer layer, Rectangle2D frame, Rectangle2D area) {
+        if (layer == null || !layer.isVisible()) {
+            return;
+        }
+        if (layer.isClippedToWindow()) {
+            Shape savedClip = g2.getClip();
+            g2.clip(getDialFrame().getWindow(frame));
+            layer.draw(g2, this, frame, area);
+            g2.setClip(savedClip);
+        } else {
+            layer.draw(g2, this, frame, area);
+        }
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        SlopePlot clone = (SlopePlot) super.clone();
+        clone.underlay = null;
+        clone.overlay = null;
+        return clone;
     }
 
 }
@@ -29,6 +29,7 @@
  */
 package com.emxsys.jfree;
 
+import java.time.LocalTime;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.title.TextTitle;
 
@@ -56,4 +57,22 @@ public class SolarChart extends JFreeChart {
             addSubtitle(new TextTitle(subTitle));
         }
     }
+
+    /**
+     * Updates the solar vectors.
+     *
+     * @param azimuthAngleDeg The solar azimuth angle.
+     */
+    public void setAzimuthAngle(double azimuthAngleDeg) {
+        ((SolarPlot) getPlot()).setAzimuthAngle(azimuthAngleDeg);
+    }
+
+    /**
+     * Updates the clock hands.
+     *
+     * @param localTime The local time.
+     */
+    public void setClockTime(LocalTime localTime) {
+        ((SolarPlot) getPlot()).setClockTime(localTime);
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.jfree;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import org.jfree.chart.needle.WindNeedle;
+
+/**
+ * A WindNeedle (three arrows pointing in the direction of flow) that builds
+ * its outlines once per plot size instead of on every draw. The arrow shafts
+ * and heads are cached relative to the top-center of the needle area, and the
+ * position and rotation are applied as a transform when drawn.
+ *
+ * @author Bruce Schubert
+ */
+public class WindArrowsNeedle extends WindNeedle {
+
+    /**
+     * The cached shafts and heads for all three arrows.
+     */
+    private transient GeneralPath shafts;
+    private transient GeneralPath heads;
+    private transient double cachedHeight;
+    private transient int cachedSize;
+
+    /**
+     * Draws the wind arrows.
+     *
+     * @param g2 the graphics device.
+     * @param plotArea the plot area.
+     * @param rotate the rotation point.
+     * @param angle the angle.
+     */
+    @Override
+    protected void drawNeedle(Graphics2D g2, Rectangle2D plotArea, Point2D rotate, double angle) {
+        if (rotate == null || plotArea == null) {
+            // A single arrow
+            super.drawNeedle(g2, plotArea, rotate, angle);
+            return;
+        }
+        double height = (float) plotArea.getMaxY() - (float) plotArea.getMinY();
+        if (shafts == null || height != cachedHeight || getSize() != cachedSize) {
+            createArrows(height, getSize());
+            cachedHeight = height;
+            cachedSize = getSize();
+        }
+        AffineTransform transform = new AffineTransform();
+        if (angle != 0) {
+            transform.setToRotation(angle, rotate.getX(), rotate.getY());
+        }
+        transform.translate(
+                (float) (plotArea.getMinX() + (plotArea.getWidth() / 2)),
+                (float) plotArea.getMinY());
+
+        AffineTransform saved = g2.getTransform();
+        g2.transform(transform);
+        defaultDisplay(g2, shafts);
+        defaultDisplay(g2, heads);
+        g2.setTransform(saved);
+    }
+
+    /**
+     * Creates the shafts and (bottom) heads of the three arrows, spaced
+     * 3 * size apart, relative to the top-center of the needle area.
+     */
+    private void createArrows(double height, int size) {
+        shafts = new GeneralPath();
+        heads = new GeneralPath();
+        int spacing = size * 3;
+        double headY = height - 4 * size;
+        for (int i = -1; i <= 1; i++) {
+            double x = i * spacing;
+            shafts.moveTo(x, 0);
+            shafts.lineTo(x, height);
+            heads.moveTo(x, height);
+            heads.lineTo(x + size, headY);
+            heads.lineTo(x - size, headY);
+            heads.closePath();
+        }
+    }
+
+    /**
+     * Tests another object for equality with this object.
+     *
+     * @param object the object to test.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object object) {
+        return super.equals(object) && object instanceof WindArrowsNeedle;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * For serialization.
+     */
+    private static final long serialVersionUID = 1L;
+}
@@ -31,7 +31,9 @@ package com.emxsys.jfree;
 
 import java.awt.Color;
 import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.CompassPlot;
 import org.jfree.chart.title.TextTitle;
+import org.jfree.data.general.DefaultValueDataset;
 
 /**
  *
@@ -55,4 +57,13 @@ public class WindDirChart extends JFreeChart {
             addSubtitle(new TextTitle(subTitle));
         }
     }
+
+    /**
+     * Sets the wind direction shown by the arrows.
+     *
+     * @param degrees The direction the wind is blowing from.
+     */
+    public void setWindDirection(double degrees) {
+        ((DefaultValueDataset) ((CompassPlot) getPlot()).getDatasets()[0]).setValue(degrees);
+    }
 }
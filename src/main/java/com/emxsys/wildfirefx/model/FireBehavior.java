@@ -69,6 +69,10 @@ public class FireBehavior {
 
     }
 
+    public JsonObject getJsonObject() {
+        return jsonObject;
+    }
+
     /**
      * Gets the flame length.
      *
@@ -105,6 +109,15 @@ public class FireBehavior {
         return Double.parseDouble(jsonObject.getJsonObject("rateOfSpreadFlanking").getString("value"));
     }
 
+    /**
+     * Gets the rate of spread.
+     *
+     * @return [rate_of_spread:ft/min]
+     */
+    public double getRateOfSpreadBacking() {
+        return Double.parseDouble(jsonObject.getJsonObject("rateOfSpreadBacking").getString("value"));
+    }
+
     /**
      *
      * @return [mph]
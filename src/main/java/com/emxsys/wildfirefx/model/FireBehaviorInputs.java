@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import com.emxsys.wildfirefx.service.WmtRestService.Conditions;
+import java.util.Objects;
+
+/**
+ * An immutable snapshot of the inputs to a fire behavior computation: the
+ * fuel model, the fuel moisture, the weather and the terrain. Snapshots are
+ * compared by value, so a recomputation can be skipped when the inputs have
+ * not changed.
+ *
+ * @author Bruce Schubert
+ */
+public final class FireBehaviorInputs {
+
+    /**
+     * The default air temperature [F].
+     */
+    public static final double DEFAULT_AIR_TEMPERATURE = 80;
+    /**
+     * The default relative humidity [%].
+     */
+    public static final double DEFAULT_RELATIVE_HUMIDITY = 25;
+
+    private final FuelModel fuelModel;
+    private final Conditions moistureConditions;
+    private final double airTemperature;
+    private final double relativeHumidity;
+    private final double windSpeed;
+    private final double windDirection;
+    private final double aspect;
+    private final double slope;
+
+    /**
+     * Constructs a snapshot of the inputs with hot and dry fuel moisture and
+     * the default air temperature and humidity.
+     *
+     * @param fuelModel The fuel model.
+     * @param windSpeed The wind speed [mph].
+     * @param windDirection The direction the wind is blowing from [degrees].
+     * @param aspect The terrain aspect [degrees].
+     * @param slope The terrain slope [degrees].
+     */
+    public FireBehaviorInputs(FuelModel fuelModel, double windSpeed, double windDirection,
+            double aspect, double slope) {
+        this(fuelModel, Conditions.HOT_AND_DRY, DEFAULT_AIR_TEMPERATURE, DEFAULT_RELATIVE_HUMIDITY,
+                windSpeed, windDirection, aspect, slope);
+    }
+
+    /**
+     * Constructs a snapshot of the inputs.
+     *
+     * @param fuelModel The fuel model.
+     * @param moistureConditions The fuel moisture conditions.
+     * @param airTemperature The air temperature [F].
+     * @param relativeHumidity The relative humidity [%].
+     * @param windSpeed The wind speed [mph].
+     * @param windDirection The direction the wind is blowing from [degrees].
+     * @param aspect The terrain aspect [degrees].
+     * @param slope The terrain slope [degrees].
+     */
+    public FireBehaviorInputs(FuelModel fuelModel, Conditions moistureConditions,
+            double airTemperature, double relativeHumidity,
+            double windSpeed, double windDirection, double aspect, double slope) {
+        if (fuelModel == null || moistureConditions == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        this.fuelModel = fuelModel;
+        this.moistureConditions = moistureConditions;
+        this.airTemperature = airTemperature;
+        this.relativeHumidity = relativeHumidity;
+        this.windSpeed = windSpeed;
+        this.windDirection = windDirection;
+        this.aspect = aspect;
+        this.slope = slope;
+    }
+
+    public FuelModel getFuelModel() {
+        return fuelModel;
+    }
+
+    public Conditions getMoistureConditions() {
+        return moistureConditions;
+    }
+
+    /**
+     * @return [F]
+     */
+    public double getAirTemperature() {
+        return airTemperature;
+    }
+
+    /**
+     * @return [%]
+     */
+    public double getRelativeHumidity() {
+        return relativeHumidity;
+    }
+
+    /**
+     * @return [mph]
+     */
+    public double getWindSpeed() {
+        return windSpeed;
+    }
+
+    /**
+     * @return [degrees]
+     */
+    public double getWindDirection() {
+        return windDirection;
+    }
+
+    /**
+     * @return [degrees]
+     */
+    public double getAspect() {
+        return aspect;
+    }
+
+    /**
+     * @return [degrees]
+     */
+    public double getSlope() {
+        return slope;
+    }
+
+    /**
+     * Creates a copy of these inputs with a different fuel model.
+     *
+     * @param model The fuel model.
+     * @return New inputs under the same conditions.
+     */
+    public FireBehaviorInputs withFuelModel(FuelModel model) {
+        return new FireBehaviorInputs(model, moistureConditions, airTemperature, relativeHumidity,
+                windSpeed, windDirection, aspect, slope);
+    }
+
+    /**
+     * Tests whether other inputs have the same conditions (all the inputs
+     * except the fuel model).
+     *
+     * @param other The other inputs.
+     * @return True if the moisture, weather and terrain are equal.
+     */
+    public boolean hasSameConditions(FireBehaviorInputs other) {
+        return other != null
+                && moistureConditions == other.moistureConditions
+                && Double.compare(airTemperature, other.airTemperature) == 0
+                && Double.compare(relativeHumidity, other.relativeHumidity) == 0
+                && Double.compare(windSpeed, other.windSpeed) == 0
+                && Double.compare(windDirection, other.windDirection) == 0
+                && Double.compare(aspect, other.aspect) == 0
+                && Double.compare(slope, other.slope) == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FireBehaviorInputs)) {
+            return false;
+        }
+        FireBehaviorInputs other = (FireBehaviorInputs) obj;
+        return fuelModel == other.fuelModel && hasSameConditions(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(fuelModel), moistureConditions, airTemperature, relativeHumidity,
+                windSpeed, windDirection, aspect, slope);
+    }
+
+    @Override
+    public String toString() {
+        return fuelModel + ", " + moistureConditions + ", " + airTemperature + " F, "
+                + relativeHumidity + "% RH, wind " + windSpeed + " mph from " + windDirection
+                + ", aspect " + aspect + ", slope " + slope;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import com.emxsys.wildfirefx.service.WmtRestService;
+import com.emxsys.wildfirefx.service.WmtRestService.Conditions;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.json.JsonObject;
+
+/**
+ * The fire behavior computation as a graph of memoized stages:
+ * <pre>
+ * conditions ──> fuel moisture ─┐
+ * fuel model ───────────────────┴─> conditioned fuel bed ─┐
+ * temperature, RH, wind ──────────> weather ──────────────┼─> fire behavior
+ * aspect, slope ──────────────────> terrain ──────────────┘
+ * </pre>
+ * Each stage keeps its recent results keyed by its own inputs, so a change
+ * to the wind or slope reuses the conditioned fuel bed, and only a change
+ * to the fuel model or the moisture conditions reconditions the fuel.
+ *
+ * The stages are thread-safe, though a result may be computed twice if two
+ * threads request the same missing key at the same time.
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorPipeline {
+
+    // The weather and terrain inputs that are not (yet) variable
+    private static final double CLOUD_COVER = 10;
+    private static final double ELEVATION = 100;
+
+    private final Stage<Conditions, JsonObject> moisture;
+    private final Stage<List<Object>, JsonObject> fuel;
+    private final Stage<List<Double>, JsonObject> weather;
+    private final Stage<List<Double>, JsonObject> terrain;
+    private final Stage<FireBehaviorInputs, FireBehavior> fire;
+
+    /**
+     * Constructs a pipeline that keeps up to 64 results per stage.
+     */
+    public FireBehaviorPipeline() {
+        this(64);
+    }
+
+    /**
+     * Constructs a pipeline.
+     *
+     * @param capacity The maximum number of results kept per stage; the
+     * least recently used results are evicted first.
+     */
+    public FireBehaviorPipeline(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        moisture = new Stage<>("moisture", capacity, WmtRestService::getFuelMoisture);
+        fuel = new Stage<>("fuel", capacity, key -> WmtRestService.getSurfaceFuel(
+                ((FuelModel) key.get(0)).getJsonObject(),
+                moisture.get((Conditions) key.get(1))));
+        weather = new Stage<>("weather", capacity, key -> WmtRestService.getWeather(
+                key.get(0), key.get(1), key.get(2), key.get(3), CLOUD_COVER));
+        terrain = new Stage<>("terrain", capacity, key -> WmtRestService.getTerrain(
+                key.get(0), key.get(1), ELEVATION));
+        fire = new Stage<>("fire", capacity, inputs -> new FireBehavior(WmtRestService.getSurfaceFire(
+                getConditionedFuel(inputs.getFuelModel(), inputs.getMoistureConditions()),
+                weather.get(Arrays.asList(inputs.getAirTemperature(), inputs.getRelativeHumidity(),
+                        inputs.getWindSpeed(), inputs.getWindDirection())),
+                terrain.get(Arrays.asList(inputs.getAspect(), inputs.getSlope())))));
+    }
+
+    /**
+     * Computes the fire behavior, reusing the cached results of the stages
+     * whose inputs have not changed.
+     *
+     * @param inputs The fuel model, moisture, weather and terrain.
+     * @return The fire behavior.
+     */
+    public FireBehavior compute(FireBehaviorInputs inputs) {
+        if (inputs == null) {
+            throw new IllegalArgumentException("inputs is null.");
+        }
+        return fire.get(inputs);
+    }
+
+    /**
+     * Gets the fuel bed for a fuel model conditioned by the fuel moisture.
+     *
+     * @param fuelModel The fuel model.
+     * @param conditions The fuel moisture conditions.
+     * @return The conditioned fuel bed.
+     */
+    public FuelBed getFuelBed(FuelModel fuelModel, Conditions conditions) {
+        return new FuelBed(getConditionedFuel(fuelModel, conditions));
+    }
+
+    private JsonObject getConditionedFuel(FuelModel fuelModel, Conditions conditions) {
+        if (fuelModel == null || conditions == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        return fuel.get(Arrays.asList(fuelModel, conditions));
+    }
+
+    /**
+     * Discards the cached results of all the stages.
+     */
+    public void clear() {
+        moisture.clear();
+        fuel.clear();
+        weather.clear();
+        terrain.clear();
+        fire.clear();
+    }
+
+    /**
+     * @return The hit and miss counts of the stages.
+     */
+    @Override
+    public String toString() {
+        return "FireBehaviorPipeline{" + moisture + ", " + fuel + ", " + weather + ", "
+                + terrain + ", " + fire + '}';
+    }
+
+    /**
+     * A memoized stage: a function with an LRU cache of its results.
+     *
+     * @param <K> The key (input) type; must implement equals and hashCode.
+     * @param <V> The result type.
+     */
+    private static class Stage<K, V> {
+
+        private final String name;
+        private final Function<K, V> function;
+        private final Map<K, V> cache;
+        private long hits;
+        private long misses;
+
+        Stage(String name, int capacity, Function<K, V> function) {
+            this.name = name;
+            this.function = function;
+            this.cache = new LinkedHashMap<K, V>(capacity * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        V get(K key) {
+            synchronized (this) {
+                V value = cache.get(key);
+                if (value != null) {
+                    hits++;
+                    return value;
+                }
+                misses++;
+            }
+            // Computed outside the lock, since a stage may block on the server
+            V value = function.apply(key);
+            synchronized (this) {
+                cache.put(key, value);
+            }
+            return value;
+        }
+
+        synchronized void clear() {
+            cache.clear();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return name + ": " + hits + " hits, " + misses + " misses";
+        }
+    }
+}
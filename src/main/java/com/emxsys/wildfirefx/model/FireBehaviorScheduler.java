@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Schedules fire behavior computations for a stream of input changes. A
+ * computation starts only after the inputs have been quiet for the debounce
+ * delay, and each new request supersedes the older ones: a pending
+ * computation is cancelled, a running computation is interrupted and its
+ * result is discarded. Only the result for the newest inputs is published.
+ *
+ * The computations run one at a time on a background (daemon) thread.
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorScheduler {
+
+    private final Function<FireBehaviorInputs, FireBehavior> computation;
+    private final Consumer<FireBehavior> consumer;
+    private final Executor publisher;
+    private final long delayMillis;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Incremented for each request; a computation is stale once a newer
+     * request has been made.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    // Accessed only from the requesting thread, which the publisher runs on
+    private FireBehaviorInputs lastInputs;
+    private Future<?> lastTask;
+
+    /**
+     * Constructs a scheduler.
+     *
+     * @param computation Computes the fire behavior for the inputs.
+     * @param consumer Receives the newest result.
+     * @param publisher The executor that runs the consumer, e.g.,
+     * Platform::runLater.
+     * @param delayMillis The debounce delay [ms].
+     */
+    public FireBehaviorScheduler(Function<FireBehaviorInputs, FireBehavior> computation,
+            Consumer<FireBehavior> consumer, Executor publisher, long delayMillis) {
+        if (computation == null || consumer == null || publisher == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("Invalid delay: " + delayMillis);
+        }
+        this.computation = computation;
+        this.consumer = consumer;
+        this.publisher = publisher;
+        this.delayMillis = delayMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "FireBehaviorScheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Requests a computation for the given inputs, superseding any earlier
+     * request. A request for the same inputs as the previous request is
+     * ignored, unless its computation failed.
+     *
+     * @param inputs The inputs; null supersedes the earlier requests without
+     * computing anything.
+     */
+    public void request(FireBehaviorInputs inputs) {
+        if (inputs != null && inputs.equals(lastInputs)) {
+            return;
+        }
+        lastInputs = inputs;
+        final long current = generation.incrementAndGet();
+        if (lastTask != null) {
+            // Interrupts the blocking calls of a running computation
+            lastTask.cancel(true);
+            lastTask = null;
+        }
+        if (inputs == null) {
+            return;
+        }
+        lastTask = executor.schedule(() -> compute(inputs, current), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Supersedes the earlier requests and stops the background thread.
+     */
+    public void shutdown() {
+        generation.incrementAndGet();
+        executor.shutdownNow();
+    }
+
+    private boolean isStale(long requested) {
+        return requested != generation.get();
+    }
+
+    private void compute(FireBehaviorInputs inputs, long requested) {
+        if (isStale(requested)) {
+            return;
+        }
+        FireBehavior result;
+        try {
+            result = computation.apply(inputs);
+        } catch (RuntimeException e) {
+            if (!isStale(requested)) {
+                System.err.println("Fire behavior computation failed for " + inputs + ": " + e);
+                // Let the next request for the same inputs try again
+                publisher.execute(() -> {
+                    if (!isStale(requested)) {
+                        lastInputs = null;
+                    }
+                });
+            }
+            return;
+        }
+        if (result == null || isStale(requested)) {
+            return;
+        }
+        publisher.execute(() -> {
+            if (!isStale(requested)) {
+                consumer.accept(result);
+            }
+        });
+    }
+}
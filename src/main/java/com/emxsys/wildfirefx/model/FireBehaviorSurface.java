@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import com.emxsys.wildfirefx.service.WmtRestService.Conditions;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * A precomputed response surface for a fuel model: the maximum, flanking
+ * and backing rates of spread, the flame length, the fireline intensity and
+ * the effective wind speed tabulated over a grid of wind speed, slope and
+ * wind direction relative to the slope, for each fuel moisture class. Queries are answered by trilinear
+ * interpolation within the moisture class, without a fire behavior
+ * computation, so sliders can be dragged continuously and large ensembles
+ * can be evaluated in memory.
+ *
+ * The midflame wind is a fixed fraction of the wind speed for a given fuel
+ * model (its wind adjustment factor), so the wind speed axis is equivalent
+ * to a midflame wind axis. The outputs depend on the wind direction and
+ * aspect only through the angle between them, folded into [0, 180] degrees.
+ * The air temperature and relative humidity are fixed for a surface.
+ *
+ * The tables are interleaved in a single float array, with the outputs of a
+ * grid node adjacent.
+ *
+ * Tabulating a surface requires a fire behavior computation for every grid
+ * node: 4368 for the default grid. Use a local computation, such as a
+ * {@link SurfaceKernelComputation}, rather than a server request per node.
+ * The computations can be spread over several threads.
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorSurface {
+
+    /**
+     * The output indices of {@link #interpolate}.
+     */
+    public static final int RATE_OF_SPREAD_MAX = 0;
+    public static final int RATE_OF_SPREAD_FLANKING = 1;
+    public static final int FLAME_LENGTH = 2;
+    public static final int FIRELINE_INTENSITY = 3;
+    public static final int RATE_OF_SPREAD_BACKING = 4;
+    public static final int EFFECTIVE_WIND_SPEED = 5;
+    public static final int OUTPUTS = 6;
+
+    private static final Conditions[] CONDITIONS = Conditions.values();
+
+    private final FuelModel fuelModel;
+    private final double airTemperature;
+    private final double relativeHumidity;
+    private final double windSpeedStep;
+    private final double slopeStep;
+    private final double directionStep;
+    private final int windSpeeds;
+    private final int slopes;
+    private final int directions;
+    private final float[] table;
+
+    /**
+     * The fuel bed of each moisture class, for the estimated fire behavior.
+     */
+    private final JsonObject[] fuelBeds = new JsonObject[CONDITIONS.length];
+
+    /**
+     * Tabulates a surface over the default grid: wind speeds from 0 to 30 mph
+     * in 2 mph steps, slopes from 0 to 60 degrees in 5 degree steps and
+     * relative wind directions in 30 degree steps. The grid nodes are
+     * computed sequentially on the calling thread.
+     *
+     * @param fuelModel The fuel model.
+     * @param airTemperature [F]
+     * @param relativeHumidity [%]
+     * @param computation Computes the fire behavior at a grid node.
+     */
+    public FireBehaviorSurface(FuelModel fuelModel, double airTemperature, double relativeHumidity,
+            Function<FireBehaviorInputs, FireBehavior> computation) {
+        this(fuelModel, airTemperature, relativeHumidity, computation, 30, 2, 60, 5, 30);
+    }
+
+    /**
+     * Tabulates a surface over the default grid (see above), with the grid
+     * nodes computed in parallel.
+     *
+     * @param fuelModel The fuel model.
+     * @param airTemperature [F]
+     * @param relativeHumidity [%]
+     * @param computation Computes the fire behavior at a grid node; must be
+     * thread-safe.
+     * @param executor Runs the computations.
+     * @param parallelism The maximum number of concurrent computations.
+     */
+    public FireBehaviorSurface(FuelModel fuelModel, double airTemperature, double relativeHumidity,
+            Function<FireBehaviorInputs, FireBehavior> computation, Executor executor, int parallelism) {
+        this(fuelModel, airTemperature, relativeHumidity, computation, 30, 2, 60, 5, 30, executor, parallelism);
+    }
+
+    /**
+     * Tabulates a surface. This requires a fire behavior computation for
+     * each node of the grid, for each moisture class. The grid nodes are
+     * computed sequentially on the calling thread.
+     *
+     * @param fuelModel The fuel model.
+     * @param airTemperature [F]
+     * @param relativeHumidity [%]
+     * @param computation Computes the fire behavior at a grid node.
+     * @param maxWindSpeed [mph]
+     * @param windSpeedStep [mph]
+     * @param maxSlope [degrees]
+     * @param slopeStep [degrees]
+     * @param directionStep The relative wind direction step [degrees]; a
+     * divisor of 180.
+     */
+    public FireBehaviorSurface(FuelModel fuelModel, double airTemperature, double relativeHumidity,
+            Function<FireBehaviorInputs, FireBehavior> computation,
+            double maxWindSpeed, double windSpeedStep,
+            double maxSlope, double slopeStep, double directionStep) {
+        this(fuelModel, airTemperature, relativeHumidity, computation,
+                maxWindSpeed, windSpeedStep, maxSlope, slopeStep, directionStep, null, 1);
+    }
+
+    /**
+     * Tabulates a surface, with the grid nodes computed in parallel. If a
+     * computation fails, the remaining nodes are abandoned and the exception
+     * is rethrown.
+     *
+     * @param fuelModel The fuel model.
+     * @param airTemperature [F]
+     * @param relativeHumidity [%]
+     * @param computation Computes the fire behavior at a grid node; must be
+     * thread-safe if the parallelism is more than 1.
+     * @param maxWindSpeed [mph]
+     * @param windSpeedStep [mph]
+     * @param maxSlope [degrees]
+     * @param slopeStep [degrees]
+     * @param directionStep The relative wind direction step [degrees]; a
+     * divisor of 180.
+     * @param executor Runs the computations; null to compute on the calling
+     * thread.
+     * @param parallelism The maximum number of concurrent computations.
+     */
+    public FireBehaviorSurface(FuelModel fuelModel, double airTemperature, double relativeHumidity,
+            Function<FireBehaviorInputs, FireBehavior> computation,
+            double maxWindSpeed, double windSpeedStep,
+            double maxSlope, double slopeStep, double directionStep,
+            Executor executor, int parallelism) {
+        if (fuelModel == null || computation == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+        }
+        if (!(windSpeedStep > 0) || !(maxWindSpeed >= windSpeedStep)) {
+            throw new IllegalArgumentException("Invalid wind speed range: " + maxWindSpeed + " by " + windSpeedStep);
+        }
+        if (!(slopeStep > 0) || !(maxSlope >= slopeStep) || maxSlope > 90) {
+            throw new IllegalArgumentException("Invalid slope range: " + maxSlope + " by " + slopeStep);
+        }
+        // The nodes must be evenly spaced up to 180 degrees for the interpolation
+        double directionSteps = 180 / directionStep;
+        if (!(directionStep > 0) || directionStep > 180
+                || Math.abs(directionSteps - Math.rint(directionSteps)) > 1e-9) {
+            throw new IllegalArgumentException("Invalid direction step: " + directionStep);
+        }
+        this.fuelModel = fuelModel;
+        this.airTemperature = airTemperature;
+        this.relativeHumidity = relativeHumidity;
+        this.windSpeedStep = windSpeedStep;
+        this.slopeStep = slopeStep;
+        this.directionStep = directionStep;
+        this.windSpeeds = (int) Math.round(maxWindSpeed / windSpeedStep) + 1;
+        this.slopes = (int) Math.round(maxSlope / slopeStep) + 1;
+        this.directions = (int) Math.round(directionSteps) + 1;
+        this.table = new float[CONDITIONS.length * directions * slopes * windSpeeds * OUTPUTS];
+
+        AtomicBoolean failed = new AtomicBoolean();
+        if (executor == null || parallelism == 1) {
+            tabulate(computation, 0, 1, failed);
+            return;
+        }
+        // Each task computes every parallelism'th node
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[parallelism];
+        for (int p = 0; p < parallelism; p++) {
+            int first = p;
+            tasks[p] = CompletableFuture.runAsync(() -> tabulate(computation, first, parallelism, failed), executor);
+        }
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Computes the grid nodes from the first node by the stride. The nodes
+     * are numbered in table order.
+     */
+    private void tabulate(Function<FireBehaviorInputs, FireBehavior> computation,
+            int first, int stride, AtomicBoolean failed) {
+        int nodes = table.length / OUTPUTS;
+        for (int n = first; n < nodes && !failed.get(); n += stride) {
+            int w = n % windSpeeds;
+            int s = n / windSpeeds % slopes;
+            int d = n / (windSpeeds * slopes) % directions;
+            int c = n / (windSpeeds * slopes * directions);
+            FireBehavior fire;
+            try {
+                // The aspect is 0, so the wind direction is the relative direction
+                fire = computation.apply(new FireBehaviorInputs(fuelModel, CONDITIONS[c],
+                        airTemperature, relativeHumidity,
+                        w * windSpeedStep, Math.min(d * directionStep, 180), 0, s * slopeStep));
+            } catch (RuntimeException e) {
+                failed.set(true);
+                throw e;
+            }
+            int i = n * OUTPUTS;
+            table[i + RATE_OF_SPREAD_MAX] = (float) fire.getRateOfSpreadMax();
+            table[i + RATE_OF_SPREAD_FLANKING] = (float) fire.getRateOfSpreadFlanking();
+            table[i + FLAME_LENGTH] = (float) fire.getFlameLength();
+            table[i + FIRELINE_INTENSITY] = (float) fire.getFirelineIntensity();
+            table[i + RATE_OF_SPREAD_BACKING] = (float) fire.getRateOfSpreadBacking();
+            table[i + EFFECTIVE_WIND_SPEED] = (float) fire.getEffectiveWindSpeed();
+            if (d == 0 && s == 0 && w == 0) {
+                fuelBeds[c] = fire.getJsonObject().getJsonObject("fuelBed");
+            }
+        }
+    }
+
+    public FuelModel getFuelModel() {
+        return fuelModel;
+    }
+
+    public double getAirTemperature() {
+        return airTemperature;
+    }
+
+    public double getRelativeHumidity() {
+        return relativeHumidity;
+    }
+
+    public double getMaxWindSpeed() {
+        return (windSpeeds - 1) * windSpeedStep;
+    }
+
+    public double getMaxSlope() {
+        return (slopes - 1) * slopeStep;
+    }
+
+    /**
+     * @return The number of grid nodes, for all the moisture classes.
+     */
+    public int getNodeCount() {
+        return table.length / OUTPUTS;
+    }
+
+    /**
+     * Determines whether the inputs are within this surface: the same fuel
+     * model, air temperature and relative humidity, and a wind speed and
+     * slope within the grid.
+     *
+     * @param inputs The inputs.
+     * @return True if the inputs can be interpolated.
+     */
+    public boolean covers(FireBehaviorInputs inputs) {
+        return inputs != null
+                && inputs.getFuelModel() == fuelModel
+                && inputs.getAirTemperature() == airTemperature
+                && inputs.getRelativeHumidity() == relativeHumidity
+                && inputs.getWindSpeed() >= 0 && inputs.getWindSpeed() <= getMaxWindSpeed()
+                && inputs.getSlope() >= 0 && inputs.getSlope() <= getMaxSlope();
+    }
+
+    /**
+     * Interpolates the outputs for the inputs. The fuel model, air
+     * temperature and relative humidity of the inputs are ignored; the wind
+     * speed and slope are clamped to the grid.
+     *
+     * @param inputs The inputs.
+     * @param outputs Receives the outputs, indexed by RATE_OF_SPREAD_MAX,
+     * RATE_OF_SPREAD_FLANKING, FLAME_LENGTH, FIRELINE_INTENSITY,
+     * RATE_OF_SPREAD_BACKING and EFFECTIVE_WIND_SPEED.
+     */
+    public void interpolate(FireBehaviorInputs inputs, double[] outputs) {
+        interpolate(inputs.getMoistureConditions(), inputs.getWindSpeed(),
+                inputs.getWindDirection(), inputs.getAspect(), inputs.getSlope(), outputs);
+    }
+
+    /**
+     * Interpolates the outputs. The wind speed and slope are clamped to the
+     * grid.
+     *
+     * @param conditions The fuel moisture conditions.
+     * @param windSpeed [mph]
+     * @param windDirection [degrees]
+     * @param aspect [degrees]
+     * @param slope [degrees]
+     * @param outputs Receives the outputs, indexed by RATE_OF_SPREAD_MAX,
+     * RATE_OF_SPREAD_FLANKING, FLAME_LENGTH, FIRELINE_INTENSITY,
+     * RATE_OF_SPREAD_BACKING and EFFECTIVE_WIND_SPEED.
+     */
+    public void interpolate(Conditions conditions, double windSpeed, double windDirection,
+            double aspect, double slope, double[] outputs) {
+        double direction = Math.abs(windDirection - aspect) % 360;
+        if (direction > 180) {
+            direction = 360 - direction;
+        }
+        double w = clamp(windSpeed / windSpeedStep, windSpeeds - 1);
+        double s = clamp(slope / slopeStep, slopes - 1);
+        double d = clamp(direction / directionStep, directions - 1);
+        int w0 = Math.min((int) w, windSpeeds - 2);
+        int s0 = Math.min((int) s, slopes - 2);
+        int d0 = Math.min((int) d, directions - 2);
+        double fw = w - w0;
+        double fs = s - s0;
+        double fd = d - d0;
+
+        // The strides between adjacent nodes along each axis
+        int sw = OUTPUTS;
+        int ss = windSpeeds * OUTPUTS;
+        int sd = slopes * windSpeeds * OUTPUTS;
+        int i = index(conditions.ordinal(), d0, s0, w0);
+        for (int k = 0; k < OUTPUTS; k++, i++) {
+            double c00 = lerp(table[i], table[i + sw], fw);
+            double c01 = lerp(table[i + ss], table[i + ss + sw], fw);
+            double c10 = lerp(table[i + sd], table[i + sd + sw], fw);
+            double c11 = lerp(table[i + sd + ss], table[i + sd + ss + sw], fw);
+            outputs[k] = lerp(lerp(c00, c01, fs), lerp(c10, c11, fs), fd);
+        }
+    }
+
+    /**
+     * Estimates the fire behavior by interpolation. The estimate has every
+     * output read by the FireBehavior getters (the rates of spread, flame
+     * length, fireline intensity, effective wind speed and fuel bed), but not
+     * the other outputs of a computed fire behavior (e.g., the direction of
+     * maximum spread).
+     *
+     * @param inputs The inputs.
+     * @return The estimated fire behavior.
+     */
+    public FireBehavior estimate(FireBehaviorInputs inputs) {
+        double[] outputs = new double[OUTPUTS];
+        interpolate(inputs, outputs);
+        JsonObject fire = Json.createObjectBuilder()
+                .add("aspect", value("aspect:deg", inputs.getAspect()))
+                .add("effectiveWindSpeed", value("wind_speed:mph", outputs[EFFECTIVE_WIND_SPEED]))
+                .add("firelineIntensity", value("fire_line_intensity:Btu/ft/s", outputs[FIRELINE_INTENSITY]))
+                .add("flameLength", value("flame_length:ft", outputs[FLAME_LENGTH]))
+                .add("fuelBed", fuelBeds[inputs.getMoistureConditions().ordinal()])
+                .add("rateOfSpreadBacking", value("rate_of_spread:ft/min", outputs[RATE_OF_SPREAD_BACKING]))
+                .add("rateOfSpreadFlanking", value("rate_of_spread:ft/min", outputs[RATE_OF_SPREAD_FLANKING]))
+                .add("rateOfSpreadMax", value("rate_of_spread:ft/min", outputs[RATE_OF_SPREAD_MAX]))
+                .add("slope", value("slope:deg", inputs.getSlope()))
+                .add("windDirection", value("wind_dir:deg", inputs.getWindDirection()))
+                .build();
+        return new FireBehavior(fire);
+    }
+
+    /**
+     * Measures the interpolation error against the direct computation at
+     * random inputs within the grid.
+     *
+     * @param computation Computes the fire behavior directly.
+     * @param samples The number of random inputs.
+     * @param seed The random seed.
+     * @return The error statistics.
+     */
+    public Accuracy measureAccuracy(Function<FireBehaviorInputs, FireBehavior> computation, int samples, long seed) {
+        if (computation == null) {
+            throw new IllegalArgumentException("computation is null.");
+        }
+        Random random = new Random(seed);
+        Accuracy accuracy = new Accuracy();
+        double[] outputs = new double[OUTPUTS];
+        double[] expected = new double[OUTPUTS];
+        for (int n = 0; n < samples; n++) {
+            FireBehaviorInputs inputs = new FireBehaviorInputs(fuelModel,
+                    CONDITIONS[random.nextInt(CONDITIONS.length)],
+                    airTemperature, relativeHumidity,
+                    random.nextDouble() * getMaxWindSpeed(),
+                    random.nextDouble() * 360,
+                    random.nextDouble() * 360,
+                    random.nextDouble() * getMaxSlope());
+            interpolate(inputs, outputs);
+            FireBehavior fire = computation.apply(inputs);
+            expected[RATE_OF_SPREAD_MAX] = fire.getRateOfSpreadMax();
+            expected[RATE_OF_SPREAD_FLANKING] = fire.getRateOfSpreadFlanking();
+            expected[FLAME_LENGTH] = fire.getFlameLength();
+            expected[FIRELINE_INTENSITY] = fire.getFirelineIntensity();
+            expected[RATE_OF_SPREAD_BACKING] = fire.getRateOfSpreadBacking();
+            expected[EFFECTIVE_WIND_SPEED] = fire.getEffectiveWindSpeed();
+            accuracy.add(outputs, expected);
+        }
+        return accuracy;
+    }
+
+    private int index(int conditions, int direction, int slope, int windSpeed) {
+        return (((conditions * directions + direction) * slopes + slope) * windSpeeds + windSpeed) * OUTPUTS;
+    }
+
+    private static double clamp(double value, int max) {
+        return value < 0 ? 0 : value > max ? max : value;
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+
+    private static JsonObject value(String type, double value) {
+        return Json.createObjectBuilder()
+                .add("type", type)
+                .add("value", Double.toString(value))
+                .build();
+    }
+
+    /**
+     * The interpolation error statistics for each output.
+     */
+    public static class Accuracy {
+
+        private static final String[] NAMES = {
+            "rateOfSpreadMax", "rateOfSpreadFlanking", "flameLength", "firelineIntensity",
+            "rateOfSpreadBacking", "effectiveWindSpeed"};
+
+        private final double[] maxError = new double[OUTPUTS];
+        private final double[] sumError = new double[OUTPUTS];
+        private final double[] maxRelativeError = new double[OUTPUTS];
+        private int samples;
+
+        void add(double[] actual, double[] expected) {
+            samples++;
+            for (int k = 0; k < OUTPUTS; k++) {
+                double error = Math.abs(actual[k] - expected[k]);
+                maxError[k] = Math.max(maxError[k], error);
+                sumError[k] += error;
+                if (expected[k] != 0) {
+                    maxRelativeError[k] = Math.max(maxRelativeError[k], error / Math.abs(expected[k]));
+                }
+            }
+        }
+
+        public int getSamples() {
+            return samples;
+        }
+
+        /**
+         * @param output The output index, e.g., RATE_OF_SPREAD_MAX.
+         * @return The maximum absolute error in the output's units.
+         */
+        public double getMaxError(int output) {
+            return maxError[output];
+        }
+
+        /**
+         * @param output The output index, e.g., RATE_OF_SPREAD_MAX.
+         * @return The mean absolute error in the output's units.
+         */
+        public double getMeanError(int output) {
+            return samples == 0 ? 0 : sumError[output] / samples;
+        }
+
+        /**
+         * @param output The output index, e.g., RATE_OF_SPREAD_MAX.
+         * @return The maximum error relative to the computed value.
+         */
+        public double getMaxRelativeError(int output) {
+            return maxRelativeError[output];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Accuracy{" + samples + " samples");
+            for (int k = 0; k < OUTPUTS; k++) {
+                sb.append(String.format(", %s: mean %.3g, max %.3g (%.1f%%)",
+                        NAMES[k], getMeanError(k), maxError[k], maxRelativeError[k] * 100));
+            }
+            return sb.append('}').toString();
+        }
+    }
+}
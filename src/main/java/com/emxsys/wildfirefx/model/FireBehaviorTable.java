@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact, append-only table of fire behavior results for large batches
+ * (e.g., every fuel model of a catalog across a grid of conditions). Each
+ * output quantity is stored in a float column, and the fuel models are
+ * dictionary encoded as short ids, so a row takes 26 bytes instead of the
+ * JSON tree of a FireBehavior. A million rows fit in about 26 MB.
+ *
+ * Rows are read with a {@link Cursor}, which does not allocate per row, or
+ * by index. The minimum and maximum of each column are maintained as rows
+ * are added.
+ *
+ * The table is not thread-safe.
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorTable {
+
+    /**
+     * The output columns.
+     */
+    public enum Column {
+
+        /**
+         * [ft/min]
+         */
+        RATE_OF_SPREAD_MAX,
+        /**
+         * [ft/min]
+         */
+        RATE_OF_SPREAD_FLANKING,
+        /**
+         * [ft/min]
+         */
+        RATE_OF_SPREAD_BACKING,
+        /**
+         * [Btu/ft/s]
+         */
+        FIRELINE_INTENSITY,
+        /**
+         * [ft]
+         */
+        FLAME_LENGTH,
+        /**
+         * The heat per unit area [Btu/ft2].
+         */
+        HEAT_RELEASE
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final List<FuelModel> fuelModels = new ArrayList<>();
+    private final Map<FuelModel, Short> fuelModelIds = new IdentityHashMap<>();
+    private final Map<String, Short> modelNoIds = new HashMap<>();
+    private short[] ids;
+    private final float[][] columns = new float[COLUMNS.length][];
+    private final float[] min = new float[COLUMNS.length];
+    private final float[] max = new float[COLUMNS.length];
+    private int size;
+
+    /**
+     * Constructs an empty table.
+     */
+    public FireBehaviorTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty table.
+     *
+     * @param capacity The initial number of rows; the columns grow by
+     * doubling.
+     */
+    public FireBehaviorTable(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        ids = new short[capacity];
+        for (int c = 0; c < COLUMNS.length; c++) {
+            columns[c] = new float[capacity];
+        }
+        Arrays.fill(min, Float.NaN);
+        Arrays.fill(max, Float.NaN);
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The fuel model dictionary, indexed by fuel model id.
+     */
+    public List<FuelModel> getFuelModels() {
+        return Collections.unmodifiableList(fuelModels);
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param fuelModel The fuel model.
+     * @param rosMax [ft/min]
+     * @param rosFlanking [ft/min]
+     * @param rosBacking [ft/min]
+     * @param firelineIntensity [Btu/ft/s]
+     * @param flameLength [ft]
+     * @param heatRelease [Btu/ft2]
+     * @return The row index.
+     */
+    public int add(FuelModel fuelModel, double rosMax, double rosFlanking, double rosBacking,
+            double firelineIntensity, double flameLength, double heatRelease) {
+        return append(getFuelModelId(fuelModel), rosMax, rosFlanking, rosBacking,
+                firelineIntensity, flameLength, heatRelease);
+    }
+
+    /**
+     * Appends a row for a fire behavior computed by the WMT-REST server. A
+     * FireBehavior builds a new fuel model instance for each call, so its
+     * fuel model is looked up in the dictionary by model number.
+     *
+     * @param fire The fire behavior.
+     * @return The row index.
+     */
+    public int add(FireBehavior fire) {
+        if (fire == null) {
+            throw new IllegalArgumentException("fire is null.");
+        }
+        FuelBed fuelBed = fire.getFuelBed();
+        FuelModel fuelModel = fuelBed.getFuelModel();
+        Short id = modelNoIds.get(fuelModel.getModelNo());
+        if (id == null) {
+            id = getFuelModelId(fuelModel);
+            modelNoIds.put(fuelModel.getModelNo(), id);
+        }
+        return append(id, fire.getRateOfSpreadMax(), fire.getRateOfSpreadFlanking(),
+                fire.getRateOfSpreadBacking(), fire.getFirelineIntensity(), fire.getFlameLength(),
+                fuelBed.getHeatRelease());
+    }
+
+    private int append(short id, double rosMax, double rosFlanking, double rosBacking,
+            double firelineIntensity, double flameLength, double heatRelease) {
+        ensureCapacity(size + 1);
+        ids[size] = id;
+        set(Column.RATE_OF_SPREAD_MAX, rosMax);
+        set(Column.RATE_OF_SPREAD_FLANKING, rosFlanking);
+        set(Column.RATE_OF_SPREAD_BACKING, rosBacking);
+        set(Column.FIRELINE_INTENSITY, firelineIntensity);
+        set(Column.FLAME_LENGTH, flameLength);
+        set(Column.HEAT_RELEASE, heatRelease);
+        return size++;
+    }
+
+    /**
+     * Appends the rows computed by a SurfaceFireKernel.
+     *
+     * @param batch The kernel's columns.
+     * @param fuelModels The kernel's fuel models, indexed by the fuel model
+     * column.
+     */
+    public void addAll(SurfaceFireKernel.Columns batch, List<FuelModel> fuelModels) {
+        if (batch == null || fuelModels == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        // Map the kernel's fuel model indices to the dictionary once
+        short[] map = new short[fuelModels.size()];
+        for (int k = 0; k < map.length; k++) {
+            map[k] = getFuelModelId(fuelModels.get(k));
+        }
+        ensureCapacity(size + batch.size);
+        for (int i = 0; i < batch.size; i++) {
+            ids[size] = map[batch.fuelModel[i]];
+            set(Column.RATE_OF_SPREAD_MAX, batch.rateOfSpreadMax[i]);
+            set(Column.RATE_OF_SPREAD_FLANKING, batch.rateOfSpreadFlanking[i]);
+            set(Column.RATE_OF_SPREAD_BACKING, batch.rateOfSpreadBacking[i]);
+            set(Column.FIRELINE_INTENSITY, batch.firelineIntensity[i]);
+            set(Column.FLAME_LENGTH, batch.flameLength[i]);
+            set(Column.HEAT_RELEASE, batch.heatRelease[i]);
+            size++;
+        }
+    }
+
+    /**
+     * @param row The row index.
+     * @return The fuel model id, an index into the fuel model dictionary.
+     */
+    public int getFuelModelId(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    /**
+     * @param row The row index.
+     * @return The fuel model.
+     */
+    public FuelModel getFuelModel(int row) {
+        return fuelModels.get(getFuelModelId(row));
+    }
+
+    /**
+     * @param row The row index.
+     * @param column The column.
+     * @return The value.
+     */
+    public double get(int row, Column column) {
+        checkRow(row);
+        return columns[column.ordinal()][row];
+    }
+
+    /**
+     * @param column The column.
+     * @return The minimum value, ignoring NaNs; NaN if there are no values.
+     */
+    public double getMin(Column column) {
+        return min[column.ordinal()];
+    }
+
+    /**
+     * @param column The column.
+     * @return The maximum value, ignoring NaNs; NaN if there are no values.
+     */
+    public double getMax(Column column) {
+        return max[column.ordinal()];
+    }
+
+    /**
+     * Computes a percentile of a column, interpolating linearly between the
+     * nearest ranks. Sorts a copy of the column.
+     *
+     * @param column The column.
+     * @param percent The percentile, from 0 to 100.
+     * @return The value, ignoring NaNs; NaN if there are no values.
+     */
+    public double getPercentile(Column column, double percent) {
+        if (!(percent >= 0 && percent <= 100)) {
+            throw new IllegalArgumentException("Invalid percentile: " + percent);
+        }
+        float[] values = Arrays.copyOf(columns[column.ordinal()], size);
+        Arrays.sort(values);    // NaNs last
+        int n = size;
+        while (n > 0 && Float.isNaN(values[n - 1])) {
+            n--;
+        }
+        if (n == 0) {
+            return Double.NaN;
+        }
+        double rank = percent / 100 * (n - 1);
+        int lower = (int) rank;
+        if (lower == n - 1) {
+            return values[lower];
+        }
+        return values[lower] + (rank - lower) * (values[lower + 1] - values[lower]);
+    }
+
+    /**
+     * @return A cursor positioned before the first row.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private short getFuelModelId(FuelModel fuelModel) {
+        if (fuelModel == null) {
+            throw new IllegalArgumentException("fuelModel is null.");
+        }
+        Short id = fuelModelIds.get(fuelModel);
+        if (id == null) {
+            if (fuelModels.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many fuel models.");
+            }
+            id = (short) fuelModels.size();
+            fuelModels.add(fuelModel);
+            fuelModelIds.put(fuelModel, id);
+        }
+        return id;
+    }
+
+    private void set(Column column, double value) {
+        int c = column.ordinal();
+        float v = (float) value;
+        columns[c][size] = v;
+        if (Float.isNaN(v)) {
+            return;
+        }
+        if (Float.isNaN(min[c]) || v < min[c]) {
+            min[c] = v;
+        }
+        if (Float.isNaN(max[c]) || v > max[c]) {
+            max[c] = v;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int newCapacity = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, newCapacity);
+            for (int c = 0; c < COLUMNS.length; c++) {
+                columns[c] = Arrays.copyOf(columns[c], newCapacity);
+            }
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + ", size " + size);
+        }
+    }
+
+    /**
+     * A forward cursor over the rows, reading the columns in place. Rows
+     * added after the cursor was created are included.
+     */
+    public class Cursor {
+
+        private int row = -1;
+
+        /**
+         * Advances to the next row.
+         *
+         * @return False if there are no more rows.
+         */
+        public boolean next() {
+            if (row + 1 >= size) {
+                row = size;
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        /**
+         * Positions the cursor at a row.
+         *
+         * @param row The row index.
+         */
+        public void seek(int row) {
+            checkRow(row);
+            this.row = row;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getFuelModelId() {
+            return ids[row];
+        }
+
+        public FuelModel getFuelModel() {
+            return fuelModels.get(ids[row]);
+        }
+
+        public double get(Column column) {
+            return columns[column.ordinal()][row];
+        }
+
+        public double getRateOfSpreadMax() {
+            return columns[Column.RATE_OF_SPREAD_MAX.ordinal()][row];
+        }
+
+        public double getRateOfSpreadFlanking() {
+            return columns[Column.RATE_OF_SPREAD_FLANKING.ordinal()][row];
+        }
+
+        public double getRateOfSpreadBacking() {
+            return columns[Column.RATE_OF_SPREAD_BACKING.ordinal()][row];
+        }
+
+        public double getFirelineIntensity() {
+            return columns[Column.FIRELINE_INTENSITY.ordinal()][row];
+        }
+
+        public double getFlameLength() {
+            return columns[Column.FLAME_LENGTH.ordinal()][row];
+        }
+
+        public double getHeatRelease() {
+            return columns[Column.HEAT_RELEASE.ordinal()][row];
+        }
+    }
+}
@@ -29,10 +29,19 @@
  */
 package com.emxsys.wildfirefx.model;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Utility class for computing fire behavior outputs. Useful for generating Haul
  * Chart indices.
  *
+ * The batch variants compute a column of values at a time with simple loops
+ * that the JIT compiler can unroll, optionally split across the common
+ * fork/join pool for large arrays. They use the fast power approximations
+ * {@link #fastPow046} and {@link #fastPow217}, so they agree with the scalar
+ * methods to within the documented error bounds.
+ *
  * @author Bruce Schubert
  */
 public class FireBehaviorUtil {
@@ -89,4 +98,237 @@ public class FireBehaviorUtil {
         return rosFtPerMin;
     }
 
+    /**
+     * The number of elements below which a batch is not split further.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private static final double LN2 = Math.log(2);
+    private static final double INVERSE_LN2 = 1 / LN2;
+    private static final double ROUNDING_SHIFT = 0x1.8p52;
+
+    /**
+     * The lookup tables of fastPow: 1/c and log2(c) for the mantissas c = 1 +
+     * j/256, and 2^(k/64).
+     */
+    private static final double[] INVERSE_MANTISSA = new double[256];
+    private static final double[] LOG2_MANTISSA = new double[256];
+    private static final double[] EXP2_FRACTION = new double[64];
+
+    static {
+        for (int j = 0; j < 256; j++) {
+            double c = 1 + j / 256d;
+            INVERSE_MANTISSA[j] = 1 / c;
+            LOG2_MANTISSA[j] = Math.log(c) / LN2;
+        }
+        for (int k = 0; k < 64; k++) {
+            EXP2_FRACTION[k] = Math.pow(2, k / 64d);
+        }
+    }
+
+    /**
+     * Computes the fireline intensity for columns of heat per area and rate of
+     * spread.
+     *
+     * @param heatAreaBtus [btus / ft^2 ]
+     * @param ros [ft/min]
+     * @param result Receives the fireline intensities [btu / ft / sec]; null
+     * to allocate. May be one of the input arrays.
+     * @param parallel True to split large arrays across the common fork/join
+     * pool.
+     * @return The result array.
+     */
+    public static double[] computeFirelineIntensity(double[] heatAreaBtus, double[] ros, double[] result, boolean parallel) {
+        double[] out = checkColumns(heatAreaBtus, ros, result);
+        forEachRange(out.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = (heatAreaBtus[i] * ros[i]) / 60d;
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Computes the flame length for a column of fireline intensities, with a
+     * relative error of less than 1e-11.
+     *
+     * @param fliBtuPerFtPerSec - fireline intensity [btu / ft / sec]
+     * @param result Receives the flame lengths [ft]; null to allocate. May be
+     * the input array.
+     * @param parallel True to split large arrays across the common fork/join
+     * pool.
+     * @return The result array.
+     */
+    public static double[] computeFlameLength(double[] fliBtuPerFtPerSec, double[] result, boolean parallel) {
+        double[] out = checkColumns(fliBtuPerFtPerSec, fliBtuPerFtPerSec, result);
+        forEachRange(out.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = 0.45 * fastPow046(fliBtuPerFtPerSec[i]);
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Computes the heat per area for columns of flame length and rate of
+     * spread, with a relative error of less than 1e-11.
+     *
+     * @param flameLen [ft]
+     * @param ros [ft/min]
+     * @param result Receives the heat per area [btu / ft^2]; null to
+     * allocate. May be one of the input arrays.
+     * @param parallel True to split large arrays across the common fork/join
+     * pool.
+     * @return The result array.
+     */
+    public static double[] computeHeatAreaBtus(double[] flameLen, double[] ros, double[] result, boolean parallel) {
+        double[] out = checkColumns(flameLen, ros, result);
+        forEachRange(out.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = (60 * 5.67 * fastPow217(flameLen[i])) / ros[i];
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Computes the rate of spread for columns of flame length and heat per
+     * area, with a relative error of less than 1e-11.
+     *
+     * @param flameLen [ft]
+     * @param heatAreaBtus [btu / ft^2]
+     * @param result Receives the rates of spread [ft/min]; null to allocate.
+     * May be one of the input arrays.
+     * @param parallel True to split large arrays across the common fork/join
+     * pool.
+     * @return The result array.
+     */
+    public static double[] computeRateOfSpread(double[] flameLen, double[] heatAreaBtus, double[] result, boolean parallel) {
+        double[] out = checkColumns(flameLen, heatAreaBtus, result);
+        forEachRange(out.length, parallel, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = (60 * 5.67 * fastPow217(flameLen[i])) / heatAreaBtus[i];
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Computes x^0.46, the exponent of the flame length from fireline
+     * intensity. The relative error is less than 1e-11 for positive normal
+     * values; zero, negative, subnormal and non-finite values are delegated
+     * to Math.pow.
+     *
+     * @param x The base.
+     * @return x^0.46
+     */
+    public static double fastPow046(double x) {
+        return fastPow(x, 0.46);
+    }
+
+    /**
+     * Computes x^2.17, the exponent of the fireline intensity from flame
+     * length. The relative error is less than 1e-11 for positive normal
+     * values; zero, negative, subnormal and non-finite values are delegated
+     * to Math.pow.
+     *
+     * @param x The base.
+     * @return x^2.17
+     */
+    public static double fastPow217(double x) {
+        return fastPow(x, 2.17);
+    }
+
+    /**
+     * Computes x^p as 2^(p * log2(x)). The logarithm of the mantissa is
+     * looked up by its leading 8 bits, with a short series for the remainder,
+     * and 2 raised to the fraction of the exponent is looked up by its
+     * leading 6 bits, with a short series for the remainder.
+     */
+    private static double fastPow(double x, double p) {
+        long bits = Double.doubleToRawLongBits(x);
+        int exponent = (int) (bits >>> 52) - 1023;  // the sign bit makes negatives > 1024
+        if (exponent <= -1023 || exponent >= 1024) {
+            return Math.pow(x, p);
+        }
+        // x = 2^exponent * c * (1 + r), with c the mantissa truncated to 8
+        // bits and 0 <= r < 1/256
+        int j = (int) (bits >>> 44) & 0xFF;
+        double m = Double.longBitsToDouble((bits & 0xFFFFFFFFFFFFFL) | 0x3FF0000000000000L);
+        double r = m * INVERSE_MANTISSA[j] - 1;
+        double log1p = r * (1 - r * (1d / 2 - r * (1d / 3 - r * (1d / 4))));
+        double y = p * (exponent + LOG2_MANTISSA[j] + log1p * INVERSE_LN2);
+
+        // 2^y = 2^n * 2^(k/64) * e^g, with |g| <= ln2/128
+        if (!(y > -1022 && y < 1023)) {
+            return Math.pow(x, p);
+        }
+        // Adding 1.5 * 2^52 rounds y * 64 to an integer in the low bits
+        double rounded = y * 64 + ROUNDING_SHIFT;
+        int scaled = (int) Double.doubleToRawLongBits(rounded);
+        int n = scaled >> 6;
+        double g = (y - (rounded - ROUNDING_SHIFT) / 64) * LN2;  // in [-ln2/128, ln2/128]
+        double e = 1 + g * (1 + g * (1d / 2 + g * (1d / 6 + g * (1d / 24))));
+        return e * EXP2_FRACTION[scaled & 0x3F] * Double.longBitsToDouble((long) (n + 1023) << 52);
+    }
+
+    /**
+     * Checks that the input columns have the same length and gets the result
+     * column.
+     */
+    private static double[] checkColumns(double[] a, double[] b, double[] result) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        if (a.length != b.length || (result != null && result.length != a.length)) {
+            throw new IllegalArgumentException("The array lengths differ.");
+        }
+        return result != null ? result : new double[a.length];
+    }
+
+    /**
+     * A loop over a range of array indices.
+     */
+    interface RangeLoop {
+
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs a loop over the indices [0, length), split across the common
+     * fork/join pool if parallel and the length is large.
+     */
+    static void forEachRange(int length, boolean parallel, RangeLoop loop) {
+        if (parallel && length > PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new RangeTask(0, length, loop));
+        } else {
+            loop.run(0, length);
+        }
+    }
+
+    /**
+     * Splits a range in halves until it is below the threshold.
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final RangeLoop loop;
+
+        RangeTask(int from, int to, RangeLoop loop) {
+            this.from = from;
+            this.to = to;
+            this.loop = loop;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                loop.run(from, to);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, mid, loop), new RangeTask(mid, to, loop));
+            }
+        }
+    }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Computes the fire behavior for a whole fuel model catalog ahead of time,
+ * so that switching between fuel models under the same conditions is
+ * instant.
+ *
+ * The computations run on a fixed number of background (daemon) threads,
+ * the models nearest the current selection first. The results are cached by
+ * their exact inputs (fuel model and conditions). When the conditions
+ * change, the cache is cleared and the queued computations for the old
+ * conditions are skipped.
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorWarmer {
+
+    private final Function<FireBehaviorInputs, FireBehavior> computation;
+    private final ThreadPoolExecutor executor;
+    private final Map<FireBehaviorInputs, FireBehavior> cache = new ConcurrentHashMap<>();
+
+    /**
+     * The inputs queued or being computed, with the generation they were
+     * requested for, so that repeated warm-ups do not queue them again.
+     */
+    private final Map<FireBehaviorInputs, Long> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented when the conditions change; queued computations for an
+     * older generation are skipped.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Orders the tasks with the same priority by submission.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    // The conditions of the cached results; accessed only from the thread
+    // that calls warm (the JavaFX Application Thread)
+    private FireBehaviorInputs conditions;
+
+    /**
+     * Constructs a warmer.
+     *
+     * @param computation Computes the fire behavior for the inputs; must be
+     * thread-safe.
+     * @param threads The maximum number of concurrent computations.
+     */
+    public FireBehaviorWarmer(Function<FireBehaviorInputs, FireBehavior> computation, int threads) {
+        if (computation == null) {
+            throw new IllegalArgumentException("computation is null.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid thread count: " + threads);
+        }
+        this.computation = computation;
+        AtomicInteger count = new AtomicInteger();
+        // Runs the queued WarmTasks in priority order
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "FireBehaviorWarmer-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        // So that every task goes through the priority queue
+        this.executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * Gets a warmed result.
+     *
+     * @param inputs The inputs.
+     * @return The fire behavior, or null if it has not been computed.
+     */
+    public FireBehavior get(FireBehaviorInputs inputs) {
+        return inputs == null ? null : cache.get(inputs);
+    }
+
+    /**
+     * @param inputs The inputs.
+     * @return True if the inputs are queued or being computed.
+     */
+    boolean isPending(FireBehaviorInputs inputs) {
+        return pending.containsKey(inputs);
+    }
+
+    /**
+     * Computes the fire behavior for the fuel models under the given
+     * conditions, the models nearest the selection first. The results that
+     * are already cached are not computed again. If the conditions differ
+     * from the previous call, the cache is cleared and the computations
+     * still queued for the previous conditions are skipped. The results that
+     * are already queued or being computed are not queued again. Must be
+     * called from a single thread.
+     *
+     * @param models The fuel models.
+     * @param selected The index of the selected model.
+     * @param conditions The conditions; the fuel model is ignored.
+     */
+    public void warm(List<FuelModel> models, int selected, FireBehaviorInputs conditions) {
+        if (models == null || conditions == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        if (this.conditions == null || !this.conditions.hasSameConditions(conditions)) {
+            this.conditions = conditions;
+            invalidate();
+        }
+        Long current = generation.get();
+        for (int i = 0; i < models.size(); i++) {
+            FireBehaviorInputs inputs = conditions.withFuelModel(models.get(i));
+            if (!cache.containsKey(inputs) && !current.equals(pending.put(inputs, current))) {
+                executor.execute(new WarmTask(inputs, current, Math.abs(i - selected)));
+            }
+        }
+    }
+
+    /**
+     * Clears the cache and skips the queued computations.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+        pending.clear();
+    }
+
+    /**
+     * Stops the background threads.
+     */
+    public void shutdown() {
+        invalidate();
+        executor.shutdownNow();
+    }
+
+    private class WarmTask implements Runnable, Comparable<WarmTask> {
+
+        private final FireBehaviorInputs inputs;
+        private final long requested;
+        private final int distance;
+        private final long order = sequence.incrementAndGet();
+
+        WarmTask(FireBehaviorInputs inputs, long requested, int distance) {
+            this.inputs = inputs;
+            this.requested = requested;
+            this.distance = distance;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (requested != generation.get() || cache.containsKey(inputs)) {
+                    return;
+                }
+                FireBehavior result = computation.apply(inputs);
+                if (result != null && requested == generation.get()) {
+                    cache.put(inputs, result);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Warm-up failed for " + inputs + ": " + e);
+            } finally {
+                // Unless the inputs have been queued again for a newer generation
+                pending.remove(inputs, requested);
+            }
+        }
+
+        /**
+         * The newest generation first, then the nearest models.
+         */
+        @Override
+        public int compareTo(WarmTask other) {
+            if (requested != other.requested) {
+                return requested > other.requested ? -1 : 1;
+            }
+            if (distance != other.distance) {
+                return Integer.compare(distance, other.distance);
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
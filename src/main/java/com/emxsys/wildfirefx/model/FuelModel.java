@@ -30,6 +30,8 @@
 package com.emxsys.wildfirefx.model;
 
 import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
 
 /**
  * The FuelModel class provides various components of a fuel type used in the
@@ -41,6 +43,8 @@ import javax.json.JsonObject;
 public class FuelModel {
 
     public static double METERS_TO_FEET = 3.28084;
+    public static double KG_PER_M2_TO_LB_PER_FT2 = 0.204816;
+    public static double KJ_PER_KG_TO_BTU_PER_LB = 1 / 2.326;
     
     private final JsonObject jsonObject;
 
@@ -124,30 +128,129 @@ public class FuelModel {
     }
 
     public String getModelName() {
-        return this.jsonObject.getString("modelName");
+        return getJsonObject().getString("modelName");
     }
 
     public String getModelNo() {
-        return this.jsonObject.getString("modelNo");
+        return getJsonObject().getString("modelNo");
     }
 
     public String getModelCode() {
-        return this.jsonObject.getString("modelCode");
+        return getJsonObject().getString("modelCode");
     }
 
+    /**
+     * @return [kJ/kg]
+     */
     public double getLowHeatContent() {
-        return Double.parseDouble(jsonObject.getJsonObject("lowHeatContent").getString("value"));
+        return getValue("lowHeatContent");
+    }
+
+    /**
+     * @return [lb/ft2]
+     */
+    public double getDead1HrFuelLoad() {
+        return getValue("dead1HrFuelLoad") * KG_PER_M2_TO_LB_PER_FT2;
+    }
+
+    /**
+     * @return [lb/ft2]
+     */
+    public double getDead10HrFuelLoad() {
+        return getValue("dead10HrFuelLoad") * KG_PER_M2_TO_LB_PER_FT2;
+    }
+
+    /**
+     * @return [lb/ft2]
+     */
+    public double getDead100HrFuelLoad() {
+        return getValue("dead100HrFuelLoad") * KG_PER_M2_TO_LB_PER_FT2;
+    }
+
+    /**
+     * @return [lb/ft2]
+     */
+    public double getLiveHerbFuelLoad() {
+        return getValue("liveHerbFuelLoad") * KG_PER_M2_TO_LB_PER_FT2;
+    }
+
+    /**
+     * @return [lb/ft2]
+     */
+    public double getLiveWoodyFuelLoad() {
+        return getValue("liveWoodyFuelLoad") * KG_PER_M2_TO_LB_PER_FT2;
+    }
+
+    /**
+     * @return [ft2/ft3]
+     */
+    public double getDead1HrSAVRatio() {
+        return getValue("dead1HrSAVRatio") / METERS_TO_FEET;
+    }
+
+    /**
+     * @return [ft2/ft3]
+     */
+    public double getDead10HrSAVRatio() {
+        return getValue("dead10HrSAVRatio") / METERS_TO_FEET;
+    }
+
+    /**
+     * @return [ft2/ft3]
+     */
+    public double getDead100HrSAVRatio() {
+        return getValue("dead100HrSAVRatio") / METERS_TO_FEET;
+    }
+
+    /**
+     * @return [ft2/ft3]
+     */
+    public double getLiveHerbSAVRatio() {
+        return getValue("liveHerbSAVRatio") / METERS_TO_FEET;
+    }
+
+    /**
+     * @return [ft2/ft3]
+     */
+    public double getLiveWoodySAVRatio() {
+        return getValue("liveWoodySAVRatio") / METERS_TO_FEET;
+    }
+
+    /**
+     * @return The dead fuel moisture of extinction [%].
+     */
+    public double getMoistureOfExtinction() {
+        return getValue("moistureOfExtinction");
+    }
+
+    /**
+     * @return True if the live herbaceous fuel is transferred to dead fuel
+     * as it cures.
+     */
+    public boolean isDynamic() {
+        // A string in the server's JSON
+        JsonValue value = getJsonObject().get("dynamic");
+        return value != null && (value.getValueType() == JsonValue.ValueType.TRUE
+                || (value instanceof JsonString && Boolean.parseBoolean(((JsonString) value).getString())));
     }
     
     /**
      * @return [ft]
      */
     public double getFuelBedDepth() {
-        return Double.parseDouble(jsonObject.getJsonObject("fuelBedDepth").getString("value")) * METERS_TO_FEET; 
+        return getValue("fuelBedDepth") * METERS_TO_FEET;
     }
 
     public boolean isBurnable() {
-        return this.jsonObject.getBoolean("burnable");
+        return getJsonObject().getBoolean("burnable");
+    }
+
+    /**
+     * @param key The name of a value in the JSON representation.
+     * @return The value, in the units of the JSON representation.
+     */
+    double getValue(String key) {
+        return Double.parseDouble(getJsonObject().getJsonObject(key).getString("value"));
     }
 
     @Override
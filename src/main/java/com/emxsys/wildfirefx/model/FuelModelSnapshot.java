@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+/**
+ * A binary snapshot of the fuel model catalog, so the catalog can be loaded
+ * at startup without the WMT-REST server and without parsing JSON text.
+ *
+ * The file is memory mapped and read in place:
+ * <pre>
+ * header   magic, version, record count, record size, index capacity,
+ *          index offset, string table offset, string table length (ints),
+ *          creation time (long, milliseconds since the epoch)
+ * records  fixed width: modelNo, modelCode, modelName, category and JSON
+ *          text (string table offsets), flags (int), and the loads, SAV
+ *          ratios, depth, moisture of extinction and heat content (doubles,
+ *          in the units of the server's JSON)
+ * index    open addressing hash table of modelNo to record number + 1
+ * strings  length (int) and UTF-8 bytes, each string once
+ * </pre>
+ * A FuelModel is created on first access to its record, and the same
+ * instance is returned thereafter. Its getters read the record values. The
+ * JSON text is stored as received from the server, since it is sent back to
+ * the server in the fire behavior requests; it is parsed only when the
+ * FuelModel's JSON representation is requested, or for a value the record
+ * does not hold.
+ *
+ * A file of another format version is rejected, and the creation time lets
+ * the reader decide when the catalog is stale.
+ *
+ * The categories are free-form names; the catalogs are stored as
+ * {@link #ORIGINAL}, {@link #STANDARD} and {@link #CUSTOM}.
+ *
+ * @author Bruce Schubert
+ */
+public class FuelModelSnapshot {
+
+    public static final String ORIGINAL = "original";
+    public static final String STANDARD = "standard";
+    public static final String CUSTOM = "custom";
+
+    private static final int MAGIC = 0x57465846;   // "WFXF"
+    /**
+     * The format version; incremented whenever the layout changes.
+     */
+    public static final int VERSION = 3;
+    private static final int HEADER_SIZE = 40;
+
+    // The JSON values stored as doubles
+    private static final String[] FIELDS = {
+        "dead1HrFuelLoad", "dead10HrFuelLoad", "dead100HrFuelLoad", "liveHerbFuelLoad", "liveWoodyFuelLoad",
+        "dead1HrSAVRatio", "dead10HrSAVRatio", "dead100HrSAVRatio", "liveHerbSAVRatio", "liveWoodySAVRatio",
+        "fuelBedDepth", "moistureOfExtinction", "lowHeatContent"};
+
+    // The record layout
+    private static final int MODEL_NO = 0;
+    private static final int MODEL_CODE = 4;
+    private static final int MODEL_NAME = 8;
+    private static final int CATEGORY = 12;
+    private static final int JSON = 16;
+    private static final int FLAGS = 20;
+    private static final int VALUES = 24;
+    private static final int RECORD_SIZE = VALUES + FIELDS.length * 8;
+
+    // The flags
+    private static final int DYNAMIC = 1;
+    private static final int BURNABLE = 2;
+    private static final int BURNABLE_BOOLEAN = 4;  // else read from the JSON
+
+    private final ByteBuffer buffer;
+    private final Instant created;
+    private final int count;
+    private final int indexCapacity;
+    private final int indexOffset;
+    private final int stringsOffset;
+    private final FuelModel[] fuelModels;
+
+    private FuelModelSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        checkHeader(buffer);
+        this.count = buffer.getInt(8);
+        int recordSize = buffer.getInt(12);
+        this.indexCapacity = buffer.getInt(16);
+        this.indexOffset = buffer.getInt(20);
+        this.stringsOffset = buffer.getInt(24);
+        int stringsLength = buffer.getInt(28);
+        this.created = Instant.ofEpochMilli(buffer.getLong(32));
+        if (recordSize != RECORD_SIZE || count < 0
+                || Integer.bitCount(indexCapacity) != 1 || indexCapacity < count
+                || indexOffset != HEADER_SIZE + (long) count * RECORD_SIZE
+                || stringsOffset != indexOffset + (long) indexCapacity * 4
+                || buffer.capacity() != stringsOffset + (long) stringsLength) {
+            throw new IOException("Corrupt fuel model snapshot.");
+        }
+        this.fuelModels = new FuelModel[count];
+    }
+
+    private static void checkHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a fuel model snapshot.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported fuel model snapshot version: " + buffer.getInt(4));
+        }
+    }
+
+    /**
+     * Reads the creation time of a snapshot file without mapping it, so that
+     * a stale file can be replaced.
+     *
+     * @param file The snapshot file.
+     * @return The time the snapshot was written.
+     * @throws IOException If the file cannot be read or is not a snapshot of
+     * this version.
+     */
+    public static Instant readCreated(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file is null.");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+        }
+        header.flip();
+        checkHeader(header.slice());
+        return Instant.ofEpochMilli(header.getLong(32));
+    }
+
+    /**
+     * Maps a snapshot file into memory.
+     *
+     * @param file The snapshot file.
+     * @return The snapshot.
+     * @throws IOException If the file cannot be read or is not a snapshot of
+     * this version.
+     */
+    public static FuelModelSnapshot open(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file is null.");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping remains valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new FuelModelSnapshot(buffer);
+        }
+    }
+
+    /**
+     * Writes a snapshot file, replacing the file if it exists.
+     *
+     * @param file The snapshot file.
+     * @param categories The fuel models of each category, e.g., ORIGINAL and
+     * STANDARD.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, Map<String, ? extends List<FuelModel>> categories) throws IOException {
+        write(file, categories, Instant.now());
+    }
+
+    /**
+     * Writes a snapshot file, replacing the file if it exists.
+     *
+     * @param file The snapshot file.
+     * @param categories The fuel models of each category, e.g., ORIGINAL and
+     * STANDARD.
+     * @param created The creation time recorded in the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, Map<String, ? extends List<FuelModel>> categories,
+            Instant created) throws IOException {
+        if (file == null || categories == null || created == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        List<FuelModel> models = new ArrayList<>();
+        List<String> modelCategories = new ArrayList<>();
+        categories.forEach((category, list) -> {
+            for (FuelModel model : list) {
+                models.add(model);
+                modelCategories.add(category);
+            }
+        });
+        int count = models.size();
+        int indexCapacity = Integer.highestOneBit(Math.max(1, count) * 2 - 1) * 2;
+        int indexOffset = HEADER_SIZE + count * RECORD_SIZE;
+        int stringsOffset = indexOffset + indexCapacity * 4;
+
+        StringTable strings = new StringTable();
+        ByteBuffer records = ByteBuffer.allocate(count * RECORD_SIZE);
+        int[] index = new int[indexCapacity];
+        for (int i = 0; i < count; i++) {
+            FuelModel model = models.get(i);
+            JsonObject json = model.getJsonObject();
+            String modelNo = json.getString("modelNo");
+            int base = i * RECORD_SIZE;
+            records.putInt(base + MODEL_NO, strings.add(modelNo));
+            records.putInt(base + MODEL_CODE, strings.add(json.getString("modelCode", null)));
+            records.putInt(base + MODEL_NAME, strings.add(json.getString("modelName", null)));
+            records.putInt(base + CATEGORY, strings.add(modelCategories.get(i)));
+            // The same text as sent to the server
+            records.putInt(base + JSON, strings.add(json.toString()));
+            int flags = model.isDynamic() ? DYNAMIC : 0;
+            JsonValue burnable = json.get("burnable");
+            if (burnable != null && burnable.getValueType() == JsonValue.ValueType.TRUE) {
+                flags |= BURNABLE_BOOLEAN | BURNABLE;
+            } else if (burnable != null && burnable.getValueType() == JsonValue.ValueType.FALSE) {
+                flags |= BURNABLE_BOOLEAN;
+            }
+            records.putInt(base + FLAGS, flags);
+            for (int f = 0; f < FIELDS.length; f++) {
+                records.putDouble(base + VALUES + f * 8, parseValue(json, FIELDS[f]));
+            }
+            int slot = hash(modelNo) & (indexCapacity - 1);
+            while (index[slot] != 0) {
+                slot = (slot + 1) & (indexCapacity - 1);
+            }
+            index[slot] = i + 1;
+        }
+        byte[] stringBytes = strings.toByteArray();
+
+        ByteBuffer out = ByteBuffer.allocate(stringsOffset + stringBytes.length);
+        out.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(RECORD_SIZE)
+                .putInt(indexCapacity).putInt(indexOffset).putInt(stringsOffset).putInt(stringBytes.length)
+                .putLong(created.toEpochMilli());
+        out.put(records.array());
+        for (int slot : index) {
+            out.putInt(slot);
+        }
+        out.put(stringBytes);
+
+        // Replace the file only when the new one is complete
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "fuelmodels", ".tmp");
+        try {
+            Files.write(temp, out.array());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return The time the snapshot was written.
+     */
+    public Instant getCreated() {
+        return created;
+    }
+
+    /**
+     * @return The number of fuel models.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets a fuel model by its record number.
+     *
+     * @param record The record number, from 0 to size() - 1.
+     * @return The fuel model.
+     */
+    public synchronized FuelModel get(int record) {
+        if (record < 0 || record >= count) {
+            throw new IndexOutOfBoundsException("Record " + record + ", size " + count);
+        }
+        FuelModel model = fuelModels[record];
+        if (model == null) {
+            model = new RecordFuelModel(HEADER_SIZE + record * RECORD_SIZE);
+            fuelModels[record] = model;
+        }
+        return model;
+    }
+
+    /**
+     * Gets a fuel model by its number in constant time.
+     *
+     * @param modelNo The fuel model number, e.g., "4" or "101".
+     * @return The fuel model, or null if it is not in the snapshot.
+     */
+    public FuelModel getFuelModel(String modelNo) {
+        if (modelNo == null) {
+            throw new IllegalArgumentException("modelNo is null.");
+        }
+        byte[] key = modelNo.getBytes(StandardCharsets.UTF_8);
+        int slot = hash(modelNo) & (indexCapacity - 1);
+        for (int probes = 0; probes < indexCapacity; probes++) {
+            int entry = buffer.getInt(indexOffset + slot * 4);
+            if (entry == 0) {
+                return null;
+            }
+            int record = entry - 1;
+            if (stringEquals(buffer.getInt(HEADER_SIZE + record * RECORD_SIZE + MODEL_NO), key)) {
+                return get(record);
+            }
+            slot = (slot + 1) & (indexCapacity - 1);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the fuel models of a category, in the order they were written.
+     *
+     * @param category The category, e.g., ORIGINAL or STANDARD.
+     * @return The fuel models; empty if there are none.
+     */
+    public List<FuelModel> getFuelModels(String category) {
+        List<FuelModel> models = new ArrayList<>();
+        for (int record = 0; record < count; record++) {
+            if (category.equals(getString(buffer.getInt(HEADER_SIZE + record * RECORD_SIZE + CATEGORY)))) {
+                models.add(get(record));
+            }
+        }
+        return models;
+    }
+
+    /**
+     * @return The category names, in the order they were written.
+     */
+    public List<String> getCategories() {
+        Map<String, Boolean> categories = new LinkedHashMap<>();
+        for (int record = 0; record < count; record++) {
+            categories.put(getString(buffer.getInt(HEADER_SIZE + record * RECORD_SIZE + CATEGORY)), true);
+        }
+        return Collections.unmodifiableList(new ArrayList<>(categories.keySet()));
+    }
+
+    /**
+     * @return The value of a field in the JSON, or NaN if it is missing or
+     * not a number.
+     */
+    private static double parseValue(JsonObject json, String field) {
+        JsonValue value = json.get(field);
+        if (!(value instanceof JsonObject) || !(((JsonObject) value).get("value") instanceof JsonString)) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(((JsonObject) value).getString("value"));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * @return The string at an offset in the string table, or null for -1.
+     */
+    private String getString(int ref) {
+        if (ref < 0) {
+            return null;
+        }
+        int position = stringsOffset + ref;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(position + 4 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int ref, byte[] key) {
+        int position = stringsOffset + ref;
+        if (buffer.getInt(position) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(position + 4 + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(String modelNo) {
+        int h = modelNo.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A fuel model backed by a record. Values the record does not hold are
+     * read from the JSON representation, as FuelModel does.
+     */
+    private class RecordFuelModel extends FuelModel {
+
+        private final int base;
+        private JsonObject jsonObject;
+
+        RecordFuelModel(int base) {
+            super(null);
+            this.base = base;
+        }
+
+        /**
+         * @return The JSON representation, parsed from the record's JSON text
+         * on first use.
+         */
+        @Override
+        public synchronized JsonObject getJsonObject() {
+            if (jsonObject == null) {
+                try (JsonReader reader = Json.createReader(new StringReader(getString(buffer.getInt(base + JSON))))) {
+                    jsonObject = reader.readObject();
+                }
+            }
+            return jsonObject;
+        }
+
+        @Override
+        public String getModelNo() {
+            return getString(buffer.getInt(base + MODEL_NO));
+        }
+
+        @Override
+        public String getModelCode() {
+            String value = getString(buffer.getInt(base + MODEL_CODE));
+            return value != null ? value : super.getModelCode();
+        }
+
+        @Override
+        public String getModelName() {
+            String value = getString(buffer.getInt(base + MODEL_NAME));
+            return value != null ? value : super.getModelName();
+        }
+
+        @Override
+        public boolean isDynamic() {
+            return (buffer.getInt(base + FLAGS) & DYNAMIC) != 0;
+        }
+
+        @Override
+        public boolean isBurnable() {
+            int flags = buffer.getInt(base + FLAGS);
+            return (flags & BURNABLE_BOOLEAN) != 0 ? (flags & BURNABLE) != 0 : super.isBurnable();
+        }
+
+        @Override
+        double getValue(String key) {
+            for (int f = 0; f < FIELDS.length; f++) {
+                if (FIELDS[f].equals(key)) {
+                    double value = buffer.getDouble(base + VALUES + f * 8);
+                    return Double.isNaN(value) ? super.getValue(key) : value;
+                }
+            }
+            return super.getValue(key);
+        }
+    }
+
+    /**
+     * Collects the distinct strings for the string table.
+     */
+    private static class StringTable {
+
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        /**
+         * @return The offset of the string, or -1 for null.
+         */
+        int add(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer offset = offsets.get(value);
+            if (offset == null) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                offset = bytes.size();
+                bytes.write(utf8.length >>> 24);
+                bytes.write(utf8.length >>> 16);
+                bytes.write(utf8.length >>> 8);
+                bytes.write(utf8.length);
+                bytes.write(utf8, 0, utf8.length);
+                offsets.put(value, offset);
+            }
+            return offset;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
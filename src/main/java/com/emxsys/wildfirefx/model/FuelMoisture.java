@@ -43,4 +43,43 @@ public class FuelMoisture {
         this.jsonFuelMoisture = jsonFuelMoisture;
     }
 
+    /**
+     * @return [%]
+     */
+    public double getDead1HrFuelMoisture() {
+        return getValue("dead1HrFuelMoisture");
+    }
+
+    /**
+     * @return [%]
+     */
+    public double getDead10HrFuelMoisture() {
+        return getValue("dead10HrFuelMoisture");
+    }
+
+    /**
+     * @return [%]
+     */
+    public double getDead100HrFuelMoisture() {
+        return getValue("dead100HrFuelMoisture");
+    }
+
+    /**
+     * @return [%]
+     */
+    public double getLiveHerbFuelMoisture() {
+        return getValue("liveHerbFuelMoisture");
+    }
+
+    /**
+     * @return [%]
+     */
+    public double getLiveWoodyFuelMoisture() {
+        return getValue("liveWoodyFuelMoisture");
+    }
+
+    private double getValue(String name) {
+        return Double.parseDouble(jsonFuelMoisture.getJsonObject(name).getString("value"));
+    }
+
 }
@@ -30,14 +30,36 @@
 package com.emxsys.wildfirefx.model;
 
 import com.emxsys.wildfirefx.service.WmtRestService;
+import com.emxsys.wildfirefx.service.WmtRestService.Conditions;
 import com.emxsys.wildfirefx.service.WmtRestService.FuelModelCategory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.beans.property.StringProperty;
-import javax.json.JsonArray;
 import javax.json.JsonObject;
 
 /**
@@ -47,10 +69,93 @@ import javax.json.JsonObject;
  */
 public class Model {
 
-    private final List<FuelModel> originalFuelModels = new ArrayList<>();
-    private final List<FuelModel> standardFuelModels = new ArrayList<>();
+    /**
+     * The quiet period before the fire behavior is recomputed [ms].
+     */
+    private static final long DEBOUNCE_MILLIS = 150;
+
+    /**
+     * The number of concurrent fire behavior computations for the warm-up.
+     */
+    private static final int WARM_UP_THREADS = 4;
+
+    /**
+     * The maximum number of quantized fire behavior results kept in memory.
+     */
+    private static final int MEMO_CAPACITY = 4096;
+
+    /**
+     * The binary snapshot of the fuel model catalogs. Delete it to download
+     * the catalogs again.
+     */
+    private static final Path SNAPSHOT_FILE = Paths.get(System.getProperty("user.home"), ".wildfirefx", "fuelmodels.bin");
+
+    /**
+     * The age after which the snapshot is replaced by the catalogs from the
+     * WMT-REST server. A stale snapshot is still used if they cannot be
+     * downloaded.
+     */
+    private static final Duration SNAPSHOT_MAX_AGE = Duration.ofDays(30);
+
+    /**
+     * Loads the fuel model catalogs.
+     */
+    private static final Executor LOADER = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "Model-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ObservableList<FuelModel> originalFuelModels = FXCollections.observableArrayList();
+    private final ObservableList<FuelModel> standardFuelModels = FXCollections.observableArrayList();
+    private CompletableFuture<Void> catalogsLoaded;
     private final ObjectProperty<FuelModel> fuelModel = new SimpleObjectProperty<>();
     private final ObjectProperty<FireBehavior> fireBehavior = new SimpleObjectProperty<>();
+    private final ObjectProperty<Conditions> moistureConditions = new SimpleObjectProperty<>(this, "moistureConditions", Conditions.HOT_AND_DRY);
+
+    // Weather, terrain and solar inputs
+    private final DoubleProperty airTemperature = new SimpleDoubleProperty(this, "airTemperature", FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE);
+    private final DoubleProperty relativeHumidity = new SimpleDoubleProperty(this, "relativeHumidity", FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY);
+    private final DoubleProperty windSpeed = new SimpleDoubleProperty(this, "windSpeed", 10);
+    private final DoubleProperty windDirection = new SimpleDoubleProperty(this, "windDirection", 135);
+    private final DoubleProperty aspect = new SimpleDoubleProperty(this, "aspect", 270);
+    private final DoubleProperty slope = new SimpleDoubleProperty(this, "slope", 30);
+    private final DoubleProperty solarAzimuth = new SimpleDoubleProperty(this, "solarAzimuth", 225);
+    private final ObjectProperty<LocalTime> time = new SimpleObjectProperty<>(this, "time", LocalTime.of(14, 0));
+    private final BooleanProperty precompute = new SimpleBooleanProperty(this, "precompute", false);
+
+    /**
+     * Computes the fire behavior, reusing the unchanged stages.
+     */
+    private final FireBehaviorPipeline pipeline = new FireBehaviorPipeline();
+
+    /**
+     * Serves inputs that differ by less than the display precision from
+     * memory.
+     */
+    private final QuantizedFireBehaviorCache memo = new QuantizedFireBehaviorCache(MEMO_CAPACITY);
+
+    /**
+     * Debounces the input changes and publishes the newest fire behavior on
+     * the JavaFX Application Thread.
+     */
+    private final FireBehaviorScheduler scheduler = new FireBehaviorScheduler(
+            this::computeFireBehavior, fireBehavior::set, Platform::runLater, DEBOUNCE_MILLIS);
+
+    /**
+     * Computes the fire behavior for the whole catalog ahead of time.
+     */
+    private final FireBehaviorWarmer warmer = new FireBehaviorWarmer(pipeline::compute, WARM_UP_THREADS);
+
+    /**
+     * The response surfaces of the fuel models, in the precompute mode.
+     * Tabulated locally with a SurfaceFireKernel, calibrated by a few
+     * computations on their own pipeline so that they do not evict the
+     * interactive results.
+     */
+    private final Map<FuelModel, FireBehaviorSurface> surfaces = new ConcurrentHashMap<>();
+    private final FireBehaviorPipeline surfacePipeline = new FireBehaviorPipeline();
+    private volatile FireBehaviorInputs surfaceRequested;
 
     public Model() {
         initialize();
@@ -59,45 +164,325 @@ public class Model {
     private void initialize() {
         initializeFuelModels();
 
-        fuelModel.addListener((observable, oldValue, newValue) -> {
-            System.out.println("Computing fire behavior for " + newValue);
-            
-            JsonObject model = newValue.getJsonObject();
-            JsonObject moisture = WmtRestService.getFuelMoisture(WmtRestService.Conditions.HOT_AND_DRY);
-            JsonObject fuel = WmtRestService.getSurfaceFuel(model, moisture);
-            JsonObject weather = WmtRestService.getWeather(80, 25, 10, 135, 10);
-            JsonObject terrain = WmtRestService.getTerrain(270, 30, 100);
-            JsonObject fire = WmtRestService.getSurfaceFire(fuel, weather, terrain);
-            fireBehavior.setValue(new FireBehavior(fire));
-            
-            System.out.println("Fire Behavior: " + fire.toString());
+        // Use an interpolated or warmed result immediately, else recompute
+        // when the inputs settle; superseded computations are abandoned and
+        // only the newest result is published
+        InvalidationListener inputsListener = observable -> {
+            FireBehaviorInputs inputs = getInputs();
+            FireBehaviorSurface surface = getSurface(inputs);
+            if (surface != null) {
+                scheduler.request(null);
+                fireBehavior.set(surface.estimate(inputs));
+                return;
+            }
+            FireBehavior warmed = warmer.get(inputs);
+            if (warmed != null) {
+                scheduler.request(null);
+                fireBehavior.set(warmed);
+            } else {
+                scheduler.request(inputs);
+            }
+        };
+        fuelModel.addListener(inputsListener);
+        moistureConditions.addListener(inputsListener);
+        airTemperature.addListener(inputsListener);
+        relativeHumidity.addListener(inputsListener);
+        windSpeed.addListener(inputsListener);
+        windDirection.addListener(inputsListener);
+        aspect.addListener(inputsListener);
+        slope.addListener(inputsListener);
+        precompute.addListener(inputsListener);
+
+        // Warm up the catalog when it arrives, and again under new
+        // conditions once they have settled (when a result is published).
+        // Interpolated results are published continuously, so the catalog is
+        // not warmed up in the precompute mode; instead a surface is
+        // tabulated for settled inputs that no surface covers.
+        catalogsLoaded.thenRunAsync(this::warmUp, Platform::runLater);
+        fireBehavior.addListener(observable -> {
+            if (isPrecompute()) {
+                requestSurface(getInputs());
+            } else {
+                warmUp();
+            }
+        });
+    }
+
+    /**
+     * Gets the response surface that covers the inputs in the precompute
+     * mode.
+     *
+     * @param inputs The inputs (null permitted).
+     * @return The surface, or null if the inputs must be computed.
+     */
+    private FireBehaviorSurface getSurface(FireBehaviorInputs inputs) {
+        if (!isPrecompute()) {
+            // Abandon the pending tabulation
+            surfaceRequested = null;
+            return null;
+        }
+        if (inputs == null) {
+            return null;
+        }
+        FireBehaviorSurface surface = surfaces.get(inputs.getFuelModel());
+        if (surface != null && surface.covers(inputs)) {
+            return surface;
+        }
+        return null;
+    }
+
+    /**
+     * Starts tabulating a response surface for the fuel model, air
+     * temperature and relative humidity of the inputs if there is none. Only
+     * called once the inputs have settled, so dragging a slider does not
+     * tabulate a surface for each value.
+     *
+     * @param inputs The inputs (null permitted).
+     */
+    private void requestSurface(FireBehaviorInputs inputs) {
+        if (inputs == null) {
+            return;
+        }
+        FireBehaviorSurface surface = surfaces.get(inputs.getFuelModel());
+        if (surface == null || surface.getAirTemperature() != inputs.getAirTemperature()
+                || surface.getRelativeHumidity() != inputs.getRelativeHumidity()) {
+            tabulateSurface(inputs);
+        }
+    }
+
+    /**
+     * Tabulates the response surface for the fuel model, air temperature and
+     * relative humidity of the inputs in the background. The grid nodes are
+     * computed with a SurfaceFireKernel, so the WMT-REST server is only asked
+     * for one reference fire behavior per moisture class. The tabulation is
+     * abandoned when another one is requested or the precompute mode is
+     * turned off.
+     */
+    private void tabulateSurface(FireBehaviorInputs inputs) {
+        if (surfaceRequested != null && surfaceRequested.getFuelModel() == inputs.getFuelModel()
+                && surfaceRequested.getAirTemperature() == inputs.getAirTemperature()
+                && surfaceRequested.getRelativeHumidity() == inputs.getRelativeHumidity()) {
+            return;
+        }
+        surfaceRequested = inputs;
+        FuelModel model = inputs.getFuelModel();
+        double temperature = inputs.getAirTemperature();
+        double humidity = inputs.getRelativeHumidity();
+        CompletableFuture.supplyAsync(() -> {
+            SurfaceKernelComputation computation = new SurfaceKernelComputation(
+                    model, temperature, humidity, surfacePipeline::compute);
+            return new FireBehaviorSurface(model, temperature, humidity, node -> {
+                if (surfaceRequested != inputs) {
+                    throw new CancellationException("Superseded");
+                }
+                return computation.apply(node);
+            });
+        }, LOADER).whenCompleteAsync((surface, ex) -> {
+            if (surfaceRequested == inputs) {
+                surfaceRequested = null;
+            }
+            if (ex instanceof CancellationException || ex != null && ex.getCause() instanceof CancellationException) {
+                return;
+            }
+            if (ex != null) {
+                System.err.println("Response surface failed for " + model + ": " + ex);
+                return;
+            }
+            surfaces.put(model, surface);
+            // Switch to the surface if it covers the current inputs
+            FireBehaviorInputs current = getInputs();
+            if (isPrecompute() && surface.covers(current)) {
+                scheduler.request(null);
+                fireBehavior.set(surface.estimate(current));
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * @return The current inputs, or null if there is no fuel model.
+     */
+    private FireBehaviorInputs getInputs() {
+        FuelModel model = getFuelModel();
+        Conditions conditions = getMoistureConditions();
+        if (model == null || conditions == null) {
+            return null;
+        }
+        return new FireBehaviorInputs(model, conditions, getAirTemperature(), getRelativeHumidity(),
+                getWindSpeed(), getWindDirection(), getAspect(), getSlope());
+    }
+
+    /**
+     * Computes the fire behavior for all the fuel models under the current
+     * conditions in the background, the models nearest the selected model
+     * first.
+     */
+    private void warmUp() {
+        List<FuelModel> models = new ArrayList<>(originalFuelModels);
+        models.addAll(standardFuelModels);
+        if (models.isEmpty() || getMoistureConditions() == null) {
+            return;
+        }
+        int selected = Math.max(0, models.indexOf(getFuelModel()));
+        FireBehaviorInputs conditions = new FireBehaviorInputs(models.get(selected),
+                getMoistureConditions(), getAirTemperature(), getRelativeHumidity(),
+                getWindSpeed(), getWindDirection(), getAspect(), getSlope());
+        warmer.warm(models, selected, conditions);
+    }
+
+    /**
+     * Computes the fire behavior for the quantized inputs with the WMT-REST
+     * server, or gets it from the memo table. Runs on the scheduler's
+     * background thread.
+     *
+     * @param inputs The fuel model, moisture, weather and terrain.
+     * @return The fire behavior.
+     */
+    private FireBehavior computeFireBehavior(FireBehaviorInputs inputs) {
+        return memo.get(inputs, key -> {
+            System.out.println("Computing fire behavior for " + key);
+            return pipeline.compute(key);
         });
     }
 
     /**
-     * Loads the available fuel models from the WMT-REST server.
+     * Starts loading the available fuel models, from the snapshot file if it
+     * exists, else from the WMT-REST server. The catalogs are read on
+     * background threads, and the fuel model lists are populated on the
+     * JavaFX Application Thread. Downloaded catalogs are saved in a new
+     * snapshot for the next startup. A stale snapshot is downloaded again,
+     * and is used only if the download fails.
      */
     private void initializeFuelModels() {
+        catalogsLoaded = CompletableFuture.supplyAsync(() -> openSnapshot(false), LOADER)
+                .thenCompose(snapshot -> snapshot != null
+                        ? setFuelModels(snapshot)
+                        : downloadFuelModels().handle((result, ex) -> ex).thenCompose(this::fallBackToSnapshot));
+    }
 
-        JsonArray original = WmtRestService.getFuelModels(FuelModelCategory.ORIGINAL);
-        JsonArray standard = WmtRestService.getFuelModels(FuelModelCategory.STANDARD);
+    private CompletableFuture<Void> setFuelModels(FuelModelSnapshot snapshot) {
+        return CompletableFuture.runAsync(() -> {
+            originalFuelModels.setAll(snapshot.getFuelModels(FuelModelSnapshot.ORIGINAL));
+            standardFuelModels.setAll(snapshot.getFuelModels(FuelModelSnapshot.STANDARD));
+        }, Platform::runLater);
+    }
 
-        original.stream().forEach((jsonFuelModel) -> {
-            this.originalFuelModels.add(new FuelModel((JsonObject) jsonFuelModel));
+    /**
+     * Uses a stale snapshot if the download failed.
+     *
+     * @param failure The download failure, or null if the download succeeded.
+     */
+    private CompletableFuture<Void> fallBackToSnapshot(Throwable failure) {
+        if (failure == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> openSnapshot(true), LOADER).thenCompose(snapshot -> {
+            if (snapshot != null) {
+                return setFuelModels(snapshot);
+            }
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(failure);
+            return failed;
+        });
+    }
+
+    private CompletableFuture<Void> downloadFuelModels() {
+        CompletableFuture<List<FuelModel>> original = loadFuelModels(FuelModelCategory.ORIGINAL, originalFuelModels);
+        CompletableFuture<List<FuelModel>> standard = loadFuelModels(FuelModelCategory.STANDARD, standardFuelModels);
+        original.thenAcceptBothAsync(standard, Model::saveSnapshot, LOADER);
+        return CompletableFuture.allOf(original, standard);
+    }
+
+    private static List<FuelModel> fetchFuelModels(FuelModelCategory category) {
+        List<FuelModel> models = new ArrayList<>();
+        WmtRestService.getFuelModels(category).stream().forEach((jsonFuelModel) -> {
+            models.add(new FuelModel((JsonObject) jsonFuelModel));
         });
-        standard.stream().forEach((jsonFuelModel) -> {
-            this.standardFuelModels.add(new FuelModel((JsonObject) jsonFuelModel));
+        return models;
+    }
+
+    private static CompletableFuture<List<FuelModel>> loadFuelModels(FuelModelCategory category, ObservableList<FuelModel> target) {
+        return CompletableFuture.supplyAsync(() -> fetchFuelModels(category), LOADER).thenApplyAsync(models -> {
+            target.setAll(models);
+            return models;
+        }, Platform::runLater).whenComplete((result, ex) -> {
+            if (ex != null) {
+                System.err.println("Failed to load the " + category + " fuel models: " + ex);
+            }
         });
     }
 
-    public List<FuelModel> getOriginalFuelModels() {
+    /**
+     * Opens the snapshot file.
+     *
+     * @param acceptStale Whether a snapshot older than SNAPSHOT_MAX_AGE is
+     * acceptable.
+     * @return The snapshot, or null if there is none, if it is of another
+     * format version, if it is stale and not acceptable, if it is damaged or
+     * if it holds an incomplete catalog.
+     */
+    private static FuelModelSnapshot openSnapshot(boolean acceptStale) {
+        if (!Files.isRegularFile(SNAPSHOT_FILE)) {
+            return null;
+        }
+        try {
+            // Check the age before mapping the file, so that it can be replaced
+            if (!acceptStale && FuelModelSnapshot.readCreated(SNAPSHOT_FILE)
+                    .plus(SNAPSHOT_MAX_AGE).isBefore(Instant.now())) {
+                return null;
+            }
+            FuelModelSnapshot snapshot = FuelModelSnapshot.open(SNAPSHOT_FILE);
+            if (snapshot.getFuelModels(FuelModelSnapshot.ORIGINAL).isEmpty()
+                    || snapshot.getFuelModels(FuelModelSnapshot.STANDARD).isEmpty()) {
+                return null;
+            }
+            return snapshot;
+        } catch (IOException | RuntimeException ex) {
+            // A damaged file may fail when its records are read, rather than
+            // when it is opened; either way, download the catalogs again
+            System.err.println("Failed to open the fuel model snapshot " + SNAPSHOT_FILE + ": " + ex);
+            return null;
+        }
+    }
+
+    private static void saveSnapshot(List<FuelModel> original, List<FuelModel> standard) {
+        Map<String, List<FuelModel>> catalogs = new LinkedHashMap<>();
+        catalogs.put(FuelModelSnapshot.ORIGINAL, original);
+        catalogs.put(FuelModelSnapshot.STANDARD, standard);
+        try {
+            FuelModelSnapshot.write(SNAPSHOT_FILE, catalogs);
+        } catch (IOException ex) {
+            System.err.println("Failed to save the fuel model snapshot " + SNAPSHOT_FILE + ": " + ex);
+        }
+    }
+
+    /**
+     * Gets the original 13 fuel models. The list is empty until the catalog
+     * has been loaded.
+     *
+     * @return An observable list, updated on the JavaFX Application Thread.
+     */
+    public ObservableList<FuelModel> getOriginalFuelModels() {
         return originalFuelModels;
     }
 
-    public List<FuelModel> getStandardFuelModels() {
+    /**
+     * Gets the standard 40 fuel models. The list is empty until the catalog
+     * has been loaded.
+     *
+     * @return An observable list, updated on the JavaFX Application Thread.
+     */
+    public ObservableList<FuelModel> getStandardFuelModels() {
         return standardFuelModels;
     }
 
+    /**
+     * @return A future that completes when both fuel model lists have been
+     * populated, or exceptionally if a catalog failed to load.
+     */
+    public CompletableFuture<Void> getCatalogsLoaded() {
+        return catalogsLoaded;
+    }
+
     public FuelModel getFuelModel() {
         return fuelModel.get();
     }
@@ -122,4 +507,157 @@ public class Model {
         return fireBehavior;
     }
 
+    public Conditions getMoistureConditions() {
+        return moistureConditions.get();
+    }
+
+    public void setMoistureConditions(Conditions value) {
+        moistureConditions.set(value);
+    }
+
+    public ObjectProperty<Conditions> moistureConditionsProperty() {
+        return moistureConditions;
+    }
+
+    /**
+     * @return The air temperature [F].
+     */
+    public double getAirTemperature() {
+        return airTemperature.get();
+    }
+
+    public void setAirTemperature(double value) {
+        airTemperature.set(value);
+    }
+
+    public DoubleProperty airTemperatureProperty() {
+        return airTemperature;
+    }
+
+    /**
+     * @return The relative humidity [%].
+     */
+    public double getRelativeHumidity() {
+        return relativeHumidity.get();
+    }
+
+    public void setRelativeHumidity(double value) {
+        relativeHumidity.set(value);
+    }
+
+    public DoubleProperty relativeHumidityProperty() {
+        return relativeHumidity;
+    }
+
+    /**
+     * @return The wind speed [mph].
+     */
+    public double getWindSpeed() {
+        return windSpeed.get();
+    }
+
+    public void setWindSpeed(double value) {
+        windSpeed.set(value);
+    }
+
+    public DoubleProperty windSpeedProperty() {
+        return windSpeed;
+    }
+
+    /**
+     * @return The direction the wind is blowing from [degrees].
+     */
+    public double getWindDirection() {
+        return windDirection.get();
+    }
+
+    public void setWindDirection(double value) {
+        windDirection.set(value);
+    }
+
+    public DoubleProperty windDirectionProperty() {
+        return windDirection;
+    }
+
+    /**
+     * @return The terrain aspect [degrees].
+     */
+    public double getAspect() {
+        return aspect.get();
+    }
+
+    public void setAspect(double value) {
+        aspect.set(value);
+    }
+
+    public DoubleProperty aspectProperty() {
+        return aspect;
+    }
+
+    /**
+     * @return The terrain slope [degrees].
+     */
+    public double getSlope() {
+        return slope.get();
+    }
+
+    public void setSlope(double value) {
+        slope.set(value);
+    }
+
+    public DoubleProperty slopeProperty() {
+        return slope;
+    }
+
+    /**
+     * @return The solar azimuth angle [degrees].
+     */
+    public double getSolarAzimuth() {
+        return solarAzimuth.get();
+    }
+
+    public void setSolarAzimuth(double value) {
+        solarAzimuth.set(value);
+    }
+
+    public DoubleProperty solarAzimuthProperty() {
+        return solarAzimuth;
+    }
+
+    /**
+     * @return The local time of day.
+     */
+    public LocalTime getTime() {
+        return time.get();
+    }
+
+    public void setTime(LocalTime value) {
+        time.set(value);
+    }
+
+    public ObjectProperty<LocalTime> timeProperty() {
+        return time;
+    }
+
+    /**
+     * Tabulating a response surface takes 4368 fire behavior computations
+     * for each fuel model, air temperature and relative humidity. They are
+     * made in parallel in the background, and the fire behavior is computed
+     * directly until the surface is ready.
+     *
+     * @return True if the fire behavior is interpolated from precomputed
+     * response surfaces, where they cover the inputs.
+     */
+    public boolean isPrecompute() {
+        return precompute.get();
+    }
+
+    public void setPrecompute(boolean value) {
+        precompute.set(value);
+    }
+
+    public BooleanProperty precomputeProperty() {
+        return precompute;
+    }
+
 }
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import com.emxsys.wildfirefx.service.WmtRestService.Conditions;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded fire behavior cache for interactive exploration, where inputs
+ * that differ by less than the display precision (e.g., a wind of 10.02 vs
+ * 10.04 mph) should share a result. Each input is quantized to a resolution
+ * and the fire behavior is computed for the quantized inputs, so a slider
+ * swept back and forth over the same range is served from memory.
+ *
+ * The quantized inputs are packed into a single long key:
+ * <pre>
+ * bits  0-5   fuel model (up to 64 models)
+ * bits  6-7   fuel moisture conditions (3 is reserved)
+ * bits  8-16  air temperature (from -60 F)
+ * bits 17-24  relative humidity
+ * bits 25-35  wind speed
+ * bits 36-45  wind direction
+ * bits 46-55  aspect
+ * bits 56-63  slope
+ * </pre>
+ * Inputs that do not fit the key (e.g., a wind speed beyond the range of
+ * its field) bypass the cache and are computed exactly.
+ *
+ * The table is 2-way set associative: a key can only be stored in the two
+ * slots of its set, and the least recently used slot is replaced. This
+ * bounds the size without the per-entry objects of a linked map.
+ *
+ * @author Bruce Schubert
+ */
+public class QuantizedFireBehaviorCache {
+
+    private static final int MODEL_BITS = 6;
+    private static final int MOISTURE_BITS = 2;
+    private static final int TEMPERATURE_BITS = 9;
+    private static final int HUMIDITY_BITS = 8;
+    private static final int WIND_SPEED_BITS = 11;
+    private static final int DIRECTION_BITS = 10;
+    private static final int SLOPE_BITS = 8;
+    private static final double MIN_TEMPERATURE = -60;
+
+    private final double windSpeedResolution;
+    private final double windDirectionResolution;
+    private final double slopeResolution;
+    private final double aspectResolution;
+    private final double temperatureResolution;
+    private final double humidityResolution;
+    private final int directionSteps;
+    private final int aspectSteps;
+
+    private final Map<FuelModel, Integer> modelIds = new IdentityHashMap<>();
+    private final FuelModel[] models = new FuelModel[1 << MODEL_BITS];
+
+    private final int setMask;
+    private final long[] keys;
+    private final FireBehavior[] values;
+    /**
+     * The most recently used way (0 or 1) of each set.
+     */
+    private final byte[] recent;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long bypasses;
+
+    /**
+     * Constructs a cache with the default resolutions: 0.1 mph wind speed,
+     * 1 degree wind direction, slope and aspect, 1 F air temperature and 1%
+     * relative humidity.
+     *
+     * @param capacity The maximum number of results, at least 2; rounded up
+     * to a power of two.
+     */
+    public QuantizedFireBehaviorCache(int capacity) {
+        this(capacity, 0.1, 1, 1, 1, 1, 1);
+    }
+
+    /**
+     * Constructs a cache.
+     *
+     * @param capacity The maximum number of results, at least 2; rounded up
+     * to a power of two.
+     * @param windSpeedResolution [mph]
+     * @param windDirectionResolution [degrees]; at least 360/1024.
+     * @param slopeResolution [degrees]; at least 90/255.
+     * @param aspectResolution [degrees]; at least 360/1024.
+     * @param temperatureResolution [F]
+     * @param humidityResolution [%]; at least 100/255.
+     */
+    public QuantizedFireBehaviorCache(int capacity,
+            double windSpeedResolution, double windDirectionResolution,
+            double slopeResolution, double aspectResolution,
+            double temperatureResolution, double humidityResolution) {
+        if (capacity < 2 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.windSpeedResolution = checkResolution(windSpeedResolution, 0, WIND_SPEED_BITS);
+        this.windDirectionResolution = checkAngleResolution(windDirectionResolution);
+        this.slopeResolution = checkResolution(slopeResolution, 90, SLOPE_BITS);
+        this.aspectResolution = checkAngleResolution(aspectResolution);
+        this.temperatureResolution = checkResolution(temperatureResolution, 0, TEMPERATURE_BITS);
+        this.humidityResolution = checkResolution(humidityResolution, 100, HUMIDITY_BITS);
+        this.directionSteps = (int) Math.round(360 / windDirectionResolution);
+        this.aspectSteps = (int) Math.round(360 / aspectResolution);
+
+        int sets = Integer.highestOneBit(capacity - 1);  // capacity / 2, rounded up
+        this.setMask = sets - 1;
+        this.keys = new long[sets * 2];
+        this.values = new FireBehavior[sets * 2];
+        this.recent = new byte[sets];
+    }
+
+    private static double checkResolution(double resolution, double range, int bits) {
+        if (!(resolution > 0) || range / resolution > (1 << bits) - 1) {
+            throw new IllegalArgumentException("Invalid resolution: " + resolution);
+        }
+        return resolution;
+    }
+
+    /**
+     * Checks an angle resolution; 360 degrees wraps to 0, so the field holds
+     * up to 1024 steps.
+     */
+    private static double checkAngleResolution(double resolution) {
+        if (!(resolution > 0) || Math.round(360 / resolution) > (1 << DIRECTION_BITS)) {
+            throw new IllegalArgumentException("Invalid resolution: " + resolution);
+        }
+        return resolution;
+    }
+
+    /**
+     * Gets the fire behavior for the quantized inputs, computing and caching
+     * it if necessary. The computation runs outside the cache lock.
+     *
+     * @param inputs The inputs.
+     * @param computation Computes the fire behavior for the quantized inputs.
+     * @return The fire behavior.
+     */
+    public FireBehavior get(FireBehaviorInputs inputs, Function<FireBehaviorInputs, FireBehavior> computation) {
+        if (inputs == null || computation == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        long key;
+        synchronized (this) {
+            key = pack(inputs);
+            if (key == -1) {
+                bypasses++;
+            } else {
+                FireBehavior value = lookup(key);
+                if (value != null) {
+                    hits++;
+                    return value;
+                }
+                misses++;
+            }
+        }
+        if (key == -1) {
+            return computation.apply(inputs);
+        }
+        FireBehavior value = computation.apply(unpack(key));
+        if (value != null) {
+            synchronized (this) {
+                store(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Quantizes the inputs to the resolutions of this cache.
+     *
+     * @param inputs The inputs.
+     * @return The quantized inputs, or null if they do not fit the key.
+     */
+    public synchronized FireBehaviorInputs quantize(FireBehaviorInputs inputs) {
+        long key = pack(inputs);
+        return key == -1 ? null : unpack(key);
+    }
+
+    /**
+     * Discards all the results and resets the counters.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = null;
+        }
+        hits = misses = evictions = bypasses = 0;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The number of requests whose inputs did not fit the key.
+     */
+    public synchronized long getBypasses() {
+        return bypasses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "QuantizedFireBehaviorCache{" + hits + " hits, " + misses + " misses, "
+                + evictions + " evictions, " + bypasses + " bypasses}";
+    }
+
+    /**
+     * Packs the quantized inputs into a key.
+     *
+     * @return The key, or -1 if the inputs do not fit. (The key -1 would need
+     * all ones in the moisture field, which is reserved.)
+     */
+    private long pack(FireBehaviorInputs inputs) {
+        int moisture = inputs.getMoistureConditions().ordinal();
+        if (moisture >= (1 << MOISTURE_BITS) - 1) {
+            return -1;
+        }
+        int model = modelId(inputs.getFuelModel());
+        long temperature = quantize(inputs.getAirTemperature() - MIN_TEMPERATURE, temperatureResolution, TEMPERATURE_BITS);
+        long humidity = quantize(inputs.getRelativeHumidity(), humidityResolution, HUMIDITY_BITS);
+        long windSpeed = quantize(inputs.getWindSpeed(), windSpeedResolution, WIND_SPEED_BITS);
+        long slope = quantize(inputs.getSlope(), slopeResolution, SLOPE_BITS);
+        long direction = quantizeAngle(inputs.getWindDirection(), windDirectionResolution, directionSteps);
+        long aspect = quantizeAngle(inputs.getAspect(), aspectResolution, aspectSteps);
+        if (model < 0 || temperature < 0 || humidity < 0 || windSpeed < 0 || slope < 0
+                || direction < 0 || aspect < 0) {
+            return -1;
+        }
+        return model
+                | (long) moisture << 6
+                | temperature << 8
+                | humidity << 17
+                | windSpeed << 25
+                | direction << 36
+                | aspect << 46
+                | slope << 56;
+    }
+
+    private FireBehaviorInputs unpack(long key) {
+        return new FireBehaviorInputs(
+                models[(int) (key & 0x3F)],
+                Conditions.values()[(int) (key >>> 6) & 0x3],
+                ((key >>> 8) & 0x1FF) * temperatureResolution + MIN_TEMPERATURE,
+                ((key >>> 17) & 0xFF) * humidityResolution,
+                ((key >>> 25) & 0x7FF) * windSpeedResolution,
+                ((key >>> 36) & 0x3FF) * windDirectionResolution,
+                ((key >>> 46) & 0x3FF) * aspectResolution,
+                ((key >>> 56) & 0xFF) * slopeResolution);
+    }
+
+    /**
+     * @return The step count, or -1 if the value is out of range.
+     */
+    private static long quantize(double value, double resolution, int bits) {
+        double steps = Math.rint(value / resolution);
+        return steps >= 0 && steps < (1 << bits) ? (long) steps : -1;
+    }
+
+    /**
+     * @return The step count of the angle normalized to [0, 360), or -1 if
+     * the angle is not finite.
+     */
+    private static long quantizeAngle(double degrees, double resolution, int steps) {
+        if (Double.isNaN(degrees) || Double.isInfinite(degrees)) {
+            return -1;
+        }
+        long step = (long) Math.rint(degrees / resolution) % steps;
+        return step < 0 ? step + steps : step;
+    }
+
+    private int modelId(FuelModel model) {
+        Integer id = modelIds.get(model);
+        if (id == null) {
+            if (modelIds.size() == models.length) {
+                return -1;
+            }
+            id = modelIds.size();
+            modelIds.put(model, id);
+            models[id] = model;
+        }
+        return id;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return ((int) (h >>> 32) & setMask) * 2;
+    }
+
+    private FireBehavior lookup(long key) {
+        int slot = slot(key);
+        for (int way = 0; way < 2; way++) {
+            if (values[slot + way] != null && keys[slot + way] == key) {
+                recent[slot / 2] = (byte) way;
+                return values[slot + way];
+            }
+        }
+        return null;
+    }
+
+    private void store(long key, FireBehavior value) {
+        int slot = slot(key);
+        int way;
+        if (values[slot] != null && keys[slot] == key) {
+            way = 0;
+        } else if (values[slot + 1] != null && keys[slot + 1] == key) {
+            way = 1;
+        } else if (values[slot] == null) {
+            way = 0;
+        } else if (values[slot + 1] == null) {
+            way = 1;
+        } else {
+            way = 1 - recent[slot / 2];   // the least recently used
+            evictions++;
+        }
+        keys[slot + way] = key;
+        values[slot + way] = value;
+        recent[slot / 2] = (byte) way;
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.util.List;
+
+/**
+ * A batch evaluation of Rothermel's surface fire spread model for ensembles
+ * and scenario sweeps. The inputs and outputs are columns of primitive
+ * arrays ({@link Columns}), one element per scenario, and the fuel models
+ * are referenced by their index in the list given to the constructor. The
+ * fuel model parameters are converted once, when the kernel is constructed,
+ * and the evaluation does not allocate per element. Large batches are split
+ * across the common fork/join pool.
+ *
+ * The model follows Rothermel (1972) with Albini's (1976) revisions and
+ * Scott and Burgan's (2005) herbaceous fuel transfer for dynamic fuel
+ * models, as in BehavePlus. The fire shape is an ellipse with a
+ * length-to-width ratio of 1 + 0.25 * effective wind speed [mph].
+ *
+ * @author Bruce Schubert
+ */
+public class SurfaceFireKernel {
+
+    // The fuel model size classes
+    private static final int DEAD_1HR = 0;
+    private static final int DEAD_10HR = 1;
+    private static final int DEAD_100HR = 2;
+    private static final int LIVE_HERB = 3;
+    private static final int LIVE_WOODY = 4;
+    private static final int CLASSES = 5;
+
+    /**
+     * The particles of the fuel bed: the dead size classes, the cured
+     * (dead) herbaceous fuel, then the live herbaceous and woody fuel.
+     */
+    private static final int PARTICLES = 6;
+    private static final int DEAD_PARTICLES = 4;
+
+    private static final double PARTICLE_DENSITY = 32;      // [lb/ft3]
+    private static final double TOTAL_SILICA = 0.0555;
+    private static final double MINERAL_DAMPING = 0.174 * Math.pow(0.010, -0.19);
+    private static final double FT_PER_MIN_PER_MPH = 88;
+
+    private final int count;
+    private final double[] loads;       // [lb/ft2]
+    private final double[] savRatios;   // [ft2/ft3]
+    private final double[] depths;      // [ft]
+    private final double[] extinctionMoistures;  // [fraction]
+    private final double[] heatContents;  // [Btu/lb]
+    private final boolean[] dynamic;
+
+    /**
+     * Constructs a kernel for a list of fuel models.
+     *
+     * @param fuelModels The fuel models, referenced by their index in the
+     * fuel model column.
+     */
+    public SurfaceFireKernel(List<FuelModel> fuelModels) {
+        if (fuelModels == null) {
+            throw new IllegalArgumentException("fuelModels is null.");
+        }
+        count = fuelModels.size();
+        loads = new double[count * CLASSES];
+        savRatios = new double[count * CLASSES];
+        depths = new double[count];
+        extinctionMoistures = new double[count];
+        heatContents = new double[count];
+        dynamic = new boolean[count];
+        for (int k = 0; k < count; k++) {
+            FuelModel model = fuelModels.get(k);
+            int base = k * CLASSES;
+            loads[base + DEAD_1HR] = model.getDead1HrFuelLoad();
+            loads[base + DEAD_10HR] = model.getDead10HrFuelLoad();
+            loads[base + DEAD_100HR] = model.getDead100HrFuelLoad();
+            loads[base + LIVE_HERB] = model.getLiveHerbFuelLoad();
+            loads[base + LIVE_WOODY] = model.getLiveWoodyFuelLoad();
+            savRatios[base + DEAD_1HR] = model.getDead1HrSAVRatio();
+            savRatios[base + DEAD_10HR] = model.getDead10HrSAVRatio();
+            savRatios[base + DEAD_100HR] = model.getDead100HrSAVRatio();
+            savRatios[base + LIVE_HERB] = model.getLiveHerbSAVRatio();
+            savRatios[base + LIVE_WOODY] = model.getLiveWoodySAVRatio();
+            depths[k] = model.getFuelBedDepth();
+            extinctionMoistures[k] = model.getMoistureOfExtinction() / 100;
+            heatContents[k] = model.getLowHeatContent() * FuelModel.KJ_PER_KG_TO_BTU_PER_LB;
+            dynamic[k] = model.isDynamic();
+        }
+    }
+
+    /**
+     * @return The number of fuel models.
+     */
+    public int getFuelModelCount() {
+        return count;
+    }
+
+    /**
+     * Computes the output columns from the input columns.
+     *
+     * @param columns The inputs and outputs.
+     * @param parallel True to split large batches across the common
+     * fork/join pool.
+     */
+    public void compute(Columns columns, boolean parallel) {
+        if (columns == null) {
+            throw new IllegalArgumentException("columns is null.");
+        }
+        for (int i = 0; i < columns.size; i++) {
+            if (columns.fuelModel[i] < 0 || columns.fuelModel[i] >= count) {
+                throw new IllegalArgumentException("Invalid fuel model index at " + i + ": " + columns.fuelModel[i]);
+            }
+        }
+        FireBehaviorUtil.forEachRange(columns.size, parallel, (from, to) -> compute(columns, from, to));
+    }
+
+    private void compute(Columns c, int from, int to) {
+        // Scratch space for the particles, reused for each element
+        double[] load = new double[PARTICLES];
+        double[] sav = new double[PARTICLES];
+        double[] moisture = new double[PARTICLES];
+        double[] area = new double[PARTICLES];
+
+        for (int i = from; i < to; i++) {
+            int k = c.fuelModel[i];
+            int base = k * CLASSES;
+
+            // Transfer the cured fraction of the herbaceous fuel to dead fuel
+            double herb = loads[base + LIVE_HERB];
+            double cured = 0;
+            if (dynamic[k]) {
+                cured = Math.max(0, Math.min(1, (120 - c.liveHerbMoisture[i]) / 90));
+            }
+            load[0] = loads[base + DEAD_1HR];
+            load[1] = loads[base + DEAD_10HR];
+            load[2] = loads[base + DEAD_100HR];
+            load[3] = herb * cured;
+            load[4] = herb * (1 - cured);
+            load[5] = loads[base + LIVE_WOODY];
+            sav[0] = savRatios[base + DEAD_1HR];
+            sav[1] = savRatios[base + DEAD_10HR];
+            sav[2] = savRatios[base + DEAD_100HR];
+            sav[3] = savRatios[base + LIVE_HERB];
+            sav[4] = savRatios[base + LIVE_HERB];
+            sav[5] = savRatios[base + LIVE_WOODY];
+            moisture[0] = c.dead1HrMoisture[i] / 100;
+            moisture[1] = c.dead10HrMoisture[i] / 100;
+            moisture[2] = c.dead100HrMoisture[i] / 100;
+            moisture[3] = c.dead1HrMoisture[i] / 100;
+            moisture[4] = c.liveHerbMoisture[i] / 100;
+            moisture[5] = c.liveWoodyMoisture[i] / 100;
+
+            // The surface area of each particle and category
+            double deadArea = 0;
+            double liveArea = 0;
+            double totalLoad = 0;
+            for (int p = 0; p < PARTICLES; p++) {
+                area[p] = (load[p] > 0 && sav[p] > 0) ? load[p] * sav[p] / PARTICLE_DENSITY : 0;
+                if (p < DEAD_PARTICLES) {
+                    deadArea += area[p];
+                } else {
+                    liveArea += area[p];
+                }
+                totalLoad += load[p];
+            }
+            double totalArea = deadArea + liveArea;
+            if (totalArea <= 0 || depths[k] <= 0) {
+                setUnburnable(c, i);
+                continue;
+            }
+
+            // The area-weighted SAV ratio, net load and moisture of each
+            // category; the fine fuel loads for the live moisture of extinction
+            double deadSav = 0, deadNetLoad = 0, deadMoisture = 0;
+            double liveSav = 0, liveNetLoad = 0, liveMoisture = 0;
+            double fineDead = 0, fineDeadWater = 0, fineLive = 0;
+            double heatSink = 0;
+            for (int p = 0; p < PARTICLES; p++) {
+                if (area[p] == 0) {
+                    continue;
+                }
+                double heating = Math.exp(-138 / sav[p]);
+                heatSink += area[p] / totalArea * heating * (250 + 1116 * moisture[p]);
+                if (p < DEAD_PARTICLES) {
+                    double f = area[p] / deadArea;
+                    deadSav += f * sav[p];
+                    deadNetLoad += f * load[p] * (1 - TOTAL_SILICA);
+                    deadMoisture += f * moisture[p];
+                    fineDead += load[p] * heating;
+                    fineDeadWater += load[p] * heating * moisture[p];
+                } else {
+                    double f = area[p] / liveArea;
+                    liveSav += f * sav[p];
+                    liveNetLoad += f * load[p] * (1 - TOTAL_SILICA);
+                    liveMoisture += f * moisture[p];
+                    fineLive += load[p] * Math.exp(-500 / sav[p]);
+                }
+            }
+            double sigma = (deadArea * deadSav + liveArea * liveSav) / totalArea;
+            double bulkDensity = totalLoad / depths[k];
+            heatSink *= bulkDensity;
+
+            // Reaction intensity
+            double packingRatio = bulkDensity / PARTICLE_DENSITY;
+            double optimumRatio = 3.348 * Math.pow(sigma, -0.8189);
+            double relativeRatio = packingRatio / optimumRatio;
+            double sigma15 = Math.pow(sigma, 1.5);
+            double a = 133 * Math.pow(sigma, -0.7913);
+            double reactionVelocity = sigma15 / (495 + 0.0594 * sigma15)
+                    * Math.pow(relativeRatio, a) * Math.exp(a * (1 - relativeRatio));
+            double deadExtinction = extinctionMoistures[k];
+            double liveExtinction = deadExtinction;
+            if (fineLive > 0 && fineDead > 0) {
+                liveExtinction = Math.max(deadExtinction,
+                        2.9 * (fineDead / fineLive) * (1 - fineDeadWater / fineDead / deadExtinction) - 0.226);
+            }
+            double reactionIntensity = reactionVelocity * heatContents[k] * MINERAL_DAMPING
+                    * (deadNetLoad * moistureDamping(deadMoisture, deadExtinction)
+                    + liveNetLoad * moistureDamping(liveMoisture, liveExtinction));
+            if (reactionIntensity <= 0 || heatSink <= 0) {
+                setUnburnable(c, i);
+                continue;
+            }
+
+            // No-wind, no-slope rate of spread
+            double fluxRatio = Math.exp((0.792 + 0.681 * Math.sqrt(sigma)) * (packingRatio + 0.1))
+                    / (192 + 0.2595 * sigma);
+            double ros0 = reactionIntensity * fluxRatio / heatSink;
+
+            // Wind and slope factors, combined as vectors in the directions
+            // of the wind (to) and upslope
+            double windC = 7.47 * Math.exp(-0.133 * Math.pow(sigma, 0.55));
+            double windB = 0.02526 * Math.pow(sigma, 0.54);
+            double windE = 0.715 * Math.exp(-3.59e-4 * sigma);
+            double windK = windC * Math.pow(relativeRatio, -windE);
+            double windSpeed = c.midflameWindSpeed[i] * FT_PER_MIN_PER_MPH;
+            double phiWind = windSpeed > 0 ? windK * Math.pow(windSpeed, windB) : 0;
+            double tanSlope = Math.tan(Math.toRadians(c.slope[i]));
+            double phiSlope = 5.275 * Math.pow(packingRatio, -0.3) * tanSlope * tanSlope;
+            double windTo = Math.toRadians(c.windDirection[i] + 180);
+            double upslope = Math.toRadians(c.aspect[i] + 180);
+            double x = phiWind * Math.sin(windTo) + phiSlope * Math.sin(upslope);
+            double y = phiWind * Math.cos(windTo) + phiSlope * Math.cos(upslope);
+            double phiEffective = Math.sqrt(x * x + y * y);
+
+            // The effective wind speed, limited to 0.9 * reaction intensity
+            double effectiveWind = phiEffective > 0 ? Math.pow(phiEffective / windK, 1 / windB) : 0;
+            double maxWind = 0.9 * reactionIntensity;
+            if (effectiveWind > maxWind) {
+                effectiveWind = maxWind;
+                phiEffective = windK * Math.pow(effectiveWind, windB);
+            }
+            double rosMax = ros0 * (1 + phiEffective);
+
+            // Elliptical fire shape
+            double lengthToWidth = 1 + 0.25 * effectiveWind / FT_PER_MIN_PER_MPH;
+            double eccentricity = Math.sqrt(lengthToWidth * lengthToWidth - 1) / lengthToWidth;
+            double rosFlanking = rosMax * (1 - eccentricity);
+
+            double heatRelease = reactionIntensity * 384 / sigma;
+            double intensity = FireBehaviorUtil.computeFirelineIntensity(heatRelease, rosMax);
+            c.rateOfSpreadMax[i] = rosMax;
+            c.rateOfSpreadFlanking[i] = rosFlanking;
+            c.rateOfSpreadBacking[i] = rosFlanking / (1 + eccentricity);
+            c.heatRelease[i] = heatRelease;
+            c.firelineIntensity[i] = intensity;
+            c.flameLength[i] = 0.45 * FireBehaviorUtil.fastPow046(intensity);
+            c.reactionIntensity[i] = reactionIntensity;
+            c.rateOfSpreadNoWindNoSlope[i] = ros0;
+            c.effectiveWindSpeed[i] = effectiveWind / FT_PER_MIN_PER_MPH;
+        }
+    }
+
+    private static double moistureDamping(double moisture, double extinction) {
+        double r = moisture / extinction;
+        if (r >= 1) {
+            return 0;
+        }
+        return 1 - r * (2.59 - r * (5.11 - r * 3.52));
+    }
+
+    private static void setUnburnable(Columns c, int i) {
+        c.rateOfSpreadMax[i] = 0;
+        c.rateOfSpreadFlanking[i] = 0;
+        c.rateOfSpreadBacking[i] = 0;
+        c.heatRelease[i] = 0;
+        c.firelineIntensity[i] = 0;
+        c.flameLength[i] = 0;
+        c.reactionIntensity[i] = 0;
+        c.rateOfSpreadNoWindNoSlope[i] = 0;
+        c.effectiveWindSpeed[i] = 0;
+    }
+
+    /**
+     * The input and output columns of a batch. The columns are allocated
+     * once and may be reused for successive batches of the same size.
+     */
+    public static class Columns {
+
+        public final int size;
+
+        // Inputs
+        /**
+         * The index of the fuel model in the kernel's list.
+         */
+        public final int[] fuelModel;
+        /**
+         * [%]
+         */
+        public final double[] dead1HrMoisture;
+        public final double[] dead10HrMoisture;
+        public final double[] dead100HrMoisture;
+        public final double[] liveHerbMoisture;
+        public final double[] liveWoodyMoisture;
+        /**
+         * [mph]
+         */
+        public final double[] midflameWindSpeed;
+        /**
+         * The direction the wind is from [degrees].
+         */
+        public final double[] windDirection;
+        /**
+         * [degrees]
+         */
+        public final double[] slope;
+        /**
+         * The direction the slope faces [degrees].
+         */
+        public final double[] aspect;
+
+        // Outputs
+        /**
+         * [ft/min]
+         */
+        public final double[] rateOfSpreadMax;
+        public final double[] rateOfSpreadFlanking;
+        public final double[] rateOfSpreadBacking;
+        public final double[] rateOfSpreadNoWindNoSlope;
+        /**
+         * [Btu/ft/s]
+         */
+        public final double[] firelineIntensity;
+        /**
+         * [ft]
+         */
+        public final double[] flameLength;
+        /**
+         * The heat per unit area [Btu/ft2].
+         */
+        public final double[] heatRelease;
+        /**
+         * [Btu/ft2/min]
+         */
+        public final double[] reactionIntensity;
+        /**
+         * [mph]
+         */
+        public final double[] effectiveWindSpeed;
+
+        /**
+         * Allocates the columns.
+         *
+         * @param size The number of elements.
+         */
+        public Columns(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("Invalid size: " + size);
+            }
+            this.size = size;
+            fuelModel = new int[size];
+            dead1HrMoisture = new double[size];
+            dead10HrMoisture = new double[size];
+            dead100HrMoisture = new double[size];
+            liveHerbMoisture = new double[size];
+            liveWoodyMoisture = new double[size];
+            midflameWindSpeed = new double[size];
+            windDirection = new double[size];
+            slope = new double[size];
+            aspect = new double[size];
+            rateOfSpreadMax = new double[size];
+            rateOfSpreadFlanking = new double[size];
+            rateOfSpreadBacking = new double[size];
+            rateOfSpreadNoWindNoSlope = new double[size];
+            firelineIntensity = new double[size];
+            flameLength = new double[size];
+            heatRelease = new double[size];
+            reactionIntensity = new double[size];
+            effectiveWindSpeed = new double[size];
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import com.emxsys.wildfirefx.service.WmtRestService.Conditions;
+import java.util.Collections;
+import java.util.function.Function;
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * Computes the fire behavior of a fuel model locally with a
+ * {@link SurfaceFireKernel}, for tabulating a {@link FireBehaviorSurface}
+ * without a server request per grid node.
+ *
+ * The kernel is calibrated by one reference computation per moisture class
+ * (e.g., with the WMT-REST server), at a 10 mph wind on flat ground: the
+ * reference supplies the conditioned fuel moistures and fuel bed, and its
+ * effective wind speed gives the fuel model's wind adjustment factor, which
+ * converts the wind speed to the kernel's midflame wind speed. The air
+ * temperature and relative humidity are fixed, as for a surface.
+ *
+ * The computation is thread-safe once constructed.
+ *
+ * @author Bruce Schubert
+ */
+public class SurfaceKernelComputation implements Function<FireBehaviorInputs, FireBehavior> {
+
+    private static final double REFERENCE_WIND_SPEED = 10;  // [mph]
+
+    private static final Conditions[] CONDITIONS = Conditions.values();
+
+    private final FuelModel fuelModel;
+    private final SurfaceFireKernel kernel;
+    private final double windAdjustment;
+    private final JsonObject[] fuelBeds = new JsonObject[CONDITIONS.length];
+    private final FuelMoisture[] fuelMoistures = new FuelMoisture[CONDITIONS.length];
+
+    /**
+     * Calibrates the kernel with a reference computation for each moisture
+     * class.
+     *
+     * @param fuelModel The fuel model.
+     * @param airTemperature [F]
+     * @param relativeHumidity [%]
+     * @param reference Computes the reference fire behavior.
+     */
+    public SurfaceKernelComputation(FuelModel fuelModel, double airTemperature, double relativeHumidity,
+            Function<FireBehaviorInputs, FireBehavior> reference) {
+        if (fuelModel == null || reference == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        this.fuelModel = fuelModel;
+        this.kernel = new SurfaceFireKernel(Collections.singletonList(fuelModel));
+
+        // The wind adjustment factor depends on the fuel model only, but a
+        // moisture class may not burn (no effective wind)
+        double adjustment = 0;
+        for (Conditions conditions : CONDITIONS) {
+            FireBehavior fire = reference.apply(new FireBehaviorInputs(fuelModel, conditions,
+                    airTemperature, relativeHumidity, REFERENCE_WIND_SPEED, 0, 0, 0));
+            JsonObject fuelBed = fire.getJsonObject().getJsonObject("fuelBed");
+            fuelBeds[conditions.ordinal()] = fuelBed;
+            fuelMoistures[conditions.ordinal()] = new FuelBed(fuelBed).getFuelMoisture();
+            adjustment = Math.max(adjustment, fire.getEffectiveWindSpeed() / REFERENCE_WIND_SPEED);
+        }
+        this.windAdjustment = adjustment > 0 ? adjustment : 1;
+    }
+
+    public FuelModel getFuelModel() {
+        return fuelModel;
+    }
+
+    /**
+     * @return The ratio of the midflame wind speed to the wind speed.
+     */
+    public double getWindAdjustment() {
+        return windAdjustment;
+    }
+
+    /**
+     * Computes the fire behavior with the kernel. The fuel model, air
+     * temperature and relative humidity of the inputs are ignored.
+     *
+     * @param inputs The inputs.
+     * @return The fire behavior, with the values read by the FireBehavior
+     * getters.
+     */
+    @Override
+    public FireBehavior apply(FireBehaviorInputs inputs) {
+        int c = inputs.getMoistureConditions().ordinal();
+        FuelMoisture moisture = fuelMoistures[c];
+        SurfaceFireKernel.Columns columns = new SurfaceFireKernel.Columns(1);
+        columns.dead1HrMoisture[0] = moisture.getDead1HrFuelMoisture();
+        columns.dead10HrMoisture[0] = moisture.getDead10HrFuelMoisture();
+        columns.dead100HrMoisture[0] = moisture.getDead100HrFuelMoisture();
+        columns.liveHerbMoisture[0] = moisture.getLiveHerbFuelMoisture();
+        columns.liveWoodyMoisture[0] = moisture.getLiveWoodyFuelMoisture();
+        columns.midflameWindSpeed[0] = inputs.getWindSpeed() * windAdjustment;
+        columns.windDirection[0] = inputs.getWindDirection();
+        columns.aspect[0] = inputs.getAspect();
+        columns.slope[0] = inputs.getSlope();
+        kernel.compute(columns, false);
+        return new FireBehavior(Json.createObjectBuilder()
+                .add("effectiveWindSpeed", value("wind_speed:mph", columns.effectiveWindSpeed[0]))
+                .add("firelineIntensity", value("fire_line_intensity:Btu/ft/s", columns.firelineIntensity[0]))
+                .add("flameLength", value("flame_length:ft", columns.flameLength[0]))
+                .add("fuelBed", fuelBeds[c])
+                .add("rateOfSpreadBacking", value("rate_of_spread:ft/min", columns.rateOfSpreadBacking[0]))
+                .add("rateOfSpreadFlanking", value("rate_of_spread:ft/min", columns.rateOfSpreadFlanking[0]))
+                .add("rateOfSpreadMax", value("rate_of_spread:ft/min", columns.rateOfSpreadMax[0]))
+                .build());
+    }
+
+    private static JsonObject value(String type, double value) {
+        return Json.createObjectBuilder()
+                .add("type", type)
+                .add("value", Double.toString(value))
+                .build();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.presentation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import javafx.animation.AnimationTimer;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ObservableNumberValue;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * A bridge from model properties to a view that coalesces bursts of property
+ * changes into at most one update per animation frame. Use it when a
+ * property can change many times per frame (e.g., while dragging a slider)
+ * and each update is expensive (e.g., redrawing a chart).
+ *
+ * A bound target is called on the next frame after its property changes,
+ * with the latest value, and only if the value differs from the last value
+ * applied by at least the given precision. The animation timer runs only
+ * while there are pending changes.
+ *
+ * All methods must be called on the JavaFX Application Thread, and the
+ * properties must be changed on it.
+ *
+ * @author Bruce Schubert
+ */
+public class FrameThrottle {
+
+    private final List<Binding> bindings = new ArrayList<>();
+    private final AnimationTimer timer;
+    private boolean running;
+
+    /**
+     * Constructs a throttle that applies the changes on the next animation
+     * frame.
+     */
+    public FrameThrottle() {
+        this(true);
+    }
+
+    /**
+     * Constructs a throttle.
+     *
+     * @param animated False to leave the changes pending until
+     * {@link #flush} is called, without an animation timer (for testing).
+     */
+    FrameThrottle(boolean animated) {
+        this.timer = !animated ? null : new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                flush();
+            }
+        };
+    }
+
+    /**
+     * Binds a number property to a target. The target is called immediately
+     * with the current value.
+     *
+     * @param value The property to observe.
+     * @param precision Changes smaller than this are ignored (e.g., 0.5 for
+     * a value displayed as a whole number); 0 to apply every change.
+     * @param target Receives the latest value.
+     */
+    public void bind(ObservableNumberValue value, double precision, DoubleConsumer target) {
+        if (value == null || target == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        if (precision < 0) {
+            throw new IllegalArgumentException("Invalid precision: " + precision);
+        }
+        add(new NumberBinding(value, precision, target));
+    }
+
+    /**
+     * Binds an object property to a target. The target is called immediately
+     * with the current value. Changes to an equal value are ignored, so
+     * values may be reduced to the display precision first (e.g., with
+     * {@link javafx.beans.binding.Bindings#createObjectBinding}).
+     *
+     * @param <T> The value type.
+     * @param value The property to observe.
+     * @param target Receives the latest value.
+     */
+    public <T> void bind(ObservableValue<T> value, Consumer<T> target) {
+        if (value == null || target == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        add(new ObjectBinding<>(value, target));
+    }
+
+    /**
+     * Removes all the bindings and stops the timer. Pending changes are
+     * discarded.
+     */
+    public void dispose() {
+        bindings.forEach(Binding::unbind);
+        bindings.clear();
+        if (timer != null) {
+            timer.stop();
+        }
+        running = false;
+    }
+
+    private void add(Binding binding) {
+        bindings.add(binding);
+        binding.apply();
+    }
+
+    private void schedule() {
+        if (!running) {
+            running = true;
+            if (timer != null) {
+                timer.start();
+            }
+        }
+    }
+
+    /**
+     * Applies the pending changes and stops the timer.
+     */
+    void flush() {
+        if (timer != null) {
+            timer.stop();
+        }
+        running = false;
+        for (Binding binding : bindings) {
+            if (binding.dirty) {
+                binding.dirty = false;
+                binding.apply();
+            }
+        }
+    }
+
+    private abstract class Binding implements InvalidationListener {
+
+        private final Observable observable;
+        boolean dirty;
+
+        Binding(Observable observable) {
+            this.observable = observable;
+            observable.addListener(this);
+        }
+
+        @Override
+        public void invalidated(Observable observable) {
+            dirty = true;
+            schedule();
+        }
+
+        void unbind() {
+            observable.removeListener(this);
+        }
+
+        /**
+         * Reads the current value (which validates the observable) and
+         * passes it to the target if it has changed.
+         */
+        abstract void apply();
+    }
+
+    private class NumberBinding extends Binding {
+
+        private final ObservableNumberValue value;
+        private final double precision;
+        private final DoubleConsumer target;
+        private double applied = Double.NaN;
+
+        NumberBinding(ObservableNumberValue value, double precision, DoubleConsumer target) {
+            super(value);
+            this.value = value;
+            this.precision = precision;
+            this.target = target;
+        }
+
+        @Override
+        void apply() {
+            double current = value.doubleValue();
+            if (current == applied || Math.abs(current - applied) < precision) {
+                return;
+            }
+            applied = current;
+            target.accept(current);
+        }
+    }
+
+    private class ObjectBinding<T> extends Binding {
+
+        private final ObservableValue<T> value;
+        private final Consumer<T> target;
+        private T applied;
+        private boolean initialized;
+
+        ObjectBinding(ObservableValue<T> value, Consumer<T> target) {
+            super(value);
+            this.value = value;
+            this.target = target;
+        }
+
+        @Override
+        void apply() {
+            T current = value.getValue();
+            if (initialized && Objects.equals(current, applied)) {
+                return;
+            }
+            initialized = true;
+            applied = current;
+            target.accept(current);
+        }
+    }
+}
@@ -35,12 +35,18 @@ import com.emxsys.jfree.WindDirChart;
 import com.emxsys.wildfirefx.WildfireFxApp;
 import com.emxsys.wildfirefx.model.Model;
 import com.emxsys.wildfirefx.presentation.FXMLController;
+import com.emxsys.wildfirefx.presentation.FrameThrottle;
 import org.jfree.chart.fx.ChartViewer;
+import org.jfree.chart.fx.RenderingInfoPolicy;
 import java.net.URL;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ResourceBundle;
+import javafx.beans.binding.Bindings;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.layout.AnchorPane;
+import org.jfree.chart.JFreeChart;
 
 /**
  *
@@ -59,14 +65,58 @@ public class ForcesController extends FXMLController<Model, ForcesView> implemen
     private final WindDirChart windChart = new WindDirChart("Wind");
     private final AspectChart terrainChart = new AspectChart("Aspect");
 
+    /**
+     * Updates the charts at most once per frame from the model.
+     */
+    private final FrameThrottle throttle = new FrameThrottle();
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         setModel(WildfireFxApp.getModel());
 
-        solarPane.getChildren().add(fitToParent(new ChartViewer(solarChart)));
-        windPane.getChildren().add(fitToParent(new ChartViewer(windChart)));
-        terrainPane.getChildren().add(fitToParent(new ChartViewer(terrainChart)));
+        solarPane.getChildren().add(fitToParent(createViewer(solarChart)));
+        windPane.getChildren().add(fitToParent(createViewer(windChart)));
+        terrainPane.getChildren().add(fitToParent(createViewer(terrainChart)));
+
+        bindCharts(getModel());
+    }
+
+    /**
+     * Binds the charts to the model's wind, terrain and solar inputs. The
+     * needles are drawn at whole degrees and the clock at whole minutes, so
+     * smaller changes do not redraw the charts.
+     *
+     * @param model The model to observe.
+     */
+    private void bindCharts(Model model) {
+        throttle.bind(model.windDirectionProperty(), 0.5, windChart::setWindDirection);
+        throttle.bind(model.aspectProperty(), 0.5, terrainChart::setAspect);
+        throttle.bind(model.solarAzimuthProperty(), 0.5, solarChart::setAzimuthAngle);
+        throttle.bind(Bindings.createObjectBinding(() -> {
+            LocalTime time = model.getTime();
+            return time == null ? null : time.truncatedTo(ChronoUnit.MINUTES);
+        }, model.timeProperty()), time -> {
+            if (time != null) {
+                solarChart.setClockTime(time);
+            }
+        });
+    }
 
+    /**
+     * Creates a viewer for a display-only chart. The compass charts have no
+     * tooltips or mouse interaction, so no rendering info is collected. Their
+     * needles draw the same cached outlines until the plot is resized, so
+     * the path commands are cached too.
+     *
+     * @param chart The chart to display.
+     * @return A new ChartViewer.
+     */
+    private static ChartViewer createViewer(JFreeChart chart) {
+        ChartViewer viewer = new ChartViewer(chart);
+        viewer.setTooltipEnabled(false);
+        viewer.setRenderingInfoPolicy(RenderingInfoPolicy.NONE);
+        viewer.setPathCacheEnabled(true);
+        return viewer;
     }
 
 }
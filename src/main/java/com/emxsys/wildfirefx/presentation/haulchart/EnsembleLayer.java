@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.presentation.haulchart;
+
+import com.emxsys.chart.extension.XYAnnotation;
+import java.util.Arrays;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.chart.ValueAxis;
+import javafx.scene.paint.Color;
+
+/**
+ * A scatter plot layer drawn on a single Canvas. Use it to overlay thousands
+ * of points (e.g., an ensemble of fuel models or a weather sweep) on an
+ * XYChart, where a Node per point would be far too slow.
+ *
+ * Each point has an x, y and intensity value; the intensity selects the fill
+ * color from a stepped color scale. The canvas is redrawn only when the
+ * points, the color scale, or the axis bounds or size change.
+ *
+ * @author Bruce Schubert
+ */
+public class EnsembleLayer implements XYAnnotation {
+
+    private final Canvas canvas = new Canvas();
+
+    private double[] xValues = new double[0];
+    private double[] yValues = new double[0];
+    private double[] intensities = new double[0];
+    private byte[] colorIndices = new byte[0];
+    private int count;
+    private double[] thresholds;
+    private Color[] colors;
+    private double radius = 3.0;
+    private Color outline = Color.rgb(64, 64, 64, 0.8);
+
+    /**
+     * Incremented whenever the points or their appearance change.
+     */
+    private long version;
+
+    // The state at the last redraw
+    private long drawnVersion = -1;
+    private double drawnWidth;
+    private double drawnHeight;
+    private double drawnXLower;
+    private double drawnXUpper;
+    private double drawnYLower;
+    private double drawnYUpper;
+
+    // The axes from the last layout pass, used to redraw on a data change
+    private ValueAxis<?> xAxis;
+    private ValueAxis<?> yAxis;
+
+    /**
+     * Constructs an empty layer with a single color.
+     */
+    public EnsembleLayer() {
+        this(new double[0], new Color[]{Color.BLACK});
+    }
+
+    /**
+     * Constructs an empty layer.
+     *
+     * @param thresholds The ascending intensity thresholds between the colors.
+     * @param colors The colors; one more than the number of thresholds.
+     */
+    public EnsembleLayer(double[] thresholds, Color[] colors) {
+        canvas.setMouseTransparent(true);
+        setColorScale(thresholds, colors);
+    }
+
+    @Override
+    public Node getNode() {
+        return canvas;
+    }
+
+    /**
+     * Sets the stepped color scale: intensities below thresholds[0] use
+     * colors[0], intensities from thresholds[i-1] up to thresholds[i] use
+     * colors[i], and so on.
+     *
+     * @param thresholds The ascending intensity thresholds between the colors.
+     * @param colors The colors; one more than the number of thresholds.
+     */
+    public final void setColorScale(double[] thresholds, Color[] colors) {
+        if (thresholds == null || colors == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        if (colors.length != thresholds.length + 1 || colors.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("There must be one more color than thresholds.");
+        }
+        this.thresholds = thresholds.clone();
+        this.colors = colors.clone();
+        for (int i = 0; i < count; i++) {
+            colorIndices[i] = colorIndex(intensities[i]);
+        }
+        changed();
+    }
+
+    /**
+     * Sets the points, replacing any existing points. The arrays are copied.
+     *
+     * @param x The x values.
+     * @param y The y values.
+     * @param intensity The intensity values used to color the points.
+     * @param length The number of points to use from the arrays.
+     */
+    public void setPoints(double[] x, double[] y, double[] intensity, int length) {
+        if (x == null || y == null || intensity == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        if (length < 0 || length > x.length || length > y.length || length > intensity.length) {
+            throw new IllegalArgumentException("Invalid length: " + length);
+        }
+        if (xValues.length < length) {
+            xValues = new double[length];
+            yValues = new double[length];
+            intensities = new double[length];
+            colorIndices = new byte[length];
+        }
+        System.arraycopy(x, 0, xValues, 0, length);
+        System.arraycopy(y, 0, yValues, 0, length);
+        System.arraycopy(intensity, 0, intensities, 0, length);
+        for (int i = 0; i < length; i++) {
+            colorIndices[i] = colorIndex(intensity[i]);
+        }
+        count = length;
+        changed();
+    }
+
+    /**
+     * Removes all the points.
+     */
+    public void clear() {
+        count = 0;
+        changed();
+    }
+
+    /**
+     * @return The number of points.
+     */
+    public int getPointCount() {
+        return count;
+    }
+
+    /**
+     * Sets the radius of the point symbols.
+     *
+     * @param radius The radius in pixels.
+     */
+    public void setRadius(double radius) {
+        this.radius = radius;
+        changed();
+    }
+
+    /**
+     * Sets the outline color of the point symbols.
+     *
+     * @param outline The outline color; null for no outline.
+     */
+    public void setOutline(Color outline) {
+        this.outline = outline;
+        changed();
+    }
+
+    @Override
+    public void layoutAnnotation(ValueAxis xAxis, ValueAxis yAxis) {
+        this.xAxis = xAxis;
+        this.yAxis = yAxis;
+        redraw();
+    }
+
+    private void changed() {
+        version++;
+        if (xAxis != null) {
+            redraw();
+        }
+    }
+
+    /**
+     * Redraws the canvas if the points or the axes have changed since the
+     * last redraw.
+     */
+    @SuppressWarnings("unchecked")
+    private void redraw() {
+        double width = xAxis.getWidth();
+        double height = yAxis.getHeight();
+        if (version == drawnVersion
+                && width == drawnWidth && height == drawnHeight
+                && xAxis.getLowerBound() == drawnXLower && xAxis.getUpperBound() == drawnXUpper
+                && yAxis.getLowerBound() == drawnYLower && yAxis.getUpperBound() == drawnYUpper) {
+            return;
+        }
+        drawnVersion = version;
+        drawnWidth = width;
+        drawnHeight = height;
+        drawnXLower = xAxis.getLowerBound();
+        drawnXUpper = xAxis.getUpperBound();
+        drawnYLower = yAxis.getLowerBound();
+        drawnYUpper = yAxis.getUpperBound();
+
+        canvas.setWidth(width);
+        canvas.setHeight(height);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+        if (count == 0) {
+            return;
+        }
+        // Convert to display coordinates once, then draw the points grouped
+        // by color to minimize the graphics state changes
+        ValueAxis<Number> xNum = (ValueAxis<Number>) xAxis;
+        ValueAxis<Number> yNum = (ValueAxis<Number>) yAxis;
+        double[] px = new double[count];
+        double[] py = new double[count];
+        for (int i = 0; i < count; i++) {
+            px[i] = xNum.getDisplayPosition(xValues[i]);
+            py[i] = yNum.getDisplayPosition(yValues[i]);
+        }
+        double diameter = radius * 2;
+        if (outline != null) {
+            gc.setStroke(outline);
+            gc.setLineWidth(1.0);
+        }
+        for (int c = 0; c < colors.length; c++) {
+            gc.setFill(colors[c]);
+            for (int i = 0; i < count; i++) {
+                if (colorIndices[i] != c || !isVisible(px[i], py[i], width, height)) {
+                    continue;
+                }
+                gc.fillOval(px[i] - radius, py[i] - radius, diameter, diameter);
+                if (outline != null) {
+                    gc.strokeOval(px[i] - radius, py[i] - radius, diameter, diameter);
+                }
+            }
+        }
+    }
+
+    private boolean isVisible(double x, double y, double width, double height) {
+        return x >= -radius && y >= -radius && x <= width + radius && y <= height + radius;
+    }
+
+    private byte colorIndex(double intensity) {
+        if (Double.isNaN(intensity)) {
+            return 0;
+        }
+        int i = Arrays.binarySearch(thresholds, intensity);
+        // An intensity equal to a threshold belongs to the upper color
+        return (byte) (i >= 0 ? i + 1 : -(i + 1));
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.presentation.haulchart;
+
+import com.emxsys.chart.extension.XYAnnotation;
+import com.emxsys.wildfirefx.model.FireBehaviorUtil;
+import static com.emxsys.wildfirefx.presentation.haulchart.JavaFxHaulChartView.FL_THRESHOLD_ACTIVE_TO_VERY_ACTIVE;
+import static com.emxsys.wildfirefx.presentation.haulchart.JavaFxHaulChartView.FL_THRESHOLD_LOW_TO_MODERATE;
+import static com.emxsys.wildfirefx.presentation.haulchart.JavaFxHaulChartView.FL_THRESHOLD_MODERATE_TO_ACTIVE;
+import static com.emxsys.wildfirefx.presentation.haulchart.JavaFxHaulChartView.FL_THRESHOLD_VERY_ACTIVE_TO_EXTREME;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.VPos;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.chart.ValueAxis;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Shape;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * The static background of the JavaFX "Haul Chart": the fire behavior
+ * threshold regions, the flame length divisions and labels, and the fire
+ * behavior images. The geometry is computed once in data coordinates and
+ * rasterized into a single Canvas, which is redrawn only when the axis bounds
+ * or the plot size change.
+ *
+ * The tooltip for the fire behavior region under the mouse is computed from
+ * the flame length at the mouse location.
+ *
+ * The colors, opacities, line width and font are styled by the chart's
+ * stylesheet, with the style classes of the annotations that the background
+ * replaces (e.g., "chart-annotation-polygon low-fire-behavior"). They are
+ * read from invisible style nodes, and the canvas is redrawn when they
+ * change.
+ *
+ * @author Bruce Schubert
+ */
+class HaulChartBackground implements XYAnnotation {
+
+    private static final String TOOLTIP_LOW
+            = "LOW: Fire will burn and will spread however \n"
+            + "it presents very little resistance to \n"
+            + "control and direct attack with \n"
+            + "firefighters is possible ";
+    private static final String TOOLTIP_MODERATE
+            = "MODERATE : Fire spreads rapidly presenting \n"
+            + "moderate resistance to control but can \n"
+            + "be countered with direct attack by \n"
+            + "firefighters ";
+    private static final String TOOLTIP_ACTIVE
+            = "ACTIVE: Fire spreads very rapidly presenting\n"
+            + "substantial resistance to control.\n"
+            + "Direct attack with firefighters must be \n"
+            + "supplemented with equipment and/or \n"
+            + "air support. ";
+    private static final String TOOLTIP_VERY_ACTIVE
+            = "VERY ACTIVE: Fire spreads very rapidly\n"
+            + "presenting extreme resistance to control.\n"
+            + "Indirect attack may be effective. Safety of \n"
+            + "firefighters in the area becomes a concern. ";
+    private static final String TOOLTIP_EXTREME
+            = "EXTREME: Fire spreads very rapidly\n"
+            + "presenting extreme resistance to control.\n"
+            + "extreme resistance to control.  Any \n"
+            + "form of attack will probably not be \n"
+            + "effective.  Safety of firefighters in the \n"
+            + "area is of critical concern. ";
+
+    /**
+     * A polygon in data coordinates, drawn with the style of a shape.
+     */
+    private static final class Region {
+
+        final double[] xy;
+        final Shape style;
+
+        Region(double[] xy, Shape style) {
+            this.xy = xy;
+            this.style = style;
+        }
+    }
+
+    /**
+     * A line in data coordinates.
+     */
+    private static final class Division {
+
+        final double x1, y1, x2, y2;
+
+        Division(double x1, double y1, double x2, double y2) {
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+        }
+    }
+
+    /**
+     * A label in data coordinates, centered horizontally on x and placed
+     * vertically per the baseline.
+     */
+    private static final class Caption {
+
+        final String text;
+        final double x, y;
+        final VPos baseline;
+
+        Caption(String text, double x, double y, VPos baseline) {
+            this.text = text;
+            this.x = x;
+            this.y = y;
+            this.baseline = baseline;
+        }
+    }
+
+    /**
+     * An image centered on a location in data coordinates.
+     */
+    private static final class Picture {
+
+        final Image image;
+        final double x, y;
+
+        Picture(Image image, double x, double y) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * The fire behavior images, loaded once and shared by all charts.
+     */
+    private static final class Images {
+
+        static final Image LOW = load("/images/fire-behavior-low.gif");
+        static final Image MODERATE = load("/images/fire-behavior-moderate.gif");
+        static final Image ACTIVE = load("/images/fire-behavior-active.gif");
+        static final Image VERY_ACTIVE = load("/images/fire-behavior-very-active.gif");
+        static final Image EXTREME = load("/images/fire-behavior-extreme.gif");
+
+        private static Image load(String name) {
+            return new Image(HaulChartBackground.class.getResourceAsStream(name));
+        }
+    }
+
+    private final Canvas canvas = new Canvas();
+    private final Tooltip tooltip = new Tooltip();
+
+    // The style nodes: unmanaged and invisible, only styled by the stylesheet
+    private final Polygon lowStyle = createStyle(new Polygon(), "chart-annotation-polygon", "low-fire-behavior");
+    private final Polygon moderateStyle = createStyle(new Polygon(), "chart-annotation-polygon", "moderate-fire-behavior");
+    private final Polygon activeStyle = createStyle(new Polygon(), "chart-annotation-polygon", "active-fire-behavior");
+    private final Polygon veryActiveStyle = createStyle(new Polygon(), "chart-annotation-polygon", "very-active-fire-behavior");
+    private final Polygon extremeStyle = createStyle(new Polygon(), "chart-annotation-polygon", "extreme-fire-behavior");
+    private final Line lineStyle = createStyle(new Line(), "chart-annotation-line");
+    private final Label textStyle = createStyle(new Label(), "chart-annotation-text");
+    private final Group group = new Group(canvas, lowStyle, moderateStyle, activeStyle,
+            veryActiveStyle, extremeStyle, lineStyle, textStyle);
+
+    private final List<Region> regions = new ArrayList<>();
+    private final List<Division> divisions = new ArrayList<>();
+    private final List<Caption> labels = new ArrayList<>();
+    private final List<Picture> pictures = new ArrayList<>();
+
+    private ValueAxis<Number> xAxis;
+    private ValueAxis<Number> yAxis;
+
+    // The axis state at the last redraw
+    private double drawnWidth = -1;
+    private double drawnHeight = -1;
+    private double drawnXLower;
+    private double drawnXUpper;
+    private double drawnYLower;
+    private double drawnYUpper;
+
+    /**
+     * Constructs the background for the given axis ranges.
+     *
+     * @param minBtu The minimum heat release (x).
+     * @param maxBtu The maximum heat release (x).
+     * @param minRos The minimum rate of spread (y).
+     * @param maxRos The maximum rate of spread (y).
+     */
+    HaulChartBackground(double minBtu, double maxBtu, double minRos, double maxRos) {
+        createThresholds(minBtu, maxBtu, minRos, maxRos);
+        createFlameLengthDivisions(minBtu, minRos);
+        createImages();
+
+        Tooltip.install(canvas, tooltip);
+        canvas.addEventHandler(MouseEvent.MOUSE_MOVED, e -> updateTooltip(e.getX(), e.getY()));
+
+        // Redraw when the stylesheet restyles the background
+        InvalidationListener restyle = observable -> restyle();
+        for (Shape style : new Shape[]{lowStyle, moderateStyle, activeStyle, veryActiveStyle, extremeStyle, lineStyle}) {
+            style.fillProperty().addListener(restyle);
+            style.strokeProperty().addListener(restyle);
+            style.strokeWidthProperty().addListener(restyle);
+            style.opacityProperty().addListener(restyle);
+        }
+        textStyle.textFillProperty().addListener(restyle);
+        textStyle.fontProperty().addListener(restyle);
+        textStyle.opacityProperty().addListener(restyle);
+    }
+
+    private static <T extends Node> T createStyle(T node, String... styleClasses) {
+        node.getStyleClass().addAll(styleClasses);
+        node.setManaged(false);
+        node.setVisible(false);
+        return node;
+    }
+
+    @Override
+    public Node getNode() {
+        return group;
+    }
+
+    private void restyle() {
+        if (xAxis != null && drawnWidth >= 0) {
+            redraw(drawnWidth, drawnHeight);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void layoutAnnotation(ValueAxis xAxis, ValueAxis yAxis) {
+        this.xAxis = xAxis;
+        this.yAxis = yAxis;
+        double width = xAxis.getWidth();
+        double height = yAxis.getHeight();
+        if (width == drawnWidth && height == drawnHeight
+                && xAxis.getLowerBound() == drawnXLower && xAxis.getUpperBound() == drawnXUpper
+                && yAxis.getLowerBound() == drawnYLower && yAxis.getUpperBound() == drawnYUpper) {
+            return;
+        }
+        drawnWidth = width;
+        drawnHeight = height;
+        drawnXLower = xAxis.getLowerBound();
+        drawnXUpper = xAxis.getUpperBound();
+        drawnYLower = yAxis.getLowerBound();
+        drawnYUpper = yAxis.getUpperBound();
+        redraw(width, height);
+    }
+
+    private void redraw(double width, double height) {
+        canvas.setWidth(width);
+        canvas.setHeight(height);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+
+        for (Region region : regions) {
+            int n = region.xy.length / 2;
+            double[] xPoints = new double[n];
+            double[] yPoints = new double[n];
+            for (int i = 0; i < n; i++) {
+                xPoints[i] = xAxis.getDisplayPosition(region.xy[i * 2]);
+                yPoints[i] = yAxis.getDisplayPosition(region.xy[i * 2 + 1]);
+            }
+            Shape style = region.style;
+            gc.setGlobalAlpha(style.getOpacity());
+            gc.setFill(style.getFill());
+            gc.fillPolygon(xPoints, yPoints, n);
+            if (style.getStroke() != null && style.getStrokeWidth() > 0) {
+                gc.setStroke(style.getStroke());
+                gc.setLineWidth(style.getStrokeWidth());
+                gc.strokePolygon(xPoints, yPoints, n);
+            }
+        }
+
+        gc.setGlobalAlpha(lineStyle.getOpacity());
+        gc.setStroke(lineStyle.getStroke());
+        gc.setLineWidth(lineStyle.getStrokeWidth());
+        for (Division line : divisions) {
+            gc.strokeLine(
+                    xAxis.getDisplayPosition(line.x1), yAxis.getDisplayPosition(line.y1),
+                    xAxis.getDisplayPosition(line.x2), yAxis.getDisplayPosition(line.y2));
+        }
+
+        gc.setGlobalAlpha(textStyle.getOpacity());
+        gc.setFill(textStyle.getTextFill());
+        gc.setFont(textStyle.getFont());
+        gc.setTextAlign(TextAlignment.CENTER);
+        for (Caption label : labels) {
+            gc.setTextBaseline(label.baseline);
+            gc.fillText(label.text, xAxis.getDisplayPosition(label.x), yAxis.getDisplayPosition(label.y));
+        }
+
+        gc.setGlobalAlpha(1);
+        for (Picture picture : pictures) {
+            Image image = picture.image;
+            gc.drawImage(image,
+                    xAxis.getDisplayPosition(picture.x) - image.getWidth() / 2,
+                    yAxis.getDisplayPosition(picture.y) - image.getHeight() / 2);
+        }
+    }
+
+    /**
+     * Sets the tooltip text for the fire behavior region at a display
+     * location.
+     */
+    private void updateTooltip(double x, double y) {
+        if (xAxis == null) {
+            return;
+        }
+        double btu = xAxis.getValueForDisplay(x).doubleValue();
+        double ros = yAxis.getValueForDisplay(y).doubleValue();
+        double fln = FireBehaviorUtil.computeFlameLength(FireBehaviorUtil.computeFirelineIntensity(btu, ros));
+        String text;
+        if (fln < FL_THRESHOLD_LOW_TO_MODERATE) {
+            text = TOOLTIP_LOW;
+        } else if (fln < FL_THRESHOLD_MODERATE_TO_ACTIVE) {
+            text = TOOLTIP_MODERATE;
+        } else if (fln < FL_THRESHOLD_ACTIVE_TO_VERY_ACTIVE) {
+            text = TOOLTIP_ACTIVE;
+        } else if (fln < FL_THRESHOLD_VERY_ACTIVE_TO_EXTREME) {
+            text = TOOLTIP_VERY_ACTIVE;
+        } else {
+            text = TOOLTIP_EXTREME;
+        }
+        if (!text.equals(tooltip.getText())) {
+            tooltip.setText(text);
+        }
+    }
+
+    private void createThresholds(double minBtu, double maxBtu, double minRos, double maxRos) {
+        // Compute heat release Btu thresholds
+        double lowBtu = FireBehaviorUtil.computeHeatAreaBtus(FL_THRESHOLD_LOW_TO_MODERATE, minRos);
+        double moderateBtu = FireBehaviorUtil.computeHeatAreaBtus(FL_THRESHOLD_MODERATE_TO_ACTIVE, minRos);
+        double activeBtu = FireBehaviorUtil.computeHeatAreaBtus(FL_THRESHOLD_ACTIVE_TO_VERY_ACTIVE, minRos);
+        double veryActiveBtu = FireBehaviorUtil.computeHeatAreaBtus(FL_THRESHOLD_VERY_ACTIVE_TO_EXTREME, minRos);
+        // Compute rate of spread thresholds
+        double lowRos = FireBehaviorUtil.computeRateOfSpread(FL_THRESHOLD_LOW_TO_MODERATE, minBtu);
+        double moderateRos = FireBehaviorUtil.computeRateOfSpread(FL_THRESHOLD_MODERATE_TO_ACTIVE, minBtu);
+        double activeRos = FireBehaviorUtil.computeRateOfSpread(FL_THRESHOLD_ACTIVE_TO_VERY_ACTIVE, minBtu);
+        double veryActiveRos = FireBehaviorUtil.computeRateOfSpread(FL_THRESHOLD_VERY_ACTIVE_TO_EXTREME, minBtu);
+
+        // Polygons that represent the threshold regions.
+        regions.add(new Region(
+                new double[]{minBtu, minRos, lowBtu, minRos, minBtu, lowRos}, lowStyle));
+        regions.add(new Region(
+                new double[]{lowBtu, minRos, minBtu, lowRos, minBtu, moderateRos, moderateBtu, minRos}, moderateStyle));
+        regions.add(new Region(
+                new double[]{moderateBtu, minRos, minBtu, moderateRos, minBtu, activeRos, activeBtu, minRos}, activeStyle));
+        regions.add(new Region(
+                new double[]{activeBtu, minRos, minBtu, activeRos, minBtu, veryActiveRos, veryActiveBtu, minRos}, veryActiveStyle));
+        regions.add(new Region(
+                new double[]{veryActiveBtu, minRos, minBtu, veryActiveRos, maxBtu * 10, maxRos * 10}, extremeStyle));
+    }
+
+    private void createFlameLengthDivisions(double minBtu, double minRos) {
+        final double[] flameLens = {1.0, 2.0, 4.0, 8.0, 11.0, 15.0, 20.0};    // [ft]
+        for (double flameLen : flameLens) {
+
+            // Flame length division from bottom of chart (given flame length
+            // and min ros) to left edge of chart for (given flame length and min btu)
+            double btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, minRos);
+            double ros = FireBehaviorUtil.computeRateOfSpread(flameLen, minBtu);
+            divisions.add(new Division(btu, minRos, minBtu, ros));
+
+            // Flame length labels in the lower diagonal half.
+            btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, flameLen * 3);
+            ros = FireBehaviorUtil.computeRateOfSpread(flameLen, btu);
+            labels.add(new Caption(Integer.toString((int) flameLen) + "\'", btu, ros, VPos.CENTER));
+
+            // Fireline intensity labels in the upper in the diagonal half
+            btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, flameLen * 15);
+            ros = FireBehaviorUtil.computeRateOfSpread(flameLen, btu);
+            int fli = (int) Math.round(FireBehaviorUtil.computeFirelineIntensity(btu, ros));
+            if (fli > 1000) {
+                fli = (int) Math.round((double) fli / 1000) * 1000;
+            } else if (fli > 100) {
+                fli = (int) Math.round((double) fli / 100) * 100;
+            }
+            labels.add(new Caption(Integer.toString(fli), btu, ros, VPos.CENTER));
+        }
+        // Textual legend for flame length and fireline intensity values
+        final double flameLen = 25;
+        double btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, flameLen * 3);
+        double ros = FireBehaviorUtil.computeRateOfSpread(flameLen, btu);
+        labels.add(new Caption("Flame Length, ft", btu, ros, VPos.BOTTOM));
+        btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, flameLen * 15);
+        ros = FireBehaviorUtil.computeRateOfSpread(flameLen, btu);
+        labels.add(new Caption("Fireline Intensity, Btu/ft/sec", btu, ros, VPos.BOTTOM));
+    }
+
+    private void createImages() {
+        pictures.add(new Picture(Images.LOW, 30, 3));
+        pictures.add(new Picture(Images.MODERATE, 110, 11));
+        pictures.add(new Picture(Images.ACTIVE, 300, 30));
+        pictures.add(new Picture(Images.VERY_ACTIVE, 600, 60));
+        pictures.add(new Picture(Images.EXTREME, 1200, 120));
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.presentation.haulchart;
+
+import com.emxsys.wildfirefx.model.FireBehavior;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jfree.chart.ChartUtilities;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.util.ExportUtils;
+
+/**
+ * Renders "Haul Charts" to PNG or SVG files without a UI. The charts are
+ * rendered in parallel on a fixed pool of threads; each thread reuses its own
+ * JFreeHaulChart (and, for PNG, its own image buffer), and the number of
+ * jobs submitted but not yet finished is bounded so that a large batch does
+ * not queue up unbounded work.
+ *
+ * SVG output requires JFreeSVG on the classpath.
+ *
+ * @author Bruce Schubert
+ */
+public class HaulChartExporter implements AutoCloseable {
+
+    /**
+     * The supported output formats.
+     */
+    public enum Format {
+
+        PNG("png"),
+        SVG("svg");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * Gets the file name extension.
+         *
+         * @return The extension, without the dot.
+         */
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    public static final int DEFAULT_WIDTH = 800;
+    public static final int DEFAULT_HEIGHT = 600;
+
+    private final int width;
+    private final int height;
+    private final ExecutorService executor;
+    private final Semaphore pending;
+
+    /**
+     * A chart per worker thread; a chart is replotted for each job.
+     */
+    private final ThreadLocal<JFreeHaulChart> charts = ThreadLocal.withInitial(JFreeHaulChart::new);
+
+    /**
+     * An image buffer per worker thread for PNG output.
+     */
+    private final ThreadLocal<BufferedImage> images = new ThreadLocal<>();
+
+    /**
+     * Constructs an exporter with a thread per processor and the default
+     * chart size.
+     */
+    public HaulChartExporter() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    /**
+     * Constructs an exporter.
+     *
+     * @param threads The number of worker threads.
+     * @param width The chart width in pixels.
+     * @param height The chart height in pixels.
+     */
+    public HaulChartExporter(int threads, int width, int height) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("'threads' must be at least 1.");
+        }
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Invalid chart size: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        // Allow one queued job per thread so the workers stay busy
+        this.pending = new Semaphore(threads * 2);
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "HaulChartExporter-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a chart for export. Blocks while the maximum number of jobs
+     * are pending.
+     *
+     * @param fire The fire behavior to plot.
+     * @param file The output file.
+     * @param format The output format.
+     * @return A future that completes with the file when it has been written.
+     * @throws InterruptedException if interrupted while waiting to submit.
+     */
+    public Future<File> export(FireBehavior fire, File file, Format format) throws InterruptedException {
+        if (fire == null || file == null || format == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        if (format == Format.SVG && !ExportUtils.isJFreeSVGAvailable()) {
+            throw new IllegalStateException("JFreeSVG is not present on the classpath.");
+        }
+        pending.acquire();
+        // The permit is released by whichever claims it first: the job, when
+        // it stops rendering (cancel(true) does not stop the rendering), or
+        // done(), when the job was cancelled before it started
+        AtomicBoolean claimed = new AtomicBoolean();
+        FutureTask<File> task = new FutureTask<File>(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                throw new CancellationException();
+            }
+            try {
+                JFreeHaulChart haulChart = charts.get();
+                haulChart.plotFireBehavior(fire);
+                if (format == Format.PNG) {
+                    writePng(haulChart.getChart(), file);
+                } else {
+                    ExportUtils.writeAsSVG(haulChart.getChart(), width, height, file);
+                }
+                return file;
+            } finally {
+                pending.release();
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (claimed.compareAndSet(false, true)) {
+                    pending.release();
+                }
+            }
+        };
+        try {
+            executor.execute(task);
+            return task;
+        } catch (RuntimeException e) {
+            pending.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Exports a chart for each fire behavior to a directory and waits for
+     * the batch to complete. The files are named by the list index and the
+     * fuel model code, e.g., "003-FM4.png".
+     *
+     * @param fires The fire behaviors to plot.
+     * @param directory The output directory; created if it doesn't exist.
+     * @param format The output format.
+     * @return The files written, in the same order as the fire behaviors.
+     * @throws IOException if a chart could not be written.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public List<File> exportAll(List<FireBehavior> fires, File directory, Format format)
+            throws IOException, InterruptedException {
+        if (fires == null || directory == null) {
+            throw new IllegalArgumentException("Null argument.");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory: " + directory);
+        }
+        List<Future<File>> futures = new ArrayList<>(fires.size());
+        for (int i = 0; i < fires.size(); i++) {
+            FireBehavior fire = fires.get(i);
+            futures.add(export(fire, new File(directory, fileName(i, fire, format)), format));
+        }
+        List<File> files = new ArrayList<>(futures.size());
+        for (Future<File> future : futures) {
+            try {
+                files.add(future.get());
+            } catch (ExecutionException e) {
+                for (Future<File> f : futures) {
+                    f.cancel(false);
+                }
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException("Unable to export chart.", cause);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Stops accepting jobs and waits for the pending jobs to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writePng(JFreeChart chart, File file) throws IOException {
+        BufferedImage image = images.get();
+        if (image == null) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            images.set(image);
+        }
+        Graphics2D g2 = image.createGraphics();
+        try {
+            g2.setBackground(new Color(0, 0, 0, 0));
+            g2.clearRect(0, 0, width, height);
+            chart.draw(g2, new Rectangle2D.Double(0, 0, width, height));
+        } finally {
+            g2.dispose();
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            ChartUtilities.writeBufferedImageAsPNG(out, image);
+        }
+    }
+
+    private static String fileName(int index, FireBehavior fire, Format format) {
+        String code = fire.getFuelBed().getFuelModel().getModelCode();
+        return String.format("%03d-%s.%s", index, code.replaceAll("[^A-Za-z0-9_-]", "_"), format.getExtension());
+    }
+}
@@ -33,21 +33,17 @@ import com.emxsys.chart.LogScatterChart;
 import com.emxsys.chart.extension.LogarithmicAxis;
 import com.emxsys.chart.extension.ValueMarker;
 import com.emxsys.chart.extension.XYAnnotations.Layer;
-import com.emxsys.chart.extension.XYImageAnnotation;
-import com.emxsys.chart.extension.XYLineAnnotation;
-import com.emxsys.chart.extension.XYPolygonAnnotation;
 import com.emxsys.chart.extension.XYTextAnnotation;
 import com.emxsys.wildfirefx.model.FireBehavior;
-import com.emxsys.wildfirefx.model.FireBehaviorUtil;
 import com.emxsys.wildfirefx.model.FuelBed;
 import com.emxsys.wildfirefx.presentation.View;
+import java.util.List;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.chart.ScatterChart;
 import javafx.scene.chart.XYChart;
-import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 
 /**
@@ -83,6 +79,11 @@ public class JavaFxHaulChartView implements View<JavaFxHaulChartController> {
     private ScatterChart.Series seriesFlank;
     private ObservableList<XYChart.Series> dataset;
 
+    /**
+     * A canvas layer for plotting many points, e.g., an ensemble of results.
+     */
+    private EnsembleLayer ensembleLayer;
+
     /**
      * The chart is root node of this view.
      */
@@ -159,6 +160,45 @@ public class JavaFxHaulChartView implements View<JavaFxHaulChartController> {
 
     }
 
+    /**
+     * Plots a collection of fire behavior results (e.g., for all fuel models
+     * or a sweep of weather conditions) as points colored by flame length.
+     * The points are drawn on a single canvas layer beneath the current fire
+     * behavior, replacing any previously plotted ensemble.
+     *
+     * @param fires The fire behavior results to plot.
+     */
+    public void plotEnsemble(List<FireBehavior> fires) {
+        int n = fires.size();
+        double[] heat = new double[n];
+        double[] ros = new double[n];
+        double[] flameLen = new double[n];
+        for (int i = 0; i < n; i++) {
+            FireBehavior fire = fires.get(i);
+            heat[i] = fire.getFuelBed().getHeatRelease();
+            ros[i] = fire.getRateOfSpreadMax();
+            flameLen[i] = fire.getFlameLength();
+        }
+        ensembleLayer.setPoints(heat, ros, flameLen, n);
+    }
+
+    /**
+     * Removes the ensemble points from the chart.
+     */
+    public void clearEnsemble() {
+        ensembleLayer.clear();
+    }
+
+    /**
+     * Gets the canvas layer used to plot ensembles. Use it to plot arbitrary
+     * heat (x), rate of spread (y) and intensity values.
+     *
+     * @return The ensemble layer.
+     */
+    public EnsembleLayer getEnsembleLayer() {
+        return ensembleLayer;
+    }
+
     /**
      * Creates a LogScatterChart representing a "Haul Chart".
      */
@@ -196,143 +236,24 @@ public class JavaFxHaulChartView implements View<JavaFxHaulChartController> {
         seriesMax.getData().clear();
         seriesFlank.getData().clear();
 
-        // Create the background for the Haul Chart
-        layoutFireBehaviorThresholds();
-        layoutFlameLengthDivisions();
-        layoutFireBehaviorImages();
-    }
-
-    private void layoutFlameLengthDivisions() {
-        // draw flame length divisions
-        final double[] flameLens = {1.0, 2.0, 4.0, 8.0, 11.0, 15.0, 20.0};    // [ft]
-        for (double flameLen : flameLens) {
-
-            // Draw flame length division from bottom of chart (given flame length 
-            // and min ros) to left edge of chart for (given flame length and min btu)
-            double btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, minRos);
-            double ros = FireBehaviorUtil.computeRateOfSpread(flameLen, minBtu);
-            chart.getAnnotations().add(new XYLineAnnotation(
-                    btu, minRos, // start
-                    minBtu, ros, // end
-                    1.5, Color.GRAY), Layer.BACKGROUND);
-
-            // Draw flame length labels in the lower diagonal half.
-            // Compute new btu and ros to represent x,y values for label placement
-            btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, flameLen * 3);
-            ros = FireBehaviorUtil.computeRateOfSpread(flameLen, btu);
-            chart.getAnnotations().add(new XYTextAnnotation(
-                    Integer.toString((int) flameLen) + "\'", btu, ros),
-                    Layer.BACKGROUND);
-
-            // Draw fireline intensity labels in the upper in the diagonal half
-            // Compute new btu and ros to represent x,y values for label placement
-            btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, flameLen * 15);
-            ros = FireBehaviorUtil.computeRateOfSpread(flameLen, btu);
-            int fli = (int) Math.round(FireBehaviorUtil.computeFirelineIntensity(btu, ros));
-            if (fli > 1000) {
-                fli = (int) Math.round((double) fli / 1000) * 1000;
-            } else if (fli > 100) {
-                fli = (int) Math.round((double) fli / 100) * 100;
-            }
-            chart.getAnnotations().add(new XYTextAnnotation(
-                    Integer.toString((int) fli), btu, ros),
-                    Layer.BACKGROUND);
-        }
-        // Draw textual legend for flame length and fireline intensity values
-        final double flameLen = 25;
-        double btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, flameLen * 3);
-        double ros = FireBehaviorUtil.computeRateOfSpread(flameLen, btu);
-        XYTextAnnotation flAnno = new XYTextAnnotation("Flame Length, ft", btu, ros);
-        flAnno.setTextAnchor(Pos.BOTTOM_CENTER);
-        chart.getAnnotations().add(flAnno, Layer.BACKGROUND);
-        // Draw fireline intensity values
-        btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, flameLen * 15);
-        ros = FireBehaviorUtil.computeRateOfSpread(flameLen, btu);
-        XYTextAnnotation fliAnno = new XYTextAnnotation("Fireline Intensity, Btu/ft/sec", btu, ros);
-        fliAnno.setTextAnchor(Pos.BOTTOM_CENTER);
-        chart.getAnnotations().add(fliAnno, Layer.BACKGROUND);
-
-    }
-
-    private void layoutFireBehaviorThresholds() {
-
-        // Compute heat release Btu thresholds
-        double lowBtu = FireBehaviorUtil.computeHeatAreaBtus(FL_THRESHOLD_LOW_TO_MODERATE, minRos);
-        double moderateBtu = FireBehaviorUtil.computeHeatAreaBtus(FL_THRESHOLD_MODERATE_TO_ACTIVE, minRos);
-        double activeBtu = FireBehaviorUtil.computeHeatAreaBtus(FL_THRESHOLD_ACTIVE_TO_VERY_ACTIVE, minRos);
-        double veryActiveBtu = FireBehaviorUtil.computeHeatAreaBtus(FL_THRESHOLD_VERY_ACTIVE_TO_EXTREME, minRos);
-        // Compute rate of spread thresholds
-        double lowRos = FireBehaviorUtil.computeRateOfSpread(FL_THRESHOLD_LOW_TO_MODERATE, minBtu);
-        double moderateRos = FireBehaviorUtil.computeRateOfSpread(FL_THRESHOLD_MODERATE_TO_ACTIVE, minBtu);
-        double activeRos = FireBehaviorUtil.computeRateOfSpread(FL_THRESHOLD_ACTIVE_TO_VERY_ACTIVE, minBtu);
-        double veryActiveRos = FireBehaviorUtil.computeRateOfSpread(FL_THRESHOLD_VERY_ACTIVE_TO_EXTREME, minBtu);
-
-        // Create polygons that represent the threshold regions.
-        XYPolygonAnnotation lowBkgnd = new XYPolygonAnnotation(
-                new double[]{minBtu, minRos, lowBtu, minRos, minBtu, lowRos});
-        XYPolygonAnnotation modBkgnd = new XYPolygonAnnotation(
-                new double[]{lowBtu, minRos, minBtu, lowRos, minBtu, moderateRos, moderateBtu, minRos});
-        XYPolygonAnnotation activeBkgnd = new XYPolygonAnnotation(
-                new double[]{moderateBtu, minRos, minBtu, moderateRos, minBtu, activeRos, activeBtu, minRos});
-        XYPolygonAnnotation veryActiveBkgnd = new XYPolygonAnnotation(
-                new double[]{activeBtu, minRos, minBtu, activeRos, minBtu, veryActiveRos, veryActiveBtu, minRos});
-        XYPolygonAnnotation extremeBkgnd = new XYPolygonAnnotation(
-                new double[]{veryActiveBtu, minRos, minBtu, veryActiveRos, maxBtu * 10, maxRos * 10});
-        lowBkgnd.getNode().getStyleClass().add("low-fire-behavior");
-        modBkgnd.getNode().getStyleClass().add("moderate-fire-behavior");
-        activeBkgnd.getNode().getStyleClass().add("active-fire-behavior");
-        veryActiveBkgnd.getNode().getStyleClass().add("very-active-fire-behavior");
-        extremeBkgnd.getNode().getStyleClass().add("extreme-fire-behavior");
-
-        chart.getAnnotations().add(lowBkgnd, Layer.BACKGROUND);
-        chart.getAnnotations().add(modBkgnd, Layer.BACKGROUND);
-        chart.getAnnotations().add(activeBkgnd, Layer.BACKGROUND);
-        chart.getAnnotations().add(veryActiveBkgnd, Layer.BACKGROUND);
-        chart.getAnnotations().add(extremeBkgnd, Layer.BACKGROUND);
-
-        lowBkgnd.setTooltipText(
-                "LOW: Fire will burn and will spread however \n"
-                + "it presents very little resistance to \n"
-                + "control and direct attack with \n"
-                + "firefighters is possible ");
-        modBkgnd.setTooltipText(
-                "MODERATE : Fire spreads rapidly presenting \n"
-                + "moderate resistance to control but can \n"
-                + "be countered with direct attack by \n"
-                + "firefighters ");
-        activeBkgnd.setTooltipText(
-                "ACTIVE: Fire spreads very rapidly presenting\n"
-                + "substantial resistance to control.\n" 
-                + "Direct attack with firefighters must be \n"
-                + "supplemented with equipment and/or \n"
-                + "air support. ");
-        veryActiveBkgnd.setTooltipText(
-                "VERY ACTIVE: Fire spreads very rapidly\n"
-                + "presenting extreme resistance to control.\n"
-                + "Indirect attack may be effective. Safety of \n"
-                + "firefighters in the area becomes a concern. ");
-        extremeBkgnd.setTooltipText(
-                "EXTREME: Fire spreads very rapidly\n"
-                + "presenting extreme resistance to control.\n"
-                + "extreme resistance to control.  Any \n"
-                + "form of attack will probably not be \n"
-                + "effective.  Safety of firefighters in the \n"
-                + "area is of critical concern. ");
-    }
-
-    private void layoutFireBehaviorImages() {
-        // Setup background
-        Image imgFireBehaviorLow = new Image(getClass().getResourceAsStream("/images/fire-behavior-low.gif"));
-        Image imgFireBehaviorModerate = new Image(getClass().getResourceAsStream("/images/fire-behavior-moderate.gif"));
-        Image imgFireBehaviorActive = new Image(getClass().getResourceAsStream("/images/fire-behavior-active.gif"));
-        Image imgFireBehaviorVeryActive = new Image(getClass().getResourceAsStream("/images/fire-behavior-very-active.gif"));
-        Image imgFireBehaviorExtreme = new Image(getClass().getResourceAsStream("/images/fire-behavior-extreme.gif"));
-
-        chart.getAnnotations().add(new XYImageAnnotation(imgFireBehaviorLow, 30, 3, Pos.CENTER), Layer.BACKGROUND);
-        chart.getAnnotations().add(new XYImageAnnotation(imgFireBehaviorModerate, 110, 11, Pos.CENTER), Layer.BACKGROUND);
-        chart.getAnnotations().add(new XYImageAnnotation(imgFireBehaviorActive, 300, 30, Pos.CENTER), Layer.BACKGROUND);
-        chart.getAnnotations().add(new XYImageAnnotation(imgFireBehaviorVeryActive, 600, 60, Pos.CENTER), Layer.BACKGROUND);
-        chart.getAnnotations().add(new XYImageAnnotation(imgFireBehaviorExtreme, 1200, 120, Pos.CENTER), Layer.BACKGROUND);
+        // Create the background for the Haul Chart; it is drawn on a single
+        // canvas that is only redrawn when the axes change
+        chart.getAnnotations().add(new HaulChartBackground(minBtu, maxBtu, minRos, maxRos), Layer.BACKGROUND);
+
+        // Create the (empty) ensemble layer on top of the background
+        ensembleLayer = new EnsembleLayer(
+                new double[]{
+                    FL_THRESHOLD_LOW_TO_MODERATE,
+                    FL_THRESHOLD_MODERATE_TO_ACTIVE,
+                    FL_THRESHOLD_ACTIVE_TO_VERY_ACTIVE,
+                    FL_THRESHOLD_VERY_ACTIVE_TO_EXTREME},
+                new Color[]{
+                    COLOR_LOW.darker(),
+                    COLOR_MODERATE.darker(),
+                    COLOR_ACTIVE.darker(),
+                    COLOR_VERY_ACTIVE.darker(),
+                    COLOR_EXTREME.darker()});
+        chart.getAnnotations().add(ensembleLayer, Layer.BACKGROUND);
     }
 
 }
@@ -41,6 +41,7 @@ import com.emxsys.wildfirefx.presentation.simulation.SimController;
 import java.net.URL;
 import java.util.ResourceBundle;
 import java.util.prefs.Preferences;
+import javafx.beans.Observable;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Node;
@@ -166,14 +167,22 @@ public class MainController extends FXMLController<Model, MainView> implements I
         chartPane.getChildren().add(fitToParent(new JavaFxHaulChartView().getRoot()));
         jfreeChartPane.getChildren().add(fitToParent(new JFreeHaulChartView().getRoot()));
 
-        // Setup the Fuel controls
-        choiceFuelModel.getItems().addAll(getModel().getOriginalFuelModels());
-        choiceFuelModel.getSelectionModel().selectFirst();
+        // Setup the Fuel controls. The choices are populated when the
+        // catalog has loaded, which may be before or after the window is shown.
+        choiceFuelModel.setItems(getModel().getOriginalFuelModels());
         choiceFuelModel.getSelectionModel().selectedItemProperty()
                 .addListener((observable, oldValue, newValue) -> {
                     System.out.println(newValue + " chosen in ChoiceBox");
                     getModel().setFuelModel((FuelModel) newValue);
                 });
+        getModel().getOriginalFuelModels().addListener((Observable observable) -> {
+            if (choiceFuelModel.getSelectionModel().isEmpty()) {
+                choiceFuelModel.getSelectionModel().selectFirst();
+            }
+        });
+        if (!getModel().getOriginalFuelModels().isEmpty()) {
+            choiceFuelModel.getSelectionModel().selectFirst();
+        }
         
         // Wire up the Simulation controls
         sliderNumParticles.valueProperty().addListener((observable, oldValue, newValue) -> {
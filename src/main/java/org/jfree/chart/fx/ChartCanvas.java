@@ -41,21 +41,36 @@
 
 package org.jfree.chart.fx;
 
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Tooltip;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
 import org.jfree.chart.ChartMouseEvent;
 import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.entity.ChartEntity;
+import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.ChartChangeEvent;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.fx.interaction.AnchorHandlerFX;
@@ -78,6 +93,19 @@ import org.jfree.chart.util.ParamChecks;
  * behaviour provided by these you can retrieve the handler by ID and
  * disable or remove it (the IDs are "tooltip", "scroll", "anchor", "pan" and 
  * "dispatch").
+ * <p>
+ * When progressive interaction is enabled (see 
+ * {@link #setProgressiveInteraction(boolean)}), the pan and scroll handlers
+ * display a transformed bitmap of the last rendered frame while the gesture
+ * is in progress, and the chart is fully redrawn once the gesture ends or 
+ * pauses.
+ * <p>
+ * When asynchronous rendering is enabled (see 
+ * {@link #setAsyncRendering(boolean)}), the chart is drawn on a background 
+ * thread into an offscreen image and the finished frame is copied to the 
+ * canvas on the JavaFX application thread.  A chart that changes while it
+ * is displayed is drawn from a snapshot taken on the JavaFX application
+ * thread (see {@link #setFrameSnapshot(java.util.function.UnaryOperator)}).
  * 
  * <p>THE API FOR THIS CLASS IS SUBJECT TO CHANGE IN FUTURE RELEASES.  This is
  * so that we can incorporate feedback on the (new) JavaFX support in 
@@ -90,10 +118,8 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
     /** The chart being displayed in the canvas (never null). */
     private JFreeChart chart;
     
-    /**
-     * The graphics drawing context (will be an instance of FXGraphics2D).
-     */
-    private Graphics2D g2;
+    /** The graphics drawing context. */
+    private FXGraphics2D g2;
    
     /** 
      * The anchor point (can be null) is usually updated to reflect the most 
@@ -105,6 +131,19 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
     /** The chart rendering info from the most recent drawing of the chart. */
     private ChartRenderingInfo info;
     
+    /** 
+     * The policy that controls how much rendering info is collected when 
+     * the chart is drawn (never null).
+     */
+    private RenderingInfoPolicy renderingInfoPolicy;
+    
+    /** 
+     * A spatial index of the entities in {@code info}, built on demand by
+     * {@link #getEntityForPoint(double, double)} and discarded when the 
+     * chart is redrawn (can be null).
+     */
+    private EntityIndex entityIndex;
+    
     /** The tooltip object for the canvas (can be null). */
     private Tooltip tooltip;
     
@@ -128,6 +167,108 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
     /** The auxiliary mouse handlers (can be empty but not null). */
     private List<MouseHandlerFX> auxiliaryMouseHandlers;
     
+    /** 
+     * A flag that controls whether or not pan and zoom gestures are 
+     * previewed using a bitmap of the last rendered frame.
+     */
+    private boolean progressiveInteraction;
+    
+    /** 
+     * A snapshot of the canvas taken at the start of a preview (null when
+     * there is no preview in progress).
+     */
+    private WritableImage previewImage;
+    
+    /** The data area at the start of the preview. */
+    private Rectangle2D previewArea;
+    
+    /** The x-scale of the preview transform. */
+    private double previewScaleX;
+    
+    /** The y-scale of the preview transform. */
+    private double previewScaleY;
+    
+    /** The x-translation of the preview transform. */
+    private double previewTranslateX;
+    
+    /** The y-translation of the preview transform. */
+    private double previewTranslateY;
+    
+    /** 
+     * Ends the preview (with a full redraw) when the gesture pauses.
+     */
+    private final PauseTransition previewPause;
+    
+    /** 
+     * The executor shared by all canvases for asynchronous rendering (a 
+     * single daemon thread).
+     */
+    private static final ExecutorService RENDER_EXECUTOR 
+            = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "ChartCanvas-render");
+                thread.setDaemon(true);
+                return thread;
+            });
+    
+    /** A flag that controls whether or not the chart is drawn off-thread. */
+    private boolean asyncRendering;
+    
+    /** 
+     * Creates the detached copy of the chart that a frame is rendered from
+     * (null to render the chart itself).
+     */
+    private UnaryOperator<JFreeChart> frameSnapshot;
+    
+    /** 
+     * A flag that indicates that a frame will be submitted later in the 
+     * current pulse, so that the changes made in one pulse share a frame.
+     */
+    private boolean frameRequested;
+    
+    /** 
+     * Incremented for each asynchronous draw request, a render job is 
+     * skipped if a newer request has been made before it starts.
+     */
+    private final AtomicLong renderGeneration = new AtomicLong();
+    
+    /** 
+     * The most recent finished frame waiting to be copied to the canvas 
+     * (null if there is none). 
+     */
+    private final AtomicReference<Frame> pendingFrame 
+            = new AtomicReference<Frame>();
+    
+    /** 
+     * An offscreen image that is free to be reused by the next render job 
+     * (can be null).
+     */
+    private final AtomicReference<BufferedImage> freeImage 
+            = new AtomicReference<BufferedImage>();
+    
+    /** 
+     * The JavaFX image that finished frames are copied into (reused while 
+     * the canvas size is unchanged, can be null).
+     */
+    private WritableImage frameImage;
+    
+    /**
+     * A frame rendered by the background thread, with the rendering info 
+     * that was collected when it was drawn.
+     */
+    private static final class Frame {
+        
+        /** The offscreen image. */
+        final BufferedImage image;
+        
+        /** The rendering info (can be null). */
+        final ChartRenderingInfo info;
+        
+        Frame(BufferedImage image, ChartRenderingInfo info) {
+            this.image = image;
+            this.info = info;
+        }
+    }
+    
     /**
      * Creates a new canvas to display the supplied chart in JavaFX.
      * 
@@ -139,6 +280,7 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
         this.chart.addChangeListener(this);
         this.tooltip = null;
         this.tooltipEnabled = true;
+        this.renderingInfoPolicy = RenderingInfoPolicy.FULL;
         this.chartMouseListeners = new ArrayList<ChartMouseListenerFX>();
         
         widthProperty().addListener(evt -> draw());
@@ -162,6 +304,10 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
         setOnMouseDragged((MouseEvent e) -> { handleMouseDragged(e); });
         setOnMouseReleased((MouseEvent e) -> { handleMouseReleased(e); });
         setOnScroll((ScrollEvent event) -> { handleScroll(event); });
+        
+        this.progressiveInteraction = false;
+        this.previewPause = new PauseTransition(Duration.millis(150));
+        this.previewPause.setOnFinished(evt -> endPreview());
     }
     
     /**
@@ -195,6 +341,32 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
         return this.info;
     }
 
+    /**
+     * Returns the policy that controls how much rendering info is collected
+     * each time the chart is drawn.  The default value is
+     * {@link RenderingInfoPolicy#FULL}.
+     * 
+     * @return The policy (never {@code null}).
+     */
+    public RenderingInfoPolicy getRenderingInfoPolicy() {
+        return this.renderingInfoPolicy;
+    }
+    
+    /**
+     * Sets the policy that controls how much rendering info is collected 
+     * each time the chart is drawn, and redraws the chart.  Charts that are
+     * only displayed (with no tooltips or mouse interaction) can use 
+     * {@link RenderingInfoPolicy#NONE} to skip the creation of entities 
+     * entirely.
+     * 
+     * @param policy  the policy ({@code null} not permitted).
+     */
+    public void setRenderingInfoPolicy(RenderingInfoPolicy policy) {
+        ParamChecks.nullNotPermitted(policy, "policy");
+        this.renderingInfoPolicy = policy;
+        draw();
+    }
+
     /**
      * Returns the flag that controls whether or not tooltips are enabled.  
      * The default value is {@code true}.  The {@link TooltipHandlerFX} 
@@ -216,6 +388,267 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
         this.tooltipEnabled = tooltipEnabled;
     }
     
+    /**
+     * Returns the flag that controls whether or not pan and zoom gestures
+     * are previewed by transforming a bitmap of the last rendered frame 
+     * (rather than redrawing the chart for every mouse event).  The default
+     * value is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isProgressiveInteraction() {
+        return this.progressiveInteraction;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not pan and zoom gestures are
+     * previewed using a bitmap of the last rendered frame.  The preview only
+     * moves the content of the data area, the axes are updated when the 
+     * chart is redrawn at the end of the gesture.
+     * 
+     * @param progressive  the new flag value.
+     */
+    public void setProgressiveInteraction(boolean progressive) {
+        this.progressiveInteraction = progressive;
+        if (!progressive && this.previewImage != null) {
+            endPreview();
+        }
+    }
+    
+    /**
+     * Returns the flag that controls whether or not the chart is drawn on a 
+     * background thread.  The default value is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isAsyncRendering() {
+        return this.asyncRendering;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the chart is drawn on a 
+     * background thread, and redraws the chart.  With this mode enabled, 
+     * the layout and rendering of the chart no longer take time from the 
+     * JavaFX application thread, only the copy of the finished frame does.
+     * <p>
+     * JFreeChart is not thread-safe, so a chart that is modified while it 
+     * is displayed (its datasets, or its axes, which the pan and zoom 
+     * handlers change) must have a frame snapshot (see 
+     * {@link #setFrameSnapshot(java.util.function.UnaryOperator)}).  
+     * Without one, only enable this mode for a chart that is not modified.
+     * The changes made in one pulse are rendered in one frame.  A frame that
+     * fails is dropped and, unless a newer frame has been requested, drawn 
+     * again on the JavaFX thread.
+     * 
+     * @param async  the new flag value.
+     */
+    public void setAsyncRendering(boolean async) {
+        this.asyncRendering = async;
+        draw();
+    }
+    
+    /**
+     * Returns the function that creates the snapshot of the chart that an
+     * asynchronous frame is rendered from.  The default value is 
+     * {@code null}.
+     * 
+     * @return The function (possibly {@code null}).
+     */
+    public UnaryOperator<JFreeChart> getFrameSnapshot() {
+        return this.frameSnapshot;
+    }
+    
+    /**
+     * Sets the function that creates the snapshot of the chart that an 
+     * asynchronous frame is rendered from.  The function is called on the 
+     * JavaFX application thread for each frame, and must return a chart 
+     * that looks the same but shares no mutable state (datasets, axes, 
+     * markers, annotations) with the displayed chart.  If {@code null}, the
+     * displayed chart itself is rendered.
+     * 
+     * @param snapshot  the function ({@code null} permitted).
+     */
+    public void setFrameSnapshot(UnaryOperator<JFreeChart> snapshot) {
+        this.frameSnapshot = snapshot;
+        if (this.asyncRendering) {
+            draw();
+        }
+    }
+    
+    /**
+     * Returns the flag that controls whether or not the path commands for
+     * shapes drawn on this canvas are cached (see 
+     * {@link FXGraphics2D#setPathCacheEnabled(boolean)}).  The default value
+     * is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isPathCacheEnabled() {
+        return this.g2.isPathCacheEnabled();
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the path commands for 
+     * shapes drawn on this canvas are cached.  Only enable the cache for 
+     * charts that do not modify a shape after drawing it.  The cache is not
+     * used for frames rendered on the background thread.
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setPathCacheEnabled(boolean enabled) {
+        this.g2.setPathCacheEnabled(enabled);
+        if (!enabled) {
+            this.g2.clearPathCache();
+        }
+    }
+    
+    /**
+     * Returns the flag that controls whether or not the JavaFX images 
+     * converted from the AWT images drawn on this canvas are cached (see 
+     * {@link FXGraphics2D#setImageCacheEnabled(boolean)}).  The default 
+     * value is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isImageCacheEnabled() {
+        return this.g2.isImageCacheEnabled();
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the JavaFX images converted
+     * from the AWT images drawn on this canvas are cached.  The cache is 
+     * keyed by image instance, so only enable it for charts that do not draw
+     * into an image after drawing it on the canvas.  The cache is not used 
+     * for frames rendered on the background thread.
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setImageCacheEnabled(boolean enabled) {
+        this.g2.setImageCacheEnabled(enabled);
+    }
+    
+    /**
+     * Returns {@code true} if a gesture preview is currently displayed.
+     * 
+     * @return A boolean.
+     */
+    public boolean isPreviewing() {
+        return this.previewImage != null;
+    }
+    
+    /**
+     * Translates the preview of the data area by the specified amount, 
+     * starting a preview if one is not already in progress.  This method is
+     * intended for calling by the {@link PanHandlerFX} class, you won't 
+     * normally call it directly.
+     * 
+     * @param dx  the x-translation (in Java2D units).
+     * @param dy  the y-translation (in Java2D units).
+     * 
+     * @return A boolean indicating whether or not the preview is displayed
+     *     (if {@code false}, the chart will be redrawn as usual).
+     */
+    public boolean previewPan(double dx, double dy) {
+        if (!beginPreview()) {
+            return false;
+        }
+        this.previewTranslateX += dx;
+        this.previewTranslateY += dy;
+        drawPreview();
+        return true;
+    }
+    
+    /**
+     * Scales the preview of the data area about the point {@code (x, y)}, 
+     * starting a preview if one is not already in progress.  This method is
+     * intended for calling by the {@link ScrollHandlerFX} class, you won't 
+     * normally call it directly.
+     * 
+     * @param scaleX  the x-scale factor (greater than 1 to zoom in).
+     * @param scaleY  the y-scale factor (greater than 1 to zoom in).
+     * @param x  the x-coordinate of the zoom anchor.
+     * @param y  the y-coordinate of the zoom anchor.
+     * 
+     * @return A boolean indicating whether or not the preview is displayed
+     *     (if {@code false}, the chart will be redrawn as usual).
+     */
+    public boolean previewZoom(double scaleX, double scaleY, double x, 
+            double y) {
+        if (!beginPreview()) {
+            return false;
+        }
+        this.previewScaleX *= scaleX;
+        this.previewScaleY *= scaleY;
+        this.previewTranslateX = x + (this.previewTranslateX - x) * scaleX;
+        this.previewTranslateY = y + (this.previewTranslateY - y) * scaleY;
+        drawPreview();
+        return true;
+    }
+    
+    /**
+     * Ends the current preview (if any) and redraws the chart.  This is 
+     * called automatically when a gesture pauses, and by the handlers when 
+     * a gesture ends.
+     */
+    public void endPreview() {
+        if (this.previewImage == null) {
+            return;
+        }
+        draw();
+    }
+    
+    /**
+     * Starts a preview if progressive interaction is enabled and a preview
+     * is not already in progress, and (re)starts the pause timer.
+     * 
+     * @return A boolean indicating whether or not a preview is in progress.
+     */
+    private boolean beginPreview() {
+        if (!this.progressiveInteraction) {
+            return false;
+        }
+        if (this.previewImage == null) {
+            if (this.info == null || getWidth() <= 0 || getHeight() <= 0) {
+                return false;
+            }
+            Rectangle2D dataArea = this.info.getPlotInfo().getDataArea();
+            if (dataArea == null || dataArea.isEmpty()) {
+                return false;
+            }
+            SnapshotParameters params = new SnapshotParameters();
+            params.setFill(Color.TRANSPARENT);
+            this.previewImage = snapshot(params, null);
+            this.previewArea = (Rectangle2D) dataArea.clone();
+            this.previewScaleX = 1.0;
+            this.previewScaleY = 1.0;
+            this.previewTranslateX = 0.0;
+            this.previewTranslateY = 0.0;
+        }
+        this.previewPause.playFromStart();
+        return true;
+    }
+    
+    /**
+     * Draws the preview: the snapshot is drawn unchanged outside the data 
+     * area and with the preview transform applied inside it.
+     */
+    private void drawPreview() {
+        GraphicsContext ctx = getGraphicsContext2D();
+        Rectangle2D area = this.previewArea;
+        ctx.save();
+        ctx.clearRect(0, 0, getWidth(), getHeight());
+        ctx.drawImage(this.previewImage, 0, 0);
+        ctx.beginPath();
+        ctx.rect(area.getX(), area.getY(), area.getWidth(), area.getHeight());
+        ctx.clip();
+        ctx.clearRect(area.getX(), area.getY(), area.getWidth(), 
+                area.getHeight());
+        ctx.setTransform(this.previewScaleX, 0.0, 0.0, this.previewScaleY, 
+                this.previewTranslateX, this.previewTranslateY);
+        ctx.drawImage(this.previewImage, 0, 0);
+        ctx.restore();
+    }
+    
     /**
      * Set the anchor point and forces a redraw of the chart (the anchor point
      * is used to determine the position of the crosshairs on the chart, if
@@ -333,28 +766,227 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
      * information.
      */
     public final void draw() {
+        if (this.previewImage != null) {
+            this.previewPause.stop();
+            this.previewImage = null;
+            this.previewArea = null;
+        }
+        if (this.asyncRendering) {
+            requestFrame();
+            return;
+        }
+        drawOnCanvas();
+    }
+    
+    /**
+     * Draws the chart directly on the canvas, on the JavaFX application 
+     * thread.
+     */
+    private void drawOnCanvas() {
         GraphicsContext ctx = getGraphicsContext2D();
         ctx.save();
         double width = getWidth();
         double height = getHeight();
         if (width > 0 && height > 0) {
             ctx.clearRect(0, 0, width, height);
-            this.info = new ChartRenderingInfo();
+            this.info = createRenderingInfo();
+            this.entityIndex = null;
             this.chart.draw(this.g2, new Rectangle((int) width, (int) height), 
                     this.anchor, this.info);
         }
         ctx.restore();
         this.anchor = null;
     }
+    
+    /**
+     * Requests a frame, which is submitted once the current pulse has made
+     * its changes to the chart.
+     */
+    private void requestFrame() {
+        if (this.frameRequested) {
+            return;
+        }
+        this.frameRequested = true;
+        Platform.runLater(() -> {
+            this.frameRequested = false;
+            if (this.asyncRendering && this.previewImage == null) {
+                submitFrame();
+            }
+        });
+    }
+    
+    /**
+     * Submits a job to render the chart (or its snapshot) on the background
+     * thread.  Only the most recent request is rendered, earlier requests 
+     * that have not yet started are skipped.
+     */
+    private void submitFrame() {
+        final int width = (int) getWidth();
+        final int height = (int) getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        final long generation = this.renderGeneration.incrementAndGet();
+        final Point2D anchorPt = this.anchor;
+        final RenderingInfoPolicy policy = this.renderingInfoPolicy;
+        final JFreeChart frameChart = this.frameSnapshot != null 
+                ? this.frameSnapshot.apply(this.chart) : this.chart;
+        this.anchor = null;
+        RENDER_EXECUTOR.execute(() -> {
+            if (generation != this.renderGeneration.get()) {
+                return;
+            }
+            renderFrame(frameChart, width, height, anchorPt, policy, 
+                    generation);
+        });
+    }
+    
+    /**
+     * Renders a frame on the background thread and hands it to the JavaFX 
+     * application thread.
+     * 
+     * @param frameChart  the chart.
+     * @param width  the frame width.
+     * @param height  the frame height.
+     * @param anchorPt  the anchor point ({@code null} permitted).
+     * @param policy  the rendering info policy.
+     * @param generation  the request generation.
+     */
+    private void renderFrame(JFreeChart frameChart, int width, int height, 
+            Point2D anchorPt, RenderingInfoPolicy policy, long generation) {
+        BufferedImage image = this.freeImage.getAndSet(null);
+        if (image == null || image.getWidth() != width 
+                || image.getHeight() != height) {
+            image = new BufferedImage(width, height, 
+                    BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        ChartRenderingInfo frameInfo;
+        switch (policy) {
+            case NONE:
+                frameInfo = null;
+                break;
+            case PLOT_AREA:
+                frameInfo = new ChartRenderingInfo(null);
+                break;
+            default:
+                frameInfo = new ChartRenderingInfo();
+        }
+        Graphics2D frameG2 = image.createGraphics();
+        try {
+            frameG2.setComposite(AlphaComposite.Clear);
+            frameG2.fillRect(0, 0, width, height);
+            frameG2.setComposite(AlphaComposite.SrcOver);
+            frameChart.draw(frameG2, new Rectangle(width, height), anchorPt, 
+                    frameInfo);
+        } catch (RuntimeException e) {
+            // the frame is drawn on the JavaFX thread instead, so that the
+            // failure is reported there rather than hidden by a blank chart
+            this.freeImage.set(image);
+            Platform.runLater(() -> {
+                if (generation == this.renderGeneration.get()) {
+                    drawOnCanvas();
+                }
+            });
+            return;
+        } finally {
+            frameG2.dispose();
+        }
+        Frame previous = this.pendingFrame.getAndSet(new Frame(image, 
+                frameInfo));
+        if (previous != null) {
+            // superseded before it was shown, a copy is already scheduled
+            this.freeImage.set(previous.image);
+        } else {
+            Platform.runLater(this::presentFrame);
+        }
+    }
+    
+    /**
+     * Copies the most recent finished frame to the canvas and updates the
+     * rendering info.  This runs on the JavaFX application thread.
+     */
+    private void presentFrame() {
+        Frame frame = this.pendingFrame.getAndSet(null);
+        if (frame == null) {
+            return;
+        }
+        if (this.asyncRendering && this.previewImage == null) {
+            this.frameImage = SwingFXUtils.toFXImage(frame.image, 
+                    this.frameImage);
+            GraphicsContext ctx = getGraphicsContext2D();
+            ctx.clearRect(0, 0, getWidth(), getHeight());
+            ctx.drawImage(this.frameImage, 0, 0);
+            this.info = frame.info;
+            this.entityIndex = null;
+        }
+        this.freeImage.set(frame.image);
+    }
  
+    /**
+     * Returns a rendering info instance for the next drawing of the chart, 
+     * according to the current policy.  The previous instance is cleared 
+     * and reused where possible.
+     * 
+     * @return The rendering info (possibly {@code null}).
+     */
+    private ChartRenderingInfo createRenderingInfo() {
+        switch (this.renderingInfoPolicy) {
+            case NONE:
+                return null;
+            case PLOT_AREA:
+                if (this.info == null || this.info.getEntityCollection() 
+                        != null) {
+                    return new ChartRenderingInfo(null);
+                }
+                break;
+            default:
+                if (this.info == null || this.info.getEntityCollection() 
+                        == null) {
+                    return new ChartRenderingInfo();
+                }
+        }
+        this.info.clear();
+        return this.info;
+    }
+    
+    /**
+     * Returns the chart entity at the specified location in the canvas, or 
+     * {@code null} if there is no entity at that location.  The lookup uses
+     * a spatial index of the entities from the most recent drawing of the 
+     * chart, so it is much faster than searching the entity collection 
+     * directly when the chart has many entities.
+     * 
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * 
+     * @return The entity (possibly {@code null}).
+     */
+    public ChartEntity getEntityForPoint(double x, double y) {
+        if (this.entityIndex == null) {
+            if (this.info == null) {
+                return null;
+            }
+            EntityCollection entities = this.info.getEntityCollection();
+            if (entities == null) {
+                return null;
+            }
+            this.entityIndex = new EntityIndex(entities, getWidth(), 
+                    getHeight());
+        }
+        return this.entityIndex.getEntity(x, y);
+    }
+    
     /**
      * Returns the data area (the area inside the axes) for the plot or subplot.
      *
      * @param point  the selection point (for subplot selection).
      *
-     * @return The data area.
+     * @return The data area (possibly {@code null}).
      */
     public Rectangle2D findDataArea(Point2D point) {
+        if (this.info == null) {
+            return null;
+        }
         PlotRenderingInfo plotInfo = this.info.getPlotInfo();
         Rectangle2D result;
         if (plotInfo.getSubplotCount() == 0) {
@@ -527,19 +1159,23 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
     
     /**
      * Receives a notification from the chart that it has been changed and
-     * responds by redrawing the chart entirely.
+     * responds by redrawing the chart entirely.  While a gesture preview is
+     * displayed the redraw is deferred until the preview ends.
      * 
      * @param event  event information. 
      */
     @Override
     public void chartChanged(ChartChangeEvent event) {
+        if (this.previewImage != null) {
+            return;
+        }
         draw();
     }
     
     public void dispatchMouseMovedEvent(Point2D point, MouseEvent e) {
         double x = point.getX();
         double y = point.getY();
-        ChartEntity entity = this.info.getEntityCollection().getEntity(x, y);
+        ChartEntity entity = getEntityForPoint(x, y);
         ChartMouseEventFX event = new ChartMouseEventFX(this.chart, e, entity);
         for (ChartMouseListenerFX listener : this.chartMouseListeners) {
             listener.chartMouseMoved(event);
@@ -549,7 +1185,7 @@ public class ChartCanvas extends Canvas implements ChartChangeListener {
     public void dispatchMouseClickedEvent(Point2D point, MouseEvent e) {
         double x = point.getX();
         double y = point.getY();
-        ChartEntity entity = this.info.getEntityCollection().getEntity(x, y);
+        ChartEntity entity = getEntityForPoint(x, y);
         ChartMouseEventFX event = new ChartMouseEventFX(this.chart, e, entity);
         for (ChartMouseListenerFX listener : this.chartMouseListeners) {
             listener.chartMouseClicked(event);
@@ -0,0 +1,453 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * -----------------
+ * ChartOverlay.java
+ * -----------------
+ * (C) Copyright 2014, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.fx;
+
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.entity.ChartEntity;
+import org.jfree.chart.entity.XYItemEntity;
+import org.jfree.chart.event.ChartChangeEvent;
+import org.jfree.chart.event.ChartChangeListener;
+import org.jfree.chart.plot.Plot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.util.ParamChecks;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A transparent canvas stacked above a {@link ChartCanvas} that draws the
+ * transient feedback for mouse interaction: crosshairs that follow the 
+ * mouse pointer, a highlight of the entity under the pointer, and the zoom
+ * rectangle.  Drawing this feedback on the overlay leaves the chart itself
+ * untouched, so the cost of a mouse move does not depend on the complexity
+ * of the chart.
+ * <p>
+ * The crosshairs take their paint and their lock-on-data setting from the
+ * {@link XYPlot}, if the chart has one.  When the domain crosshair is locked
+ * on data and the pointer is over a data item, the crosshairs snap to the
+ * item.
+ * 
+ * <p>THE API FOR THIS CLASS IS SUBJECT TO CHANGE IN FUTURE RELEASES.  This is
+ * so that we can incorporate feedback on the (new) JavaFX support in 
+ * JFreeChart.</p>
+ */
+public class ChartOverlay extends Canvas implements ChartChangeListener {
+    
+    /** The canvas that the overlay is stacked above. */
+    private final ChartCanvas canvas;
+    
+    /** The chart that the overlay listens to (can be null). */
+    private JFreeChart chart;
+    
+    /** A flag that controls whether or not crosshairs are drawn. */
+    private boolean crosshairsVisible;
+    
+    /** A flag that controls whether or not the hovered entity is outlined. */
+    private boolean highlightVisible;
+    
+    /** The paint for the crosshairs if the plot does not supply one. */
+    private Paint crosshairPaint;
+    
+    /** The paint for the outline of the hovered entity. */
+    private Paint highlightPaint;
+    
+    /** The fill paint for the zoom rectangle. */
+    private Paint zoomFillPaint;
+    
+    /** The zoom rectangle (null if it is not visible). */
+    private Rectangle2D zoomRectangle;
+    
+    /** The x-coordinate of the mouse pointer (NaN if outside the canvas). */
+    private double mouseX;
+    
+    /** The y-coordinate of the mouse pointer. */
+    private double mouseY;
+    
+    /**
+     * Creates a new overlay for the specified canvas.  The overlay does not
+     * receive mouse events, it tracks the pointer over the canvas.
+     * 
+     * @param canvas  the canvas ({@code null} not permitted).
+     */
+    public ChartOverlay(ChartCanvas canvas) {
+        ParamChecks.nullNotPermitted(canvas, "canvas");
+        this.canvas = canvas;
+        this.crosshairPaint = Color.BLUE;
+        this.highlightPaint = Color.rgb(255, 128, 0, 0.9);
+        this.zoomFillPaint = new Color(0, 0, 1, 0.25);
+        this.mouseX = Double.NaN;
+        setMouseTransparent(true);
+        
+        canvas.addEventHandler(MouseEvent.MOUSE_MOVED, this::trackMouse);
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, this::trackMouse);
+        canvas.addEventHandler(MouseEvent.MOUSE_EXITED, e -> {
+            this.mouseX = Double.NaN;
+            redraw();
+        });
+        widthProperty().addListener(evt -> redraw());
+        heightProperty().addListener(evt -> redraw());
+        setChart(canvas.getChart());
+    }
+    
+    /**
+     * Sets the chart that the overlay follows, so that the feedback is 
+     * updated when the chart changes.  This is called by the skin when the 
+     * chart in the viewer is replaced.
+     * 
+     * @param chart  the chart ({@code null} permitted).
+     */
+    public void setChart(JFreeChart chart) {
+        if (this.chart != null) {
+            this.chart.removeChangeListener(this);
+        }
+        this.chart = chart;
+        if (chart != null) {
+            chart.addChangeListener(this);
+        }
+        redraw();
+    }
+    
+    /**
+     * Returns the flag that controls whether or not crosshairs are drawn.
+     * The default value is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isCrosshairsVisible() {
+        return this.crosshairsVisible;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not crosshairs are drawn at 
+     * the mouse pointer.  Turn the plot's own crosshairs off when using this,
+     * since they are drawn by the chart at the last clicked point.
+     * 
+     * @param visible  the new flag value.
+     */
+    public void setCrosshairsVisible(boolean visible) {
+        this.crosshairsVisible = visible;
+        redraw();
+    }
+    
+    /**
+     * Returns the flag that controls whether or not the entity under the 
+     * mouse pointer is outlined.  The default value is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isHighlightVisible() {
+        return this.highlightVisible;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the entity under the mouse
+     * pointer is outlined.  The entities are only available when the canvas
+     * collects full rendering info.
+     * 
+     * @param visible  the new flag value.
+     */
+    public void setHighlightVisible(boolean visible) {
+        this.highlightVisible = visible;
+        redraw();
+    }
+    
+    /**
+     * Returns the paint for the crosshairs, used when the plot does not 
+     * supply a color.
+     * 
+     * @return The paint (never {@code null}).
+     */
+    public Paint getCrosshairPaint() {
+        return this.crosshairPaint;
+    }
+    
+    /**
+     * Sets the paint for the crosshairs, used when the plot does not supply
+     * a color.
+     * 
+     * @param paint  the paint ({@code null} not permitted).
+     */
+    public void setCrosshairPaint(Paint paint) {
+        ParamChecks.nullNotPermitted(paint, "paint");
+        this.crosshairPaint = paint;
+        redraw();
+    }
+    
+    /**
+     * Returns the paint for the outline of the hovered entity.
+     * 
+     * @return The paint (never {@code null}).
+     */
+    public Paint getHighlightPaint() {
+        return this.highlightPaint;
+    }
+    
+    /**
+     * Sets the paint for the outline of the hovered entity.
+     * 
+     * @param paint  the paint ({@code null} not permitted).
+     */
+    public void setHighlightPaint(Paint paint) {
+        ParamChecks.nullNotPermitted(paint, "paint");
+        this.highlightPaint = paint;
+        redraw();
+    }
+    
+    /**
+     * Returns the fill paint for the zoom rectangle.
+     * 
+     * @return The paint (never {@code null}).
+     */
+    public Paint getZoomFillPaint() {
+        return this.zoomFillPaint;
+    }
+    
+    /**
+     * Sets the fill paint for the zoom rectangle.
+     * 
+     * @param paint  the paint ({@code null} not permitted).
+     */
+    public void setZoomFillPaint(Paint paint) {
+        ParamChecks.nullNotPermitted(paint, "paint");
+        this.zoomFillPaint = paint;
+        redraw();
+    }
+    
+    /**
+     * Shows the zoom rectangle at the specified location.
+     * 
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * @param w  the width.
+     * @param h  the height.
+     */
+    public void showZoomRectangle(double x, double y, double w, double h) {
+        this.zoomRectangle = new Rectangle2D.Double(x, y, w, h);
+        redraw();
+    }
+    
+    /**
+     * Hides the zoom rectangle.
+     */
+    public void hideZoomRectangle() {
+        if (this.zoomRectangle != null) {
+            this.zoomRectangle = null;
+            redraw();
+        }
+    }
+    
+    /**
+     * Receives notification that the chart has changed and redraws the 
+     * feedback for the new layout.  The redraw is deferred until the canvas
+     * has redrawn the chart (the chart notifies its listeners in reverse 
+     * order of registration, so the overlay hears of the change first).
+     * 
+     * @param event  the event.
+     */
+    @Override
+    public void chartChanged(ChartChangeEvent event) {
+        Platform.runLater(this::redraw);
+    }
+    
+    private void trackMouse(MouseEvent e) {
+        this.mouseX = e.getX();
+        this.mouseY = e.getY();
+        if (this.crosshairsVisible || this.highlightVisible) {
+            redraw();
+        }
+    }
+    
+    /**
+     * Clears the overlay and draws the current feedback.
+     */
+    private void redraw() {
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.clearRect(0, 0, getWidth(), getHeight());
+        if (!Double.isNaN(this.mouseX) 
+                && (this.crosshairsVisible || this.highlightVisible)) {
+            Point2D pt = new Point2D.Double(this.mouseX, this.mouseY);
+            Rectangle2D dataArea = this.canvas.findDataArea(pt);
+            if (dataArea != null && dataArea.contains(pt)) {
+                ChartEntity entity = this.canvas.getEntityForPoint(
+                        this.mouseX, this.mouseY);
+                if (this.highlightVisible && entity != null 
+                        && entity.getArea() != null) {
+                    drawHighlight(gc, entity.getArea(), dataArea);
+                }
+                if (this.crosshairsVisible) {
+                    drawCrosshairs(gc, pt, entity, dataArea);
+                }
+            }
+        }
+        if (this.zoomRectangle != null) {
+            gc.setFill(this.zoomFillPaint);
+            gc.fillRect(this.zoomRectangle.getX(), this.zoomRectangle.getY(),
+                    this.zoomRectangle.getWidth(), 
+                    this.zoomRectangle.getHeight());
+        }
+    }
+    
+    /**
+     * Outlines the hovered entity, clipped to the data area.
+     */
+    private void drawHighlight(GraphicsContext gc, Shape area, 
+            Rectangle2D dataArea) {
+        Rectangle2D bounds = area.getBounds2D();
+        if (bounds.contains(dataArea)) {
+            return;  // the plot area entity, not a data item
+        }
+        gc.save();
+        gc.setStroke(this.highlightPaint);
+        gc.setLineWidth(2.0);
+        gc.beginPath();
+        appendPath(gc, area);
+        gc.stroke();
+        gc.restore();
+    }
+    
+    /**
+     * Draws the domain and range crosshairs through the mouse pointer, or
+     * through the hovered data item if the plot locks its crosshairs on 
+     * data.
+     */
+    private void drawCrosshairs(GraphicsContext gc, Point2D pt, 
+            ChartEntity entity, Rectangle2D dataArea) {
+        double x = pt.getX();
+        double y = pt.getY();
+        Paint paint = this.crosshairPaint;
+        Plot plot = this.chart != null ? this.chart.getPlot() : null;
+        if (plot instanceof XYPlot) {
+            XYPlot xyplot = (XYPlot) plot;
+            paint = toFXPaint(xyplot.getDomainCrosshairPaint(), paint);
+            if (xyplot.isDomainCrosshairLockedOnData() 
+                    && entity instanceof XYItemEntity) {
+                Point2D item = itemToJava2D(xyplot, (XYItemEntity) entity, 
+                        dataArea);
+                if (item != null) {
+                    x = item.getX();
+                    y = item.getY();
+                }
+            }
+        }
+        gc.save();
+        gc.setStroke(paint);
+        gc.setLineWidth(1.0);
+        // align the lines to the pixel centers
+        double px = Math.floor(x) + 0.5;
+        double py = Math.floor(y) + 0.5;
+        gc.strokeLine(px, dataArea.getMinY(), px, dataArea.getMaxY());
+        gc.strokeLine(dataArea.getMinX(), py, dataArea.getMaxX(), py);
+        gc.restore();
+    }
+    
+    /**
+     * Returns the location of a data item in Java2D space, or {@code null}
+     * if the item is not available.
+     */
+    private static Point2D itemToJava2D(XYPlot plot, XYItemEntity entity, 
+            Rectangle2D dataArea) {
+        XYDataset dataset = entity.getDataset();
+        int series = entity.getSeriesIndex();
+        int item = entity.getItem();
+        if (dataset == null || series >= dataset.getSeriesCount() 
+                || item >= dataset.getItemCount(series)) {
+            return null;
+        }
+        double xx = plot.getDomainAxis().valueToJava2D(
+                dataset.getXValue(series, item), dataArea, 
+                plot.getDomainAxisEdge());
+        double yy = plot.getRangeAxis().valueToJava2D(
+                dataset.getYValue(series, item), dataArea, 
+                plot.getRangeAxisEdge());
+        if (Double.isNaN(xx) || Double.isNaN(yy)) {
+            return null;
+        }
+        if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
+            return new Point2D.Double(yy, xx);
+        }
+        return new Point2D.Double(xx, yy);
+    }
+    
+    /**
+     * Returns the JavaFX equivalent of an AWT color, or the fallback paint
+     * for other paints.
+     */
+    private static Paint toFXPaint(java.awt.Paint paint, Paint fallback) {
+        if (paint instanceof java.awt.Color) {
+            java.awt.Color c = (java.awt.Color) paint;
+            return Color.rgb(c.getRed(), c.getGreen(), c.getBlue(), 
+                    c.getAlpha() / 255.0);
+        }
+        return fallback;
+    }
+    
+    /**
+     * Appends the segments of a shape to the current path.
+     */
+    private static void appendPath(GraphicsContext gc, Shape shape) {
+        double[] coords = new double[6];
+        PathIterator iterator = shape.getPathIterator(null);
+        while (!iterator.isDone()) {
+            switch (iterator.currentSegment(coords)) {
+                case PathIterator.SEG_MOVETO:
+                    gc.moveTo(coords[0], coords[1]);
+                    break;
+                case PathIterator.SEG_LINETO:
+                    gc.lineTo(coords[0], coords[1]);
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    gc.quadraticCurveTo(coords[0], coords[1], coords[2], 
+                            coords[3]);
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    gc.bezierCurveTo(coords[0], coords[1], coords[2], 
+                            coords[3], coords[4], coords[5]);
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    gc.closePath();
+                    break;
+                default:
+                    break;
+            }
+            iterator.next();
+        }
+    }
+}
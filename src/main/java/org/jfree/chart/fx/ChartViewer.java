@@ -44,6 +44,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import javafx.event.ActionEvent;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Control;
@@ -84,6 +85,36 @@ public class ChartViewer extends Control implements Skinnable,
     /** Does the viewer show tooltips from the chart? */
     private boolean tooltipEnabled;
     
+    /** 
+     * Whether or not pan and zoom gestures are previewed using a bitmap of 
+     * the last rendered frame. 
+     */
+    private boolean progressiveInteraction;
+    
+    /** 
+     * The policy that controls how much rendering info is collected when 
+     * the chart is drawn (never null). 
+     */
+    private RenderingInfoPolicy renderingInfoPolicy;
+    
+    /** Whether or not the chart is drawn on a background thread. */
+    private boolean asyncRendering;
+    
+    /** Creates the snapshot that a background frame is drawn from. */
+    private UnaryOperator<JFreeChart> frameSnapshot;
+    
+    /** Whether or not the canvas caches the path commands of shapes. */
+    private boolean pathCacheEnabled;
+    
+    /** Whether or not the canvas caches the images converted for JavaFX. */
+    private boolean imageCacheEnabled;
+    
+    /** Whether or not crosshairs are drawn at the mouse pointer. */
+    private boolean crosshairOverlay;
+    
+    /** Whether or not the entity under the mouse pointer is outlined. */
+    private boolean hoverHighlight;
+    
     /** Storage for registered chart mouse listeners. */
     private transient List<ChartMouseListenerFX> chartMouseListeners;
 
@@ -115,6 +146,7 @@ public class ChartViewer extends Control implements Skinnable,
         });
         setContextMenu(this.contextMenu);
         this.tooltipEnabled = true;
+        this.renderingInfoPolicy = RenderingInfoPolicy.FULL;
         this.chartMouseListeners = new ArrayList<ChartMouseListenerFX>();
     }
     
@@ -169,6 +201,219 @@ public class ChartViewer extends Control implements Skinnable,
         }
     }
 
+    /**
+     * Returns the flag that controls whether or not the chart is drawn on a
+     * background thread.  The default value is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isAsyncRendering() {
+        return this.asyncRendering;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the chart is drawn on a 
+     * background thread (see {@link ChartCanvas#setAsyncRendering(boolean)}
+     * for the restrictions that apply).
+     * 
+     * @param async  the new flag value.
+     */
+    public void setAsyncRendering(boolean async) {
+        this.asyncRendering = async;
+        ChartViewerSkin skin = (ChartViewerSkin) getSkin();
+        if (skin != null) {
+            skin.setAsyncRendering(async);
+        }
+    }
+    
+    /**
+     * Returns the function that creates the snapshot of the chart that a 
+     * background frame is drawn from.  The default value is {@code null}.
+     * 
+     * @return The function (possibly {@code null}).
+     */
+    public UnaryOperator<JFreeChart> getFrameSnapshot() {
+        return this.frameSnapshot;
+    }
+    
+    /**
+     * Sets the function that creates the snapshot of the chart that a 
+     * background frame is drawn from (see 
+     * {@link ChartCanvas#setFrameSnapshot(java.util.function.UnaryOperator)}
+     * for the requirements).
+     * 
+     * @param snapshot  the function ({@code null} permitted).
+     */
+    public void setFrameSnapshot(UnaryOperator<JFreeChart> snapshot) {
+        this.frameSnapshot = snapshot;
+        ChartViewerSkin skin = (ChartViewerSkin) getSkin();
+        if (skin != null) {
+            skin.setFrameSnapshot(snapshot);
+        }
+    }
+    
+    /**
+     * Returns the flag that controls whether or not the path commands of the
+     * shapes drawn by the chart are cached.  The default value is 
+     * {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isPathCacheEnabled() {
+        return this.pathCacheEnabled;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the path commands of the 
+     * shapes drawn by the chart are cached (see 
+     * {@link ChartCanvas#setPathCacheEnabled(boolean)} for the restrictions
+     * that apply).
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setPathCacheEnabled(boolean enabled) {
+        this.pathCacheEnabled = enabled;
+        ChartViewerSkin skin = (ChartViewerSkin) getSkin();
+        if (skin != null) {
+            skin.setPathCacheEnabled(enabled);
+        }
+    }
+    
+    /**
+     * Returns the flag that controls whether or not the JavaFX images 
+     * converted from the images drawn by the chart are cached.  The default
+     * value is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isImageCacheEnabled() {
+        return this.imageCacheEnabled;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the JavaFX images converted
+     * from the images drawn by the chart are cached (see 
+     * {@link ChartCanvas#setImageCacheEnabled(boolean)} for the restrictions
+     * that apply).
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setImageCacheEnabled(boolean enabled) {
+        this.imageCacheEnabled = enabled;
+        ChartViewerSkin skin = (ChartViewerSkin) getSkin();
+        if (skin != null) {
+            skin.setImageCacheEnabled(enabled);
+        }
+    }
+    
+    /**
+     * Returns the policy that controls how much rendering info is collected
+     * each time the chart is drawn.  The default value is 
+     * {@link RenderingInfoPolicy#FULL}.
+     * 
+     * @return The policy (never {@code null}).
+     */
+    public RenderingInfoPolicy getRenderingInfoPolicy() {
+        return this.renderingInfoPolicy;
+    }
+    
+    /**
+     * Sets the policy that controls how much rendering info is collected 
+     * each time the chart is drawn.  Use {@link RenderingInfoPolicy#NONE} 
+     * for charts that are only displayed, to avoid building entities that
+     * are never used.
+     * 
+     * @param policy  the policy ({@code null} not permitted).
+     */
+    public void setRenderingInfoPolicy(RenderingInfoPolicy policy) {
+        ParamChecks.nullNotPermitted(policy, "policy");
+        this.renderingInfoPolicy = policy;
+        ChartViewerSkin skin = (ChartViewerSkin) getSkin();
+        if (skin != null) {
+            skin.setRenderingInfoPolicy(policy);
+        }
+    }
+
+    /**
+     * Returns the flag that controls whether or not crosshairs are drawn at
+     * the mouse pointer.  The default value is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isCrosshairOverlay() {
+        return this.crosshairOverlay;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not crosshairs are drawn at the
+     * mouse pointer.  The crosshairs are drawn on an overlay above the chart,
+     * so they follow the mouse without redrawing the chart; the crosshairs of
+     * the chart's plot are hidden while the overlay is enabled, and restored
+     * when it is disabled.  If the plot locks its domain 
+     * crosshair on data, the crosshairs snap to the data item under the 
+     * mouse pointer.
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setCrosshairOverlay(boolean enabled) {
+        this.crosshairOverlay = enabled;
+        ChartViewerSkin skin = (ChartViewerSkin) getSkin();
+        if (skin != null) {
+            skin.setCrosshairOverlay(enabled);
+        }
+    }
+    
+    /**
+     * Returns the flag that controls whether or not the entity under the 
+     * mouse pointer is outlined.  The default value is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isHoverHighlight() {
+        return this.hoverHighlight;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the entity under the mouse
+     * pointer is outlined (on an overlay above the chart, without redrawing
+     * the chart).  This requires the {@link RenderingInfoPolicy#FULL} policy.
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setHoverHighlight(boolean enabled) {
+        this.hoverHighlight = enabled;
+        ChartViewerSkin skin = (ChartViewerSkin) getSkin();
+        if (skin != null) {
+            skin.setHoverHighlight(enabled);
+        }
+    }
+
+    /**
+     * Returns the flag that controls whether or not pan and zoom gestures
+     * are previewed by transforming a bitmap of the last rendered frame, 
+     * with a full redraw once the gesture ends or pauses.  The default value
+     * is {@code false}.
+     * 
+     * @return A boolean.
+     */
+    public boolean isProgressiveInteraction() {
+        return this.progressiveInteraction;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not pan and zoom gestures are
+     * previewed using a bitmap of the last rendered frame.
+     * 
+     * @param progressive  the new flag value.
+     */
+    public void setProgressiveInteraction(boolean progressive) {
+        this.progressiveInteraction = progressive;
+        ChartViewerSkin skin = (ChartViewerSkin) getSkin();
+        if (skin != null) {
+            skin.setProgressiveInteraction(progressive);
+        }
+    }
+
     /**
      * Returns the rendering info from the most recent drawing of the chart.
      * 
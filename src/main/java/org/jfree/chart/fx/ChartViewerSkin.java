@@ -40,17 +40,19 @@
 
 package org.jfree.chart.fx;
 
+import java.util.function.UnaryOperator;
 import org.jfree.chart.fx.interaction.ZoomHandlerFX;
 import javafx.scene.control.SkinBase;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
-import javafx.scene.shape.Rectangle;
 import org.jfree.chart.ChartMouseEvent;
 import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
+import org.jfree.chart.fx.interaction.AbstractMouseHandlerFX;
 import org.jfree.chart.fx.interaction.ChartMouseListenerFX;
+import org.jfree.chart.fx.interaction.MouseHandlerFX;
+import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.util.ParamChecks;
 
 /**
@@ -68,11 +70,22 @@ public class ChartViewerSkin extends SkinBase<ChartViewer>  {
     private ChartCanvas canvas;
     
     /** 
-     * The zoom rectangle is used to display the zooming region when
-     * doing a drag-zoom with the mouse.  Most of the time this rectangle
-     * is not visible.
+     * The overlay draws the zoom rectangle (used to display the zooming 
+     * region when doing a drag-zoom with the mouse), the crosshairs and the
+     * hover highlight above the canvas, so that they can change without 
+     * redrawing the chart.
      */
-    private Rectangle zoomRectangle;
+    private ChartOverlay overlay;
+    
+    /** 
+     * The plot whose crosshairs are hidden while the overlay draws them 
+     * ({@code null} if none). 
+     */
+    private XYPlot crosshairPlot;
+    
+    /** The crosshair flags of {@code crosshairPlot} before they were hidden. */
+    private boolean domainCrosshairVisible;
+    private boolean rangeCrosshairVisible;
     
     /**
      * Creates a new instance.
@@ -82,10 +95,6 @@ public class ChartViewerSkin extends SkinBase<ChartViewer>  {
     public ChartViewerSkin(ChartViewer control) {
         super(control);
         getChildren().add(createNode(control));
-        this.zoomRectangle = new Rectangle(0, 0, new Color(0, 0, 1, 0.25));
-        this.zoomRectangle.setManaged(false);
-        this.zoomRectangle.setVisible(false);
-        getChildren().add(this.zoomRectangle);
     }
     
     /**
@@ -105,20 +114,136 @@ public class ChartViewerSkin extends SkinBase<ChartViewer>  {
      * @param chart  the chart ({@code null} not permitted). 
      */
     public void setChart(JFreeChart chart) {
+        hidePlotCrosshairs(false);
         this.canvas.setChart(chart);
+        this.overlay.setChart(chart);
+        hidePlotCrosshairs(this.overlay.isCrosshairsVisible());
     }
     
     public void setTooltipEnabled(boolean enabled) {
         this.canvas.setTooltipEnabled(enabled);        
     }
     
+    /**
+     * Sets the flag that controls whether or not the chart is drawn on a 
+     * background thread.
+     * 
+     * @param async  the new flag value.
+     */
+    public void setAsyncRendering(boolean async) {
+        this.canvas.setAsyncRendering(async);
+    }
+    
+    /**
+     * Sets the function that creates the snapshot of the chart that a 
+     * background frame is drawn from.
+     * 
+     * @param snapshot  the function ({@code null} permitted).
+     */
+    public void setFrameSnapshot(UnaryOperator<JFreeChart> snapshot) {
+        this.canvas.setFrameSnapshot(snapshot);
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the canvas caches the path
+     * commands of the shapes drawn by the chart.
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setPathCacheEnabled(boolean enabled) {
+        this.canvas.setPathCacheEnabled(enabled);
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the canvas caches the 
+     * JavaFX images converted from the images drawn by the chart.
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setImageCacheEnabled(boolean enabled) {
+        this.canvas.setImageCacheEnabled(enabled);
+    }
+    
+    /**
+     * Sets the policy that controls how much rendering info is collected 
+     * when the chart is drawn.
+     * 
+     * @param policy  the policy ({@code null} not permitted).
+     */
+    public void setRenderingInfoPolicy(RenderingInfoPolicy policy) {
+        this.canvas.setRenderingInfoPolicy(policy);
+    }
+    
+    /**
+     * Sets the flag that controls whether or not pan and zoom gestures are
+     * previewed using a bitmap of the last rendered frame.
+     * 
+     * @param progressive  the new flag value.
+     */
+    public void setProgressiveInteraction(boolean progressive) {
+        this.canvas.setProgressiveInteraction(progressive);
+    }
+    
+    /**
+     * Sets the flag that controls whether or not crosshairs are drawn at the
+     * mouse pointer on the overlay.  While the overlay crosshairs are 
+     * enabled, the crosshairs of an {@code XYPlot} are hidden (and restored
+     * when the overlay crosshairs are disabled), and mouse clicks no longer
+     * set the chart's anchor point (which would redraw the chart to move the
+     * plot's own crosshairs).
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setCrosshairOverlay(boolean enabled) {
+        hidePlotCrosshairs(enabled);
+        this.overlay.setCrosshairsVisible(enabled);
+        MouseHandlerFX anchor = this.canvas.getMouseHandler("anchor");
+        if (anchor instanceof AbstractMouseHandlerFX) {
+            ((AbstractMouseHandlerFX) anchor).setEnabled(!enabled);
+        }
+    }
+    
+    /**
+     * Hides the crosshairs of the chart's plot while the overlay draws them,
+     * or restores them.
+     * 
+     * @param hide  hide the crosshairs?
+     */
+    private void hidePlotCrosshairs(boolean hide) {
+        if (this.crosshairPlot != null) {
+            this.crosshairPlot.setDomainCrosshairVisible(
+                    this.domainCrosshairVisible);
+            this.crosshairPlot.setRangeCrosshairVisible(
+                    this.rangeCrosshairVisible);
+            this.crosshairPlot = null;
+        }
+        if (hide && this.canvas.getChart().getPlot() instanceof XYPlot) {
+            XYPlot plot = (XYPlot) this.canvas.getChart().getPlot();
+            this.domainCrosshairVisible = plot.isDomainCrosshairVisible();
+            this.rangeCrosshairVisible = plot.isRangeCrosshairVisible();
+            plot.setDomainCrosshairVisible(false);
+            plot.setRangeCrosshairVisible(false);
+            this.crosshairPlot = plot;
+        }
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the entity under the mouse
+     * pointer is outlined on the overlay.
+     * 
+     * @param enabled  the new flag value.
+     */
+    public void setHoverHighlight(boolean enabled) {
+        this.overlay.setHighlightVisible(enabled);
+    }
+    
     /**
      * Returns the current fill paint for the zoom rectangle.
      * 
      * @return The fill paint.
      */
     public Paint getZoomFillPaint() {
-        return this.zoomRectangle.getFill();
+        return this.overlay.getZoomFillPaint();
     }
     
     /**
@@ -127,7 +252,7 @@ public class ChartViewerSkin extends SkinBase<ChartViewer>  {
      * @param paint  the new paint. 
      */
     public void setZoomFillPaint(Paint paint) {
-        this.zoomRectangle.setFill(paint);
+        this.overlay.setZoomFillPaint(paint);
     }
     
     /**
@@ -157,7 +282,9 @@ public class ChartViewerSkin extends SkinBase<ChartViewer>  {
      * @param visible  the new flag value.
      */
     public void setZoomRectangleVisible(boolean visible) {
-        this.zoomRectangle.setVisible(visible);
+        if (!visible) {
+            this.overlay.hideZoomRectangle();
+        }
     }
     
     /**
@@ -170,11 +297,7 @@ public class ChartViewerSkin extends SkinBase<ChartViewer>  {
      * @param h  the height.
      */
     public void showZoomRectangle(double x, double y, double w, double h) {
-        this.zoomRectangle.setX(x);
-        this.zoomRectangle.setY(y);
-        this.zoomRectangle.setWidth(w);
-        this.zoomRectangle.setHeight(h);
-        this.zoomRectangle.setVisible(true);
+        this.overlay.showZoomRectangle(x, y, w, h);
     }
 
     /** 
@@ -190,6 +313,13 @@ public class ChartViewerSkin extends SkinBase<ChartViewer>  {
         sp.setPrefSize(600, 400);
         this.canvas = new ChartCanvas(getSkinnable().getChart());
         this.canvas.setTooltipEnabled(control.isTooltipEnabled());
+        this.canvas.setProgressiveInteraction(
+                control.isProgressiveInteraction());
+        this.canvas.setRenderingInfoPolicy(control.getRenderingInfoPolicy());
+        this.canvas.setFrameSnapshot(control.getFrameSnapshot());
+        this.canvas.setAsyncRendering(control.isAsyncRendering());
+        this.canvas.setPathCacheEnabled(control.isPathCacheEnabled());
+        this.canvas.setImageCacheEnabled(control.isImageCacheEnabled());
         this.canvas.addChartMouseListener(control);
         this.canvas.widthProperty().bind(sp.widthProperty());
         this.canvas.heightProperty().bind(sp.heightProperty());
@@ -197,6 +327,13 @@ public class ChartViewerSkin extends SkinBase<ChartViewer>  {
         this.canvas.addMouseHandler(new ZoomHandlerFX("zoom", control));
         sp.getChildren().add(this.canvas);
         
+        this.overlay = new ChartOverlay(this.canvas);
+        this.overlay.widthProperty().bind(sp.widthProperty());
+        this.overlay.heightProperty().bind(sp.heightProperty());
+        sp.getChildren().add(this.overlay);
+        setCrosshairOverlay(control.isCrosshairOverlay());
+        setHoverHighlight(control.isHoverHighlight());
+        
         borderPane.setCenter(sp);
         return borderPane;
     }
@@ -0,0 +1,175 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * EntityIndex.java
+ * ----------------
+ * (C) Copyright 2014, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.fx;
+
+import java.awt.Shape;
+import java.awt.geom.Rectangle2D;
+import org.jfree.chart.entity.ChartEntity;
+import org.jfree.chart.entity.EntityCollection;
+
+/**
+ * A uniform grid over the canvas that records, for each cell, the entities
+ * whose bounds overlap the cell.  A lookup only tests the entities in the
+ * cell under the mouse pointer instead of scanning the whole collection.
+ * <p>
+ * The result of {@link #getEntity(double, double)} is the same as
+ * {@link EntityCollection#getEntity(double, double)}: if more than one
+ * entity contains the point, the one added to the collection last wins.
+ */
+class EntityIndex {
+
+    /** The cell size (in Java2D units). */
+    private static final double CELL_SIZE = 32.0;
+
+    /** The entities, in the order they were added to the collection. */
+    private final ChartEntity[] entities;
+
+    /** The source collection (used for points outside the grid). */
+    private final EntityCollection collection;
+
+    /** The number of columns in the grid. */
+    private final int cols;
+
+    /** The number of rows in the grid. */
+    private final int rows;
+
+    /**
+     * The start offset into {@code cellEntities} for each cell (the array
+     * has one extra element so that the end of cell i is cellStart[i + 1]).
+     */
+    private final int[] cellStart;
+
+    /**
+     * The entity indices for all cells, ascending within each cell.
+     */
+    private final int[] cellEntities;
+
+    /**
+     * Creates a new index for the entities in the collection.
+     *
+     * @param collection  the entity collection ({@code null} not permitted).
+     * @param width  the width of the canvas.
+     * @param height  the height of the canvas.
+     */
+    EntityIndex(EntityCollection collection, double width, double height) {
+        this.collection = collection;
+        int count = collection.getEntityCount();
+        this.entities = new ChartEntity[count];
+        this.cols = Math.max(1, (int) Math.ceil(width / CELL_SIZE));
+        this.rows = Math.max(1, (int) Math.ceil(height / CELL_SIZE));
+        int cellCount = this.cols * this.rows;
+
+        // the cell range for each entity is computed once and stored as
+        // (col0, row0, col1, row1), with col0 = -1 for entities that miss
+        // the grid entirely
+        int[] ranges = new int[count * 4];
+        int[] cellCounts = new int[cellCount + 1];
+        for (int i = 0; i < count; i++) {
+            ChartEntity entity = collection.getEntity(i);
+            this.entities[i] = entity;
+            int r = i * 4;
+            ranges[r] = -1;
+            Shape area = entity.getArea();
+            if (area == null) {
+                continue;
+            }
+            Rectangle2D b = area.getBounds2D();
+            int c0 = Math.max(0, (int) Math.floor(b.getMinX() / CELL_SIZE));
+            int r0 = Math.max(0, (int) Math.floor(b.getMinY() / CELL_SIZE));
+            int c1 = Math.min(this.cols - 1,
+                    (int) Math.floor(b.getMaxX() / CELL_SIZE));
+            int r1 = Math.min(this.rows - 1,
+                    (int) Math.floor(b.getMaxY() / CELL_SIZE));
+            if (c0 > c1 || r0 > r1) {
+                continue;
+            }
+            ranges[r] = c0;
+            ranges[r + 1] = r0;
+            ranges[r + 2] = c1;
+            ranges[r + 3] = r1;
+            for (int row = r0; row <= r1; row++) {
+                for (int col = c0; col <= c1; col++) {
+                    cellCounts[row * this.cols + col + 1]++;
+                }
+            }
+        }
+
+        // prefix sum to get the start offsets, then fill the cells
+        for (int c = 0; c < cellCount; c++) {
+            cellCounts[c + 1] += cellCounts[c];
+        }
+        this.cellStart = cellCounts;
+        this.cellEntities = new int[cellCounts[cellCount]];
+        int[] next = new int[cellCount];
+        System.arraycopy(cellCounts, 0, next, 0, cellCount);
+        for (int i = 0; i < count; i++) {
+            int r = i * 4;
+            if (ranges[r] < 0) {
+                continue;
+            }
+            for (int row = ranges[r + 1]; row <= ranges[r + 3]; row++) {
+                for (int col = ranges[r]; col <= ranges[r + 2]; col++) {
+                    this.cellEntities[next[row * this.cols + col]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the entity at the specified location, or {@code null} if
+     * there is no entity at that location.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     *
+     * @return The entity (possibly {@code null}).
+     */
+    ChartEntity getEntity(double x, double y) {
+        int col = (int) Math.floor(x / CELL_SIZE);
+        int row = (int) Math.floor(y / CELL_SIZE);
+        if (col < 0 || row < 0 || col >= this.cols || row >= this.rows) {
+            return this.collection.getEntity(x, y);
+        }
+        int cell = row * this.cols + col;
+        for (int i = this.cellStart[cell + 1] - 1; i >= this.cellStart[cell];
+                i--) {
+            ChartEntity entity = this.entities[this.cellEntities[i]];
+            if (entity.getArea().contains(x, y)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+}
@@ -82,9 +82,11 @@ import java.awt.image.RenderedImage;
 import java.awt.image.WritableRaster;
 import java.awt.image.renderable.RenderableImage;
 import java.text.AttributedCharacterIterator;
+import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -175,6 +177,42 @@ public class FXGraphics2D extends Graphics2D {
      */
     private Arc2D arc;
     
+    /** 
+     * A scratch buffer that is reused by {@code shapeToPath()} to avoid
+     * creating a new array for every shape that is drawn.
+     */
+    private final double[] coords = new double[6];
+    
+    /** A flag that controls whether or not the path cache is used. */
+    private boolean pathCacheEnabled = false;
+    
+    /**
+     * A cache of converted path commands, keyed by shape instance (only 
+     * {@code Area} and {@code Path2D} instances are cached).  The map is
+     * created when the cache is first enabled and is shared with any 
+     * copies made via {@link #create()}.
+     */
+    private Map<Shape, PathCommands> pathCache;
+    
+    /** A flag that controls whether or not converted images are cached. */
+    private boolean imageCacheEnabled = false;
+    
+    /**
+     * A cache of JavaFX images, keyed by the AWT source image instance.  The
+     * map is shared with any copies made via {@link #create()}.
+     */
+    private Map<Image, javafx.scene.image.Image> imageCache 
+            = new WeakHashMap<Image, javafx.scene.image.Image>();
+    
+    /**
+     * A cache of {@code BufferedImage} instances created from rendered 
+     * images that are not already buffered images (see 
+     * {@link #drawRenderedImage(java.awt.image.RenderedImage, 
+     * java.awt.geom.AffineTransform)}).
+     */
+    private Map<RenderedImage, BufferedImage> renderedImageCache
+            = new WeakHashMap<RenderedImage, BufferedImage>();
+    
     /** A hidden image used for font metrics. */
     private final BufferedImage fmImage = new BufferedImage(10, 10, 
             BufferedImage.TYPE_INT_RGB);
@@ -263,6 +301,146 @@ public class FXGraphics2D extends Graphics2D {
         this.clippingDisabled = disabled;    
     }
     
+    /**
+     * Returns the flag that controls whether or not the path commands for 
+     * {@code Area} and {@code Path2D} shapes are cached and replayed on 
+     * subsequent draws of the same shape instance.  The default value is 
+     * {@code false}.
+     * 
+     * @return A boolean.
+     * 
+     * @see #setPathCacheEnabled(boolean) 
+     */
+    public boolean isPathCacheEnabled() {
+        return this.pathCacheEnabled;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not the path cache is used.
+     * The cache is keyed by shape instance, so it should only be enabled 
+     * when the code drawing to this graphics target does not modify a 
+     * shape after it has been drawn (JFreeChart renderers often reuse a 
+     * single {@code GeneralPath} instance, for example).  If a cached shape
+     * is modified, call {@link #invalidate(java.awt.Shape)}.
+     * 
+     * @param enabled  the new flag value.
+     * 
+     * @see #isPathCacheEnabled() 
+     */
+    public void setPathCacheEnabled(boolean enabled) {
+        this.pathCacheEnabled = enabled;
+        if (enabled && this.pathCache == null) {
+            this.pathCache = new WeakHashMap<Shape, PathCommands>();
+        }
+    }
+    
+    /**
+     * Removes the cached path commands (if any) for the specified shape.
+     * This should be called after modifying a shape that has previously 
+     * been drawn with the path cache enabled.
+     * 
+     * @param s  the shape ({@code null} not permitted).
+     */
+    public void invalidate(Shape s) {
+        nullNotPermitted(s, "s");
+        if (this.pathCache != null) {
+            this.pathCache.remove(s);
+        }
+    }
+    
+    /**
+     * Clears all the cached path commands.
+     */
+    public void clearPathCache() {
+        if (this.pathCache != null) {
+            this.pathCache.clear();
+        }
+    }
+    
+    /**
+     * Returns the flag that controls whether or not the JavaFX images 
+     * converted from AWT images are cached (keyed by the source image 
+     * instance) so that subsequent draws of the same image avoid the pixel
+     * conversion.  The default value is {@code false}.
+     * 
+     * @return A boolean.
+     * 
+     * @see #setImageCacheEnabled(boolean) 
+     */
+    public boolean isImageCacheEnabled() {
+        return this.imageCacheEnabled;
+    }
+    
+    /**
+     * Sets the flag that controls whether or not converted images are 
+     * cached.  The cache is keyed by image instance, so it should only be 
+     * enabled when the code drawing to this graphics target does not draw 
+     * into an image after it has been drawn here (or calls 
+     * {@link #invalidateImage(java.awt.Image)} when it does).  Disabling 
+     * the cache also clears it.
+     * 
+     * @param enabled  the new flag value.
+     * 
+     * @see #isImageCacheEnabled() 
+     */
+    public void setImageCacheEnabled(boolean enabled) {
+        this.imageCacheEnabled = enabled;
+        if (!enabled) {
+            clearImageCache();
+        }
+    }
+    
+    /**
+     * Removes the cached conversion (if any) for the specified image.  This
+     * must be called after modifying the pixels of an image that has 
+     * previously been drawn with the image cache enabled, otherwise the 
+     * stale conversion will be drawn.
+     * 
+     * @param img  the image ({@code null} not permitted).
+     * 
+     * @see #invalidateRenderedImage(java.awt.image.RenderedImage) 
+     */
+    public void invalidateImage(Image img) {
+        nullNotPermitted(img, "img");
+        this.imageCache.remove(img);
+        removeRenderedImage(img);
+    }
+    
+    /**
+     * Removes the cached conversions (if any) for the specified rendered 
+     * image, that is the buffered image created by 
+     * {@link #drawRenderedImage(java.awt.image.RenderedImage, 
+     * java.awt.geom.AffineTransform)} and the JavaFX image converted from it.
+     * 
+     * @param img  the image ({@code null} not permitted).
+     */
+    public void invalidateRenderedImage(RenderedImage img) {
+        nullNotPermitted(img, "img");
+        removeRenderedImage(img);
+    }
+    
+    /**
+     * Removes a rendered image conversion and the JavaFX image converted 
+     * from it.  The key is an {@code Object} so that {@code Image} instances
+     * that are also rendered images can be removed.
+     * 
+     * @param img  the image.
+     */
+    private void removeRenderedImage(Object img) {
+        BufferedImage bi = this.renderedImageCache.remove(img);
+        if (bi != null) {
+            this.imageCache.remove(bi);
+        }
+    }
+    
+    /**
+     * Clears all the cached image conversions.
+     */
+    public void clearImageCache() {
+        this.imageCache.clear();
+        this.renderedImageCache.clear();
+    }
+    
     /**
      * This method is not implemented yet.
      * @return {@code null}.
@@ -290,6 +468,11 @@ public class FXGraphics2D extends Graphics2D {
         copy.setFont(getFont());
         copy.setTransform(getTransform());
         copy.setBackground(getBackground());
+        copy.pathCacheEnabled = this.pathCacheEnabled;
+        copy.pathCache = this.pathCache;
+        copy.imageCacheEnabled = this.imageCacheEnabled;
+        copy.imageCache = this.imageCache;
+        copy.renderedImageCache = this.renderedImageCache;
         return copy;
     }
 
@@ -693,12 +876,25 @@ public class FXGraphics2D extends Graphics2D {
     }
 
     /**
-     * Maps a shape to a path in the graphics context. 
+     * Maps a shape to a path in the graphics context.  If the path cache is
+     * enabled and the shape is an {@code Area} or {@code Path2D}, the path 
+     * commands are recorded on the first call and replayed thereafter.
      * 
      * @param s  the shape ({@code null} not permitted).
      */
     private void shapeToPath(Shape s) {
-        double[] coords = new double[6];
+        if (this.pathCacheEnabled && (s instanceof Area 
+                || s instanceof Path2D)) {
+            PathCommands commands = this.pathCache.get(s);
+            if (commands == null) {
+                commands = new PathCommands(s.getPathIterator(null), 
+                        this.coords);
+                this.pathCache.put(s, commands);
+            }
+            commands.replay(this.gc);
+            return;
+        }
+        double[] coords = this.coords;
         this.gc.beginPath();
         PathIterator iterator = s.getPathIterator(null);
         while (!iterator.isDone()) {
@@ -729,6 +925,108 @@ public class FXGraphics2D extends Graphics2D {
         }
     }
     
+    /**
+     * The segment types and coordinates of a shape, recorded once so that 
+     * they can be replayed to a graphics context without iterating over 
+     * the shape again.
+     */
+    private static final class PathCommands {
+        
+        /** The segment types. */
+        private byte[] types;
+        
+        /** The segment coordinates (packed, only those that are used). */
+        private double[] points;
+        
+        /** The number of segments. */
+        private int typeCount;
+        
+        /** The number of coordinates. */
+        private int pointCount;
+        
+        /**
+         * Records the segments from the specified iterator.
+         * 
+         * @param iterator  the path iterator.
+         * @param coords  a scratch buffer of length 6.
+         */
+        PathCommands(PathIterator iterator, double[] coords) {
+            this.types = new byte[16];
+            this.points = new double[32];
+            while (!iterator.isDone()) {
+                int segType = iterator.currentSegment(coords);
+                int n;
+                switch (segType) {
+                    case PathIterator.SEG_MOVETO:
+                    case PathIterator.SEG_LINETO:
+                        n = 2;
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        n = 4;
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        n = 6;
+                        break;
+                    case PathIterator.SEG_CLOSE:
+                        n = 0;
+                        break;
+                    default:
+                        throw new RuntimeException(
+                                "Unrecognised segment type " + segType);
+                }
+                if (this.typeCount == this.types.length) {
+                    this.types = Arrays.copyOf(this.types, 
+                            this.typeCount * 2);
+                }
+                this.types[this.typeCount++] = (byte) segType;
+                if (this.pointCount + n > this.points.length) {
+                    this.points = Arrays.copyOf(this.points, 
+                            Math.max(this.points.length * 2, 
+                            this.pointCount + n));
+                }
+                System.arraycopy(coords, 0, this.points, this.pointCount, n);
+                this.pointCount += n;
+                iterator.next();
+            }
+        }
+        
+        /**
+         * Replays the recorded segments as a new path in the specified 
+         * graphics context.
+         * 
+         * @param gc  the graphics context.
+         */
+        void replay(GraphicsContext gc) {
+            double[] p = this.points;
+            int i = 0;
+            gc.beginPath();
+            for (int t = 0; t < this.typeCount; t++) {
+                switch (this.types[t]) {
+                    case PathIterator.SEG_MOVETO:
+                        gc.moveTo(p[i], p[i + 1]);
+                        i += 2;
+                        break;
+                    case PathIterator.SEG_LINETO:
+                        gc.lineTo(p[i], p[i + 1]);
+                        i += 2;
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        gc.quadraticCurveTo(p[i], p[i + 1], p[i + 2], 
+                                p[i + 3]);
+                        i += 4;
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        gc.bezierCurveTo(p[i], p[i + 1], p[i + 2], p[i + 3],
+                                p[i + 4], p[i + 5]);
+                        i += 6;
+                        break;
+                    default:
+                        gc.closePath();
+                }
+            }
+        }
+    }
+    
     private ArcType intToArcType(int t) {
         if (t == Arc2D.CHORD) {
             return ArcType.CHORD;
@@ -1507,16 +1805,53 @@ public class FXGraphics2D extends Graphics2D {
     @Override
     public boolean drawImage(Image img, int x, int y, int width, int height, 
             ImageObserver observer) {
-        BufferedImage img2 = new BufferedImage(width, height, 
-                BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = img2.createGraphics();
-        g2.drawImage(img, 0, 0, width, height, null);
-        javafx.scene.image.WritableImage fxImage = SwingFXUtils.toFXImage(img2, 
-                null);
+        javafx.scene.image.Image fxImage = null;
+        if (this.imageCacheEnabled) {
+            fxImage = this.imageCache.get(img);
+            if (fxImage == null) {
+                fxImage = convertImage(img);
+                if (fxImage != null) {
+                    this.imageCache.put(img, fxImage);
+                }
+            }
+        }
+        if (fxImage == null) {
+            BufferedImage img2 = new BufferedImage(width, height, 
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = img2.createGraphics();
+            g2.drawImage(img, 0, 0, width, height, null);
+            fxImage = SwingFXUtils.toFXImage(img2, null);
+        }
         this.gc.drawImage(fxImage, x, y, width, height);
         return true;
     }
 
+    /**
+     * Converts an AWT image to a JavaFX image at its natural size (scaling
+     * is left to the graphics context when the image is drawn).
+     * 
+     * @param img  the image ({@code null} not permitted).
+     * 
+     * @return The JavaFX image, or {@code null} if the image size is not 
+     *     yet known. 
+     */
+    private static javafx.scene.image.Image convertImage(Image img) {
+        if (img instanceof BufferedImage) {
+            return SwingFXUtils.toFXImage((BufferedImage) img, null);
+        }
+        int w = img.getWidth(null);
+        int h = img.getHeight(null);
+        if (w <= 0 || h <= 0) {
+            return null;
+        }
+        BufferedImage img2 = new BufferedImage(w, h, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = img2.createGraphics();
+        g2.drawImage(img, 0, 0, null);
+        g2.dispose();
+        return SwingFXUtils.toFXImage(img2, null);
+    }
+
     /**
      * Draws an image at the location {@code (x, y)}.  Note that the 
      * {@code observer} is ignored.
@@ -1632,7 +1967,16 @@ public class FXGraphics2D extends Graphics2D {
 
     @Override
     public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
-        BufferedImage bi = convertRenderedImage(img);
+        BufferedImage bi;
+        if (this.imageCacheEnabled && !(img instanceof BufferedImage)) {
+            bi = this.renderedImageCache.get(img);
+            if (bi == null) {
+                bi = convertRenderedImage(img);
+                this.renderedImageCache.put(img, bi);
+            }
+        } else {
+            bi = convertRenderedImage(img);
+        }
         drawImage(bi, xform, null);
     }
 
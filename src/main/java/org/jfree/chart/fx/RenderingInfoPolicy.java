@@ -0,0 +1,68 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2014, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * RenderingInfoPolicy.java
+ * ------------------------
+ * (C) Copyright 2014, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.fx;
+
+import org.jfree.chart.ChartRenderingInfo;
+
+/**
+ * Controls how much {@link ChartRenderingInfo} a {@link ChartCanvas} 
+ * collects each time the chart is drawn.
+ * 
+ * <p>THE API FOR THIS CLASS IS SUBJECT TO CHANGE IN FUTURE RELEASES.  This is
+ * so that we can incorporate feedback on the (new) JavaFX support in 
+ * JFreeChart.</p>
+ */
+public enum RenderingInfoPolicy {
+    
+    /** 
+     * No rendering info is collected.  Use this for static charts that do
+     * not respond to the mouse (pan, zoom, tooltips and chart mouse events
+     * are all disabled). 
+     */
+    NONE,
+    
+    /** 
+     * The chart, plot and data areas are recorded but no entities are 
+     * created.  Pan and zoom work, but tooltips and chart mouse events will
+     * not report any entities.
+     */
+    PLOT_AREA,
+    
+    /** 
+     * The full rendering info is collected, including an entity for each
+     * data item (this is the default). 
+     */
+    FULL
+    
+}
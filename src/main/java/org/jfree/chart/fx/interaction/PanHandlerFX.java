@@ -145,6 +145,17 @@ public class PanHandlerFX extends AbstractMouseHandlerFX {
         boolean old = chart.getPlot().isNotify();
         chart.getPlot().setNotify(false);
         Pannable p = (Pannable) chart.getPlot();
+        if (canvas.isProgressiveInteraction()) {
+            boolean xPannable, yPannable;
+            if (p.getOrientation().isVertical()) {
+                xPannable = p.isDomainPannable();
+                yPannable = p.isRangePannable();
+            } else {
+                xPannable = p.isRangePannable();
+                yPannable = p.isDomainPannable();
+            }
+            canvas.previewPan(xPannable ? dx : 0.0, yPannable ? dy : 0.0);
+        }
         PlotRenderingInfo info = canvas.getRenderingInfo().getPlotInfo();
         if (p.getOrientation().isVertical()) {
             p.panDomainAxes(wPercent, info, this.panLast);
@@ -163,6 +174,7 @@ public class PanHandlerFX extends AbstractMouseHandlerFX {
         //unregister in any case
         if (this.panLast != null) {
             canvas.setCursor(javafx.scene.Cursor.DEFAULT);
+            canvas.endPreview();
         }
         this.panLast = null;
         canvas.clearLiveHandler();
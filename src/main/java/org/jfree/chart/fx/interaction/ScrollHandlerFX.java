@@ -118,6 +118,9 @@ public class ScrollHandlerFX extends AbstractMouseHandlerFX
             ScrollEvent e) {
         // don't zoom unless the mouse pointer is in the plot's data area
         ChartRenderingInfo info = canvas.getRenderingInfo();
+        if (info == null) {
+            return;
+        }
         PlotRenderingInfo pinfo = info.getPlotInfo();
         Point2D p = new Point2D.Double(e.getX(), e.getY());
         if (pinfo.getDataArea().contains(p)) {
@@ -130,6 +133,9 @@ public class ScrollHandlerFX extends AbstractMouseHandlerFX
             if (clicks < 0) {
                 zf = 1.0 / zf;
             }
+            if (canvas.isProgressiveInteraction()) {
+                canvas.previewZoom(1.0 / zf, 1.0 / zf, p.getX(), p.getY());
+            }
             if (true) { //this.chartPanel.isDomainZoomable()) {
                 zoomable.zoomDomainAxes(zf, pinfo, p, true);
             }
@@ -40,14 +40,15 @@
 
 package org.jfree.chart.fx.interaction;
 
+import javafx.animation.AnimationTimer;
 import javafx.scene.input.MouseEvent;
-import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.entity.ChartEntity;
-import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.fx.ChartCanvas;
 
 /**
- * Handles the updating of tooltips on a {@link ChartCanvas}.
+ * Handles the updating of tooltips on a {@link ChartCanvas}.  Mouse moves
+ * are coalesced so that the tooltip lookup runs at most once per JavaFX 
+ * pulse, using the most recent mouse location.
  * 
  * <p>THE API FOR THIS CLASS IS SUBJECT TO CHANGE IN FUTURE RELEASES.  This is
  * so that we can incorporate feedback on the (new) JavaFX support in 
@@ -58,6 +59,33 @@ import org.jfree.chart.fx.ChartCanvas;
 public class TooltipHandlerFX extends AbstractMouseHandlerFX 
         implements MouseHandlerFX {
     
+    /** The canvas for the pending tooltip update (can be null). */
+    private ChartCanvas pendingCanvas;
+    
+    /** The canvas x-coordinate for the pending update. */
+    private double pendingX;
+    
+    /** The canvas y-coordinate for the pending update. */
+    private double pendingY;
+    
+    /** The screen x-coordinate for the pending update. */
+    private double pendingScreenX;
+    
+    /** The screen y-coordinate for the pending update. */
+    private double pendingScreenY;
+    
+    /** 
+     * A timer that performs the pending update on the next pulse and then
+     * stops itself.
+     */
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop();
+            updateTooltip();
+        }
+    };
+    
     /**
      * Creates a new instance with the specified ID.
      * 
@@ -68,7 +96,8 @@ public class TooltipHandlerFX extends AbstractMouseHandlerFX
     }
 
     /**
-     * Handles a mouse moved event by updating the tooltip.
+     * Handles a mouse moved event by scheduling an update of the tooltip
+     * on the next pulse.
      * 
      * @param canvas  the chart canvas (<code>null</code> not permitted).
      * @param e  the mouse event.
@@ -78,8 +107,28 @@ public class TooltipHandlerFX extends AbstractMouseHandlerFX
         if (!canvas.isTooltipEnabled()) {
             return;
         }
-        String text = getTooltipText(canvas, e.getX(), e.getY());
-        canvas.setTooltip(text, e.getScreenX(), e.getScreenY());
+        boolean scheduled = this.pendingCanvas != null;
+        this.pendingCanvas = canvas;
+        this.pendingX = e.getX();
+        this.pendingY = e.getY();
+        this.pendingScreenX = e.getScreenX();
+        this.pendingScreenY = e.getScreenY();
+        if (!scheduled) {
+            this.pulse.start();
+        }
+    }
+    
+    /**
+     * Updates the tooltip for the most recent mouse location.
+     */
+    private void updateTooltip() {
+        ChartCanvas canvas = this.pendingCanvas;
+        this.pendingCanvas = null;
+        if (canvas == null || !canvas.isTooltipEnabled()) {
+            return;
+        }
+        String text = getTooltipText(canvas, this.pendingX, this.pendingY);
+        canvas.setTooltip(text, this.pendingScreenX, this.pendingScreenY);
     }
     
     /**
@@ -92,15 +141,7 @@ public class TooltipHandlerFX extends AbstractMouseHandlerFX
      * @return String The tooltip text (possibly <code>null</code>).
       */
     private String getTooltipText(ChartCanvas canvas, double x, double y) {
-        ChartRenderingInfo info = canvas.getRenderingInfo();
-        if (info == null) {
-            return null;
-        }
-        EntityCollection entities = info.getEntityCollection();
-        if (entities == null) {
-            return null;
-        }
-        ChartEntity entity = entities.getEntity(x, y);
+        ChartEntity entity = canvas.getEntityForPoint(x, y);
         if (entity == null) {
             return null;
         }
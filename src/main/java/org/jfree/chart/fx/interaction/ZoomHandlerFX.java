@@ -148,6 +148,9 @@ public class ZoomHandlerFX extends AbstractMouseHandlerFX {
             vZoom = z.isRangeZoomable();
         }
         Rectangle2D dataArea = canvas.findDataArea(this.startPoint);
+        if (dataArea == null) {
+            return;
+        }
         
         double x = this.startPoint.getX();
         double y = this.startPoint.getY();
@@ -178,6 +181,12 @@ public class ZoomHandlerFX extends AbstractMouseHandlerFX {
     @Override
     public void handleMouseReleased(ChartCanvas canvas, MouseEvent e) {  
         Plot p = canvas.getChart().getPlot();
+        if (this.startPoint == null || canvas.getRenderingInfo() == null) {
+            viewer.hideZoomRectangle();
+            this.startPoint = null;
+            canvas.clearLiveHandler();
+            return;
+        }
         if (!(p instanceof Zoomable)) {
             return;
         }
@@ -239,7 +248,7 @@ public class ZoomHandlerFX extends AbstractMouseHandlerFX {
                 double ph0 = percentH(y, dataArea);
                 double ph1 = percentH(y + h, dataArea);
                 PlotRenderingInfo info 
-                        = this.viewer.getRenderingInfo().getPlotInfo();
+                        = canvas.getRenderingInfo().getPlotInfo();
                 if (z.getOrientation().isVertical()) {
                     z.zoomDomainAxes(pw0, pw1, info, endPoint);
                     z.zoomRangeAxes(1 - ph1, 1 - ph0, info, endPoint);
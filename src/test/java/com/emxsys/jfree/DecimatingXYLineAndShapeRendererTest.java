@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.jfree;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.data.xy.XYDataset;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class DecimatingXYLineAndShapeRendererTest {
+
+    private static final int ITEMS = 200000;
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 400;
+
+    public DecimatingXYLineAndShapeRendererTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    /**
+     * A renderer that counts the items drawn.
+     */
+    private static class CountingRenderer extends DecimatingXYLineAndShapeRenderer {
+
+        int count;
+
+        CountingRenderer() {
+            super(true, false);
+        }
+
+        @Override
+        public void drawItem(Graphics2D g2, XYItemRendererState state, Rectangle2D dataArea,
+                PlotRenderingInfo info, XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
+                XYDataset dataset, int series, int item, CrosshairState crosshairState, int pass) {
+            count++;
+            super.drawItem(g2, state, dataArea, info, plot, domainAxis, rangeAxis, dataset, series,
+                    item, crosshairState, pass);
+        }
+    }
+
+    private static PrimitiveXYDataset createDataset() {
+        PrimitiveXYDataset dataset = new PrimitiveXYDataset();
+        int series = dataset.addSeries("Temp", ITEMS);
+        long[] x = new long[ITEMS];
+        double[] y = new double[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            x[i] = i * 1000L;
+            y[i] = 60 + 20 * Math.sin(i / 5000.0) + (i * 7919 % 13) / 2.0;
+        }
+        dataset.add(series, x, y, 0, ITEMS);
+        return dataset;
+    }
+
+    private static BufferedImage draw(JFreeChart chart) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.setAntiAlias(false);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, WIDTH, HEIGHT));
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Test of the decimated rendering: the plot only iterates over the
+     * retained items, and the chart matches a chart of every item.
+     */
+    @Test
+    public void testDecimatedRendering() {
+        System.out.println("decimated rendering");
+        PrimitiveXYDataset dataset = createDataset();
+        JFreeChart chart = ChartUtil.createDiurnalChart(dataset, "Test", "Time", "Temp");
+        XYPlot plot = (XYPlot) chart.getPlot();
+        CountingRenderer renderer = new CountingRenderer();
+        plot.setRenderer(renderer);
+        BufferedImage decimated = draw(chart);
+
+        DecimatedXYDataset view = (DecimatedXYDataset) plot.getDataset();
+        assertSame(dataset, view.getSource());
+        // At most four items per pixel column, in each pass
+        assertTrue("Items drawn: " + renderer.count, renderer.count < renderer.getPassCount() * (4 * WIDTH + 8));
+        assertTrue(view.getItemCount(0) < ITEMS / 10);
+        assertEquals(dataset.getRangeLowerBound(false), view.getRangeLowerBound(false), 0);
+        assertEquals(dataset.getRangeUpperBound(false), view.getRangeUpperBound(false), 0);
+        for (int i = 1; i < view.getItemCount(0); i++) {
+            assertTrue(view.getSourceItem(0, i) > view.getSourceItem(0, i - 1));
+        }
+
+        // The same chart with every item
+        JFreeChart fullChart = ChartUtil.createDiurnalChart(dataset, "Test", "Time", "Temp");
+        XYPlot fullPlot = (XYPlot) fullChart.getPlot();
+        XYLineAndShapeRenderer full = new XYLineAndShapeRenderer(true, false);
+        full.setDrawSeriesLineAsPath(true);
+        full.setSeriesPaint(0, renderer.lookupSeriesPaint(0));
+        fullPlot.setRenderer(full);
+        fullPlot.setDataset(dataset);
+        BufferedImage expected = draw(fullChart);
+        int differences = 0;
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                if (decimated.getRGB(x, y) != expected.getRGB(x, y)) {
+                    differences++;
+                }
+            }
+        }
+        assertTrue("Pixels differ: " + differences, differences < WIDTH * HEIGHT / 1000);
+    }
+
+    /**
+     * Test of DecimatedXYDataset: a change of the source presents every
+     * item again and is forwarded.
+     */
+    @Test
+    public void testSourceChange() {
+        System.out.println("source change");
+        PrimitiveXYDataset dataset = createDataset();
+        JFreeChart chart = ChartUtil.createDiurnalChart(dataset, "Test", "Time", "Temp");
+        draw(chart);
+        DecimatedXYDataset view = (DecimatedXYDataset) ((XYPlot) chart.getPlot()).getDataset();
+        assertTrue(view.getItemCount(0) < ITEMS);
+        final int[] events = {0};
+        view.addChangeListener(event -> events[0]++);
+        dataset.add(0, ITEMS * 1000L, 70);
+        assertEquals(1, events[0]);
+        assertEquals(ITEMS + 1, view.getItemCount(0));
+        assertEquals(ITEMS, view.getSourceItem(0, ITEMS));
+    }
+}
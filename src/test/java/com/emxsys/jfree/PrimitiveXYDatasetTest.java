@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.jfree;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class PrimitiveXYDatasetTest {
+
+    public PrimitiveXYDatasetTest() {
+    }
+
+    @Test
+    public void testAdd() {
+        System.out.println("add");
+        PrimitiveXYDataset instance = new PrimitiveXYDataset();
+        int series = instance.addSeries("Temp", 2);
+        for (int i = 0; i < 100; i++) {
+            instance.add(series, i * 60000L, 50 + i % 10);
+        }
+        assertEquals(100, instance.getItemCount(series));
+        assertEquals(99 * 60000.0, instance.getXValue(series, 99), 0.0);
+        assertEquals(59.0, instance.getYValue(series, 99), 0.0);
+        assertEquals(DomainOrder.ASCENDING, instance.getDomainOrder());
+        assertEquals(0.0, instance.getDomainLowerBound(false), 0.0);
+        assertEquals(99 * 60000.0, instance.getDomainUpperBound(false), 0.0);
+        assertEquals(50.0, instance.getRangeLowerBound(false), 0.0);
+        assertEquals(59.0, instance.getRangeUpperBound(false), 0.0);
+    }
+
+    @Test
+    public void testBatchAddFiresOneEvent() {
+        System.out.println("add batch");
+        PrimitiveXYDataset instance = new PrimitiveXYDataset();
+        int series = instance.addSeries("RH");
+        final int[] events = {0};
+        instance.addChangeListener(new DatasetChangeListener() {
+            @Override
+            public void datasetChanged(DatasetChangeEvent event) {
+                events[0]++;
+            }
+        });
+        long[] x = new long[1000];
+        double[] y = new double[1000];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+            y[i] = Math.sin(i);
+        }
+        instance.add(series, x, y, 0, x.length);
+        assertEquals(1, events[0]);
+        assertEquals(1000, instance.getItemCount(series));
+        assertEquals(Math.sin(500), instance.getYValue(series, 500), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddOutOfOrder() {
+        System.out.println("add out of order");
+        PrimitiveXYDataset instance = new PrimitiveXYDataset();
+        int series = instance.addSeries("Wind");
+        instance.add(series, 100L, 1.0);
+        instance.add(series, 50L, 1.0);
+    }
+
+    @Test
+    public void testVectors() {
+        System.out.println("getVectorXValue");
+        PrimitiveVectorXYDataset instance = new PrimitiveVectorXYDataset();
+        int series = instance.addSeries("Wind");
+        for (int i = 0; i < 100; i++) {
+            instance.add(series, i, 10.0, i, -i);
+        }
+        assertEquals(42.0, instance.getVectorXValue(series, 42), 0.0);
+        assertEquals(-42.0, instance.getVectorYValue(series, 42), 0.0);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.jfree;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import org.jfree.chart.plot.dial.DialCap;
+import org.jfree.data.general.DefaultValueDataset;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class SlopePlotTest {
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 300;
+
+    public SlopePlotTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    private static SlopeChart createChart(double slope) {
+        SlopeChart chart = new SlopeChart("Slope", new DefaultValueDataset(slope));
+        chart.setAntiAlias(false);
+        return chart;
+    }
+
+    private static BufferedImage draw(SlopeChart chart) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, WIDTH, HEIGHT));
+        g2.dispose();
+        return image;
+    }
+
+    private static void assertSameImage(BufferedImage expected, BufferedImage actual) {
+        int differences = 0;
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    differences++;
+                }
+            }
+        }
+        assertTrue("Pixels differ: " + differences, differences < WIDTH * HEIGHT / 1000);
+    }
+
+    /**
+     * Test of the layer cache: the cached chart matches the chart drawn by
+     * DialPlot as the slope changes, and drawing it fires no change events.
+     */
+    @Test
+    public void testLayerCache() {
+        System.out.println("layer cache");
+        SlopeChart chart = createChart(0);
+        SlopeChart cachedChart = createChart(0);
+        SlopePlot plot = (SlopePlot) cachedChart.getPlot();
+        plot.setLayerCacheEnabled(true);
+        final int[] events = {0};
+        cachedChart.addChangeListener(event -> events[0]++);
+        for (double slope : new double[]{35, 60, 5}) {
+            chart.dataset.setValue(slope);
+            cachedChart.dataset.setValue(slope);
+            events[0] = 0;
+            BufferedImage cached = draw(cachedChart);
+            assertEquals(0, events[0]);
+            assertSameImage(draw(chart), cached);
+        }
+        assertTrue(plot.getDialFrame().isVisible());
+    }
+
+    /**
+     * Test of the layer cache after a layer is added: the layer is drawn
+     * above the needle, as by DialPlot.
+     */
+    @Test
+    public void testLayersChanged() {
+        System.out.println("layers changed");
+        SlopeChart chart = createChart(45);
+        SlopeChart cachedChart = createChart(45);
+        SlopePlot plot = (SlopePlot) cachedChart.getPlot();
+        plot.setLayerCacheEnabled(true);
+        draw(cachedChart);
+        ((SlopePlot) chart.getPlot()).addLayer(new DialCap());
+        plot.addLayer(new DialCap());
+        assertSameImage(draw(chart), draw(cachedChart));
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.json.Json;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorSchedulerTest {
+
+    private static final long DELAY_MILLIS = 100;
+
+    private final FuelModel model = FuelModelFixture.createModel4();
+    private final List<FireBehaviorInputs> computed = new CopyOnWriteArrayList<>();
+    private final List<FireBehavior> published = new CopyOnWriteArrayList<>();
+    /**
+     * Released each time the publisher runs a task.
+     */
+    private final Semaphore publications = new Semaphore(0);
+    private FireBehaviorScheduler instance;
+
+    public FireBehaviorSchedulerTest() {
+    }
+
+    @After
+    public void tearDown() {
+        if (instance != null) {
+            instance.shutdown();
+        }
+    }
+
+    private FireBehaviorInputs inputs(double windSpeed) {
+        return new FireBehaviorInputs(model, windSpeed, 0, 0, 0);
+    }
+
+    /**
+     * Creates a scheduler whose publisher runs the tasks immediately, on the
+     * scheduler's thread.
+     */
+    private FireBehaviorScheduler createScheduler(Function<FireBehaviorInputs, FireBehavior> computation) {
+        return new FireBehaviorScheduler(inputs -> {
+            computed.add(inputs);
+            return computation.apply(inputs);
+        }, published::add, task -> {
+            task.run();
+            publications.release();
+        }, DELAY_MILLIS);
+    }
+
+    private static FireBehavior stub(FireBehaviorInputs inputs) {
+        return new FireBehavior(Json.createObjectBuilder()
+                .add("windSpeed", inputs.getWindSpeed())
+                .build());
+    }
+
+    private static double windSpeedOf(FireBehavior fire) {
+        return fire.getJsonObject().getJsonNumber("windSpeed").doubleValue();
+    }
+
+    /**
+     * Test of request method: a burst of requests within the debounce delay
+     * computes and publishes only the last inputs, once.
+     */
+    @Test
+    public void testDebounce() throws InterruptedException {
+        System.out.println("debounce");
+        instance = createScheduler(FireBehaviorSchedulerTest::stub);
+        for (int i = 1; i <= 5; i++) {
+            instance.request(inputs(i));
+        }
+        assertTrue(publications.tryAcquire(5, TimeUnit.SECONDS));
+        // Nothing else is published after the delay
+        assertFalse(publications.tryAcquire(DELAY_MILLIS * 3, TimeUnit.MILLISECONDS));
+        assertEquals(1, computed.size());
+        assertEquals(inputs(5), computed.get(0));
+        assertEquals(1, published.size());
+        assertEquals(5, windSpeedOf(published.get(0)), 0);
+    }
+
+    /**
+     * Test of request method: the result of a computation that is superseded
+     * while it runs is dropped, and only the newest result is published.
+     */
+    @Test
+    public void testSupersededInFlight() throws InterruptedException {
+        System.out.println("superseded in flight");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        instance = createScheduler(inputs -> {
+            if (inputs.getWindSpeed() == 1) {
+                started.countDown();
+                // Finish despite the interrupt, as a computation that does
+                // not block interruptibly would
+                boolean interrupted = false;
+                while (true) {
+                    try {
+                        release.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return stub(inputs);
+        });
+        instance.request(inputs(1));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        instance.request(inputs(2));
+        release.countDown();
+        assertTrue(publications.tryAcquire(5, TimeUnit.SECONDS));
+        assertFalse(publications.tryAcquire(DELAY_MILLIS * 3, TimeUnit.MILLISECONDS));
+        assertEquals(2, computed.size());
+        assertEquals(1, published.size());
+        assertEquals(2, windSpeedOf(published.get(0)), 0);
+    }
+
+    /**
+     * Test of request method: a request for the same inputs is ignored, unless
+     * the computation failed.
+     */
+    @Test
+    public void testRetryAfterFailure() throws InterruptedException {
+        System.out.println("retry after failure");
+        instance = createScheduler(inputs -> {
+            if (computed.size() == 1) {
+                throw new IllegalStateException("Failed");
+            }
+            return stub(inputs);
+        });
+        instance.request(inputs(1));
+        // The failure is published as the task that clears the last inputs
+        assertTrue(publications.tryAcquire(5, TimeUnit.SECONDS));
+        assertTrue(published.isEmpty());
+        instance.request(inputs(1));
+        assertTrue(publications.tryAcquire(5, TimeUnit.SECONDS));
+        assertEquals(2, computed.size());
+        assertEquals(1, published.size());
+
+        // Succeeded, so the same inputs are not computed again
+        instance.request(inputs(1));
+        assertFalse(publications.tryAcquire(DELAY_MILLIS * 3, TimeUnit.MILLISECONDS));
+        assertEquals(2, computed.size());
+    }
+
+}
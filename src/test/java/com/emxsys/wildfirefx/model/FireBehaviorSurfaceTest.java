@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import com.emxsys.wildfirefx.service.WmtRestService.Conditions;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.json.Json;
+import javax.json.JsonObject;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorSurfaceTest {
+
+    static FuelModel model4;
+    static SurfaceFireKernel kernel;
+    static ExecutorService executor;
+    static FireBehaviorSurface surface;
+
+    public FireBehaviorSurfaceTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        model4 = FuelModelFixture.createModel4();
+        kernel = new SurfaceFireKernel(Arrays.asList(model4));
+        executor = Executors.newFixedThreadPool(4);
+        surface = new FireBehaviorSurface(model4, FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE,
+                FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY, FireBehaviorSurfaceTest::compute, executor, 4);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        executor.shutdown();
+    }
+
+    private static JsonObject value(String type, double value) {
+        return Json.createObjectBuilder().add("type", type).add("value", Double.toString(value)).build();
+    }
+
+    /**
+     * Computes the fire behavior with the kernel, standing in for the
+     * WMT-REST server. The moistures get wetter with the conditions, and the
+     * effective wind speed is taken to be the wind speed.
+     */
+    private static FireBehavior compute(FireBehaviorInputs inputs) {
+        SurfaceFireKernel.Columns columns = new SurfaceFireKernel.Columns(1);
+        double wetness = inputs.getMoistureConditions().ordinal() * 3;
+        columns.dead1HrMoisture[0] = 6 + wetness;
+        columns.dead10HrMoisture[0] = 7 + wetness;
+        columns.dead100HrMoisture[0] = 8 + wetness;
+        columns.liveHerbMoisture[0] = 70 + wetness * 10;
+        columns.liveWoodyMoisture[0] = 70 + wetness * 10;
+        columns.midflameWindSpeed[0] = inputs.getWindSpeed();
+        columns.windDirection[0] = inputs.getWindDirection();
+        columns.aspect[0] = inputs.getAspect();
+        columns.slope[0] = inputs.getSlope();
+        kernel.compute(columns, false);
+        return new FireBehavior(Json.createObjectBuilder()
+                .add("effectiveWindSpeed", value("wind_speed:mph", inputs.getWindSpeed()))
+                .add("firelineIntensity", value("fire_line_intensity:Btu/ft/s", columns.firelineIntensity[0]))
+                .add("flameLength", value("flame_length:ft", columns.flameLength[0]))
+                .add("fuelBed", Json.createObjectBuilder()
+                        .add("fuelModel", model4.getJsonObject())
+                        .add("fuelMoisture", Json.createObjectBuilder()))
+                .add("rateOfSpreadBacking", value("rate_of_spread:ft/min", columns.rateOfSpreadBacking[0]))
+                .add("rateOfSpreadFlanking", value("rate_of_spread:ft/min", columns.rateOfSpreadFlanking[0]))
+                .add("rateOfSpreadMax", value("rate_of_spread:ft/min", columns.rateOfSpreadMax[0]))
+                .build());
+    }
+
+    private static FireBehaviorInputs inputs(Conditions conditions, double windSpeed, double windDirection,
+            double aspect, double slope) {
+        return new FireBehaviorInputs(model4, conditions, FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE,
+                FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY, windSpeed, windDirection, aspect, slope);
+    }
+
+    /**
+     * Test of estimate method: every value read by the FireBehavior getters
+     * is present, and exact at a grid node.
+     */
+    @Test
+    public void testEstimate() {
+        System.out.println("estimate");
+        FireBehaviorInputs inputs = inputs(Conditions.HOT_AND_DRY, 10, 300, 270, 30);
+        FireBehavior expResult = compute(inputs);
+        FireBehavior result = surface.estimate(inputs);
+        assertEquals(expResult.getRateOfSpreadMax(), result.getRateOfSpreadMax(), 0.001);
+        assertEquals(expResult.getRateOfSpreadFlanking(), result.getRateOfSpreadFlanking(), 0.001);
+        assertEquals(expResult.getRateOfSpreadBacking(), result.getRateOfSpreadBacking(), 0.001);
+        assertEquals(expResult.getFlameLength(), result.getFlameLength(), 0.001);
+        assertEquals(expResult.getFirelineIntensity(), result.getFirelineIntensity(), 0.01);
+        assertEquals(expResult.getEffectiveWindSpeed(), result.getEffectiveWindSpeed(), 0.001);
+        assertEquals("4", result.getFuelBed().getFuelModel().getModelNo());
+    }
+
+    /**
+     * Test of measureAccuracy method, against the direct computation at
+     * random inputs within the grid.
+     */
+    @Test
+    public void testMeasureAccuracy() {
+        System.out.println("measureAccuracy");
+        FireBehaviorSurface.Accuracy result = surface.measureAccuracy(FireBehaviorSurfaceTest::compute, 200, 0);
+        System.out.println(result);
+        assertEquals(200, result.getSamples());
+        assertTrue(result.getMeanError(FireBehaviorSurface.RATE_OF_SPREAD_MAX) < 5);
+        assertTrue(result.getMeanError(FireBehaviorSurface.FLAME_LENGTH) < 0.5);
+        assertTrue(result.getMaxRelativeError(FireBehaviorSurface.FLAME_LENGTH) < 0.25);
+        assertTrue(result.getMaxRelativeError(FireBehaviorSurface.EFFECTIVE_WIND_SPEED) < 1e-6);
+    }
+
+    /**
+     * Test of the parallel tabulation: the same surface as the sequential
+     * one, with one computation per grid node.
+     */
+    @Test
+    public void testParallel() {
+        System.out.println("parallel");
+        AtomicInteger count = new AtomicInteger();
+        FireBehaviorSurface sequential = new FireBehaviorSurface(model4,
+                FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE, FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY,
+                inputs -> {
+                    count.incrementAndGet();
+                    return compute(inputs);
+                });
+        assertEquals(surface.getNodeCount(), count.get());
+        double[] expResult = new double[FireBehaviorSurface.OUTPUTS];
+        double[] result = new double[FireBehaviorSurface.OUTPUTS];
+        for (Conditions conditions : Conditions.values()) {
+            for (double windSpeed = 0; windSpeed <= 30; windSpeed += 3.7) {
+                sequential.interpolate(conditions, windSpeed, 45, 250, 23, expResult);
+                surface.interpolate(conditions, windSpeed, 45, 250, 23, result);
+                assertArrayEquals(expResult, result, 0);
+            }
+        }
+    }
+
+    /**
+     * Test of the parallel tabulation when a computation fails.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testParallelFailure() {
+        System.out.println("parallel failure");
+        new FireBehaviorSurface(model4, FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE,
+                FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY, inputs -> {
+                    if (inputs.getSlope() > 40) {
+                        throw new IllegalStateException("Failed");
+                    }
+                    return compute(inputs);
+                }, executor, 4);
+    }
+
+    /**
+     * A direction step that does not divide 180 degrees is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidDirectionStep() {
+        System.out.println("invalid direction step");
+        new FireBehaviorSurface(model4, FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE,
+                FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY, FireBehaviorSurfaceTest::compute,
+                30, 2, 60, 5, 100);
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import com.emxsys.wildfirefx.model.FireBehaviorTable.Column;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorTableTest {
+
+    public FireBehaviorTableTest() {
+    }
+
+    @Test
+    public void testAdd() {
+        System.out.println("add");
+        FuelModel model1 = new FuelModel(null);
+        FuelModel model2 = new FuelModel(null);
+        FireBehaviorTable instance = new FireBehaviorTable(2);
+        for (int i = 0; i < 101; i++) {
+            instance.add(i % 2 == 0 ? model1 : model2, i, i / 2.0, i / 4.0, i * 10, i / 10.0, 1000);
+        }
+        assertEquals(101, instance.size());
+        assertEquals(2, instance.getFuelModels().size());
+        assertEquals(0, instance.getFuelModelId(0));
+        assertEquals(1, instance.getFuelModelId(1));
+        assertSame(model2, instance.getFuelModel(99));
+        assertEquals(50, instance.get(100, Column.RATE_OF_SPREAD_FLANKING), 0);
+        assertEquals(0, instance.getMin(Column.RATE_OF_SPREAD_MAX), 0);
+        assertEquals(100, instance.getMax(Column.RATE_OF_SPREAD_MAX), 0);
+        assertEquals(50, instance.getPercentile(Column.RATE_OF_SPREAD_MAX, 50), 0);
+        assertEquals(90, instance.getPercentile(Column.RATE_OF_SPREAD_MAX, 90), 1e-6);
+        assertEquals(1000, instance.getPercentile(Column.HEAT_RELEASE, 25), 0);
+    }
+
+    /**
+     * Test of add(FireBehavior): rows of the same fuel model share one id,
+     * although each FireBehavior builds a new fuel model instance.
+     */
+    @Test
+    public void testAddFireBehavior() {
+        System.out.println("add(FireBehavior)");
+        FireBehavior fire4 = createFireBehavior(FuelModelFixture.createModel4Json(), 2);
+        JsonObjectBuilder model5 = Json.createObjectBuilder();
+        FuelModelFixture.createModel4Json().forEach(model5::add);
+        FireBehavior fire5 = createFireBehavior(model5.add("modelNo", "5").build(), 3);
+        FireBehaviorTable instance = new FireBehaviorTable();
+        int rows = Short.MAX_VALUE + 2;
+        for (int i = 0; i < rows; i++) {
+            instance.add(i % 2 == 0 ? fire4 : fire5);
+        }
+        assertEquals(rows, instance.size());
+        assertEquals(2, instance.getFuelModels().size());
+        assertEquals("4", instance.getFuelModel(rows - 1).getModelNo());
+        assertEquals("5", instance.getFuelModel(rows - 2).getModelNo());
+        assertEquals(2, instance.get(0, Column.RATE_OF_SPREAD_MAX), 0);
+        assertEquals(1, instance.get(0, Column.RATE_OF_SPREAD_FLANKING), 0);
+        assertEquals(3, instance.getMax(Column.RATE_OF_SPREAD_MAX), 0);
+        assertEquals(1500, instance.get(1, Column.HEAT_RELEASE), 0);
+    }
+
+    private static FireBehavior createFireBehavior(JsonObject fuelModel, double rosMax) {
+        return new FireBehavior(Json.createObjectBuilder()
+                .add("firelineIntensity", FuelModelFixture.value(Double.toString(rosMax * 100)))
+                .add("flameLength", FuelModelFixture.value(Double.toString(rosMax)))
+                .add("fuelBed", Json.createObjectBuilder()
+                        .add("fuelModel", fuelModel)
+                        .add("fuelMoisture", Json.createObjectBuilder())
+                        .add("heatRelease", FuelModelFixture.value(Double.toString(rosMax * 500))))
+                .add("rateOfSpreadBacking", FuelModelFixture.value(Double.toString(rosMax / 4)))
+                .add("rateOfSpreadFlanking", FuelModelFixture.value(Double.toString(rosMax / 2)))
+                .add("rateOfSpreadMax", FuelModelFixture.value(Double.toString(rosMax)))
+                .build());
+    }
+
+    @Test
+    public void testCursor() {
+        System.out.println("cursor");
+        FuelModel model = new FuelModel(null);
+        FireBehaviorTable instance = new FireBehaviorTable();
+        for (int i = 0; i < 10; i++) {
+            instance.add(model, i, 0, 0, 0, 0, 0);
+        }
+        FireBehaviorTable.Cursor cursor = instance.cursor();
+        double sum = 0;
+        int rows = 0;
+        while (cursor.next()) {
+            sum += cursor.getRateOfSpreadMax();
+            assertSame(model, cursor.getFuelModel());
+            rows++;
+        }
+        assertEquals(10, rows);
+        assertEquals(45, sum, 0);
+        cursor.seek(3);
+        assertEquals(3, cursor.get(Column.RATE_OF_SPREAD_MAX), 0);
+    }
+}
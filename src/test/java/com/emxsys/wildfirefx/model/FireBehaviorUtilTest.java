@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorUtilTest {
+
+    public FireBehaviorUtilTest() {
+    }
+
+    @Test
+    public void testFastPow() {
+        System.out.println("fastPow046, fastPow217");
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            double x = Math.exp((random.nextDouble() - 0.5) * 100);
+            assertEquals(1, FireBehaviorUtil.fastPow046(x) / Math.pow(x, 0.46), 1e-11);
+            assertEquals(1, FireBehaviorUtil.fastPow217(x) / Math.pow(x, 2.17), 1e-11);
+        }
+        assertEquals(0, FireBehaviorUtil.fastPow046(0), 0);
+        assertEquals(1, FireBehaviorUtil.fastPow217(1), 1e-15);
+        assertTrue(Double.isNaN(FireBehaviorUtil.fastPow046(-1)));
+    }
+
+    @Test
+    public void testBatch() {
+        System.out.println("batch");
+        int n = 100000;
+        double[] flameLen = new double[n];
+        double[] ros = new double[n];
+        for (int i = 0; i < n; i++) {
+            flameLen[i] = 0.1 + i * 0.001;
+            ros[i] = 1 + i * 0.01;
+        }
+        double[] btu = FireBehaviorUtil.computeHeatAreaBtus(flameLen, ros, null, false);
+        double[] ros2 = FireBehaviorUtil.computeRateOfSpread(flameLen, btu, null, true);
+        double[] fli = FireBehaviorUtil.computeFirelineIntensity(btu, ros, null, true);
+        double[] fln = FireBehaviorUtil.computeFlameLength(fli, null, false);
+        for (int i = 0; i < n; i += 97) {
+            assertEquals(1, btu[i] / FireBehaviorUtil.computeHeatAreaBtus(flameLen[i], ros[i]), 1e-11);
+            assertEquals(1, ros2[i] / FireBehaviorUtil.computeRateOfSpread(flameLen[i], btu[i]), 1e-11);
+            assertEquals(fli[i], FireBehaviorUtil.computeFirelineIntensity(btu[i], ros[i]), 0);
+            assertEquals(1, fln[i] / FireBehaviorUtil.computeFlameLength(fli[i]), 1e-11);
+        }
+        // In place, sequential and parallel
+        double[] parallel = FireBehaviorUtil.computeFlameLength(fli, null, true);
+        FireBehaviorUtil.computeFlameLength(fli, fli, false);
+        assertArrayEquals(fli, parallel, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchLengths() {
+        System.out.println("batch lengths");
+        FireBehaviorUtil.computeFirelineIntensity(new double[2], new double[3], null, false);
+    }
+}
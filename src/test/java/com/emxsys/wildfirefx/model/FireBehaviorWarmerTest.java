@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.json.Json;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class FireBehaviorWarmerTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final List<FuelModel> models = Arrays.asList(createModel("1"), createModel("2"), createModel("3"));
+    private final List<FireBehaviorInputs> computed = new CopyOnWriteArrayList<>();
+    private FireBehaviorWarmer instance;
+
+    public FireBehaviorWarmerTest() {
+    }
+
+    @After
+    public void tearDown() {
+        if (instance != null) {
+            instance.shutdown();
+        }
+    }
+
+    private static FuelModel createModel(String modelNo) {
+        return new FuelModel(Json.createObjectBuilder()
+                .add("modelNo", modelNo)
+                .add("modelCode", "#" + modelNo)
+                .add("modelName", "Model " + modelNo)
+                .build());
+    }
+
+    private FireBehaviorInputs conditions(double windSpeed) {
+        return new FireBehaviorInputs(models.get(0), windSpeed, 0, 0, 0);
+    }
+
+    /**
+     * Creates a warmer with a single thread, so the first queued model is
+     * computed while the others wait in the queue.
+     */
+    private FireBehaviorWarmer createWarmer(Function<FireBehaviorInputs, FireBehavior> computation) {
+        return new FireBehaviorWarmer(inputs -> {
+            computed.add(inputs);
+            return computation.apply(inputs);
+        }, 1);
+    }
+
+    private static FireBehavior stub(FireBehaviorInputs inputs) {
+        return new FireBehavior(Json.createObjectBuilder().build());
+    }
+
+    /**
+     * Blocks until the first computation is released.
+     */
+    private static Function<FireBehaviorInputs, FireBehavior> blockFirst(CountDownLatch started,
+            CountDownLatch release) {
+        return inputs -> {
+            if (started.getCount() > 0) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return stub(inputs);
+        };
+    }
+
+    private static void await(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.get()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private boolean isWarmed(FireBehaviorInputs conditions) {
+        for (FuelModel model : models) {
+            if (instance.get(conditions.withFuelModel(model)) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int countComputed(FireBehaviorInputs inputs) {
+        int count = 0;
+        for (FireBehaviorInputs each : computed) {
+            if (each.equals(inputs)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean isPending(FireBehaviorInputs conditions) {
+        for (FuelModel model : models) {
+            if (instance.isPending(conditions.withFuelModel(model))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Test of warm method: overlapping warm-ups under the same conditions
+     * queue each model only once. The computations return no result, so a
+     * duplicate task would not be skipped as already cached.
+     */
+    @Test
+    public void testOverlappingWarm() throws InterruptedException {
+        System.out.println("overlapping warm");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<FireBehaviorInputs, FireBehavior> blocking = blockFirst(started, release);
+        instance = createWarmer(inputs -> {
+            blocking.apply(inputs);
+            return null;
+        });
+        FireBehaviorInputs conditions = conditions(10);
+        instance.warm(models, 0, conditions);
+        assertTrue(started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        instance.warm(models, 1, conditions);
+        instance.warm(models, 2, conditions);
+        release.countDown();
+        await(() -> !isPending(conditions));
+        assertEquals(models.size(), computed.size());
+        for (FuelModel model : models) {
+            assertEquals(1, countComputed(conditions.withFuelModel(model)));
+        }
+    }
+
+    /**
+     * Test of warm method: a change of conditions skips the computations
+     * still queued for the old conditions.
+     */
+    @Test
+    public void testConditionsChange() throws InterruptedException {
+        System.out.println("conditions change");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        instance = createWarmer(blockFirst(started, release));
+        FireBehaviorInputs oldConditions = conditions(10);
+        FireBehaviorInputs newConditions = conditions(20);
+        instance.warm(models, 0, oldConditions);
+        assertTrue(started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        instance.warm(models, 0, newConditions);
+        release.countDown();
+        await(() -> isWarmed(newConditions));
+        // Only the computation that was running for the old conditions ran
+        assertEquals(1, countComputed(oldConditions.withFuelModel(models.get(0))));
+        assertEquals(0, countComputed(oldConditions.withFuelModel(models.get(1))));
+        assertEquals(0, countComputed(oldConditions.withFuelModel(models.get(2))));
+        assertEquals(models.size() + 1, computed.size());
+        // And its result was not cached
+        assertNull(instance.get(oldConditions.withFuelModel(models.get(0))));
+    }
+
+    /**
+     * Test of warm method: a failed computation is queued again by the next
+     * warm-up.
+     */
+    @Test
+    public void testRetryAfterFailure() throws InterruptedException {
+        System.out.println("retry after failure");
+        FireBehaviorInputs conditions = conditions(10);
+        FireBehaviorInputs failing = conditions.withFuelModel(models.get(1));
+        instance = createWarmer(inputs -> {
+            if (inputs.equals(failing) && countComputed(failing) == 1) {
+                throw new IllegalStateException("Failed");
+            }
+            return stub(inputs);
+        });
+        instance.warm(models, 0, conditions);
+        await(() -> countComputed(failing) == 1 && !instance.isPending(failing));
+        assertNull(instance.get(failing));
+        instance.warm(models, 0, conditions);
+        await(() -> isWarmed(conditions));
+        assertEquals(2, countComputed(failing));
+        assertEquals(1, countComputed(conditions.withFuelModel(models.get(0))));
+        assertEquals(1, countComputed(conditions.withFuelModel(models.get(2))));
+    }
+
+}
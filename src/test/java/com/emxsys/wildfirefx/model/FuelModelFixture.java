@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * The fuel models shared by the model tests.
+ *
+ * @author Bruce Schubert
+ */
+final class FuelModelFixture {
+
+    private FuelModelFixture() {
+    }
+
+    /**
+     * @return Fuel model #4 as provided by the WMT-REST server.
+     */
+    static JsonObject createModel4Json() {
+        return Json.createObjectBuilder()
+                .add("modelNo", "4")
+                .add("modelCode", "#4")
+                .add("modelName", "Chaparral (6 feet)")
+                .add("dynamic", "false")
+                .add("dead1HrFuelLoad", value("1.1230883661399034"))
+                .add("dead10HrFuelLoad", value("0.8989190315810404"))
+                .add("dead100HrFuelLoad", value("0.4483386691177259"))
+                .add("liveHerbFuelLoad", value("0.0"))
+                .add("liveWoodyFuelLoad", value("1.1230883661399034"))
+                .add("dead1HrSAVRatio", value("6561.679790026247"))
+                .add("dead10HrSAVRatio", value("357.6115485564305"))
+                .add("dead100HrSAVRatio", value("98.4251968503937"))
+                .add("liveHerbSAVRatio", value("0.0"))
+                .add("liveWoodySAVRatio", value("4921.259842519685"))
+                .add("fuelBedDepth", value("1.8287999999999998"))
+                .add("moistureOfExtinction", value("20.0"))
+                .add("lowHeatContent", value("18608.0"))
+                .build();
+    }
+
+    /**
+     * @return Fuel model #4 as provided by the WMT-REST server.
+     */
+    static FuelModel createModel4() {
+        return new FuelModel(createModel4Json());
+    }
+
+    static JsonObject value(String value) {
+        return Json.createObjectBuilder().add("value", value).build();
+    }
+}
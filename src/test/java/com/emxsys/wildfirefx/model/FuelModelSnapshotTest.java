@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.json.Json;
+import javax.json.JsonObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class FuelModelSnapshotTest {
+
+    private Path file;
+
+    public FuelModelSnapshotTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("fuelmodels", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static JsonObject value(String type, String value) {
+        return Json.createObjectBuilder().add("type", type).add("value", value).build();
+    }
+
+    /**
+     * Fuel model #4 as provided by the WMT-REST server, plus a field the
+     * snapshot does not know about.
+     */
+    private static FuelModel createModel4() {
+        return new FuelModel(Json.createObjectBuilder()
+                .add("modelNo", "4")
+                .add("modelCode", "#4")
+                .add("modelName", "Chaparral (6 feet)")
+                .add("modelGroup", "Original 13")
+                .add("dynamic", "false")
+                .add("dead1HrFuelLoad", value("fuel_load:kg/m2", "1.1230883661399034"))
+                .add("dead1HrSAVRatio", value("surface_to_volume:m2/m3", "6561.679790026247"))
+                .add("fuelBedDepth", value("fuel_depth:m", "1.8287999999999998"))
+                .add("moistureOfExtinction", value("moisture_of_extinction:%", "20.0"))
+                .add("lowHeatContent", value("heat_content:kJ/kg", "18608.0"))
+                .add("reference", "Anderson (1982) \"Aids to Determining Fuel Models\"")
+                .add("burnable", true)
+                .build());
+    }
+
+    private static FuelModel createModel(String modelNo, String modelName) {
+        return new FuelModel(Json.createObjectBuilder()
+                .add("modelNo", modelNo)
+                .add("modelName", modelName)
+                .build());
+    }
+
+    private Map<String, List<FuelModel>> createCatalogs(FuelModel... standard) {
+        Map<String, List<FuelModel>> catalogs = new LinkedHashMap<>();
+        catalogs.put(FuelModelSnapshot.ORIGINAL, Collections.singletonList(createModel4()));
+        catalogs.put(FuelModelSnapshot.STANDARD, Arrays.asList(standard));
+        return catalogs;
+    }
+
+    /**
+     * The JSON read back is the JSON written, including the fields the
+     * snapshot does not know about and the exact value text.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        System.out.println("round trip");
+        Map<String, List<FuelModel>> catalogs = createCatalogs(
+                createModel("101", "Short, sparse dry climate grass"),
+                createModel("102", "Low load, dry climate grass"));
+        FuelModelSnapshot.write(file, catalogs);
+        FuelModelSnapshot instance = FuelModelSnapshot.open(file);
+        assertEquals(3, instance.size());
+        assertEquals(Arrays.asList(FuelModelSnapshot.ORIGINAL, FuelModelSnapshot.STANDARD), instance.getCategories());
+        catalogs.forEach((category, expResult) -> {
+            List<FuelModel> result = instance.getFuelModels(category);
+            assertEquals(expResult.size(), result.size());
+            for (int i = 0; i < result.size(); i++) {
+                assertEquals(expResult.get(i).getJsonObject(), result.get(i).getJsonObject());
+                assertEquals(expResult.get(i).getJsonObject().toString(), result.get(i).getJsonObject().toString());
+            }
+        });
+    }
+
+    @Test
+    public void testGetFuelModel() throws IOException {
+        System.out.println("getFuelModel");
+        FuelModelSnapshot.write(file, createCatalogs(createModel("101", "GR1")));
+        FuelModelSnapshot instance = FuelModelSnapshot.open(file);
+        FuelModel result = instance.getFuelModel("101");
+        assertEquals("GR1", result.getModelName());
+        assertSame(result, instance.getFuelModel("101"));
+        assertSame(result, instance.getFuelModels(FuelModelSnapshot.STANDARD).get(0));
+        assertNull(instance.getFuelModel("102"));
+    }
+
+    /**
+     * The getters read the record values, and give the same results as the
+     * fuel model that was written.
+     */
+    @Test
+    public void testRecordValues() throws IOException {
+        System.out.println("record values");
+        FuelModel expResult = FuelModelFixture.createModel4();
+        Map<String, List<FuelModel>> catalogs = new LinkedHashMap<>();
+        catalogs.put(FuelModelSnapshot.ORIGINAL, Collections.singletonList(expResult));
+        FuelModelSnapshot.write(file, catalogs);
+        FuelModel result = FuelModelSnapshot.open(file).getFuelModel("4");
+        assertEquals(expResult.getModelNo(), result.getModelNo());
+        assertEquals(expResult.getModelCode(), result.getModelCode());
+        assertEquals(expResult.getModelName(), result.getModelName());
+        assertEquals(expResult.isDynamic(), result.isDynamic());
+        assertEquals(expResult.getDead1HrFuelLoad(), result.getDead1HrFuelLoad(), 0);
+        assertEquals(expResult.getDead10HrFuelLoad(), result.getDead10HrFuelLoad(), 0);
+        assertEquals(expResult.getDead100HrFuelLoad(), result.getDead100HrFuelLoad(), 0);
+        assertEquals(expResult.getLiveHerbFuelLoad(), result.getLiveHerbFuelLoad(), 0);
+        assertEquals(expResult.getLiveWoodyFuelLoad(), result.getLiveWoodyFuelLoad(), 0);
+        assertEquals(expResult.getDead1HrSAVRatio(), result.getDead1HrSAVRatio(), 0);
+        assertEquals(expResult.getDead10HrSAVRatio(), result.getDead10HrSAVRatio(), 0);
+        assertEquals(expResult.getDead100HrSAVRatio(), result.getDead100HrSAVRatio(), 0);
+        assertEquals(expResult.getLiveHerbSAVRatio(), result.getLiveHerbSAVRatio(), 0);
+        assertEquals(expResult.getLiveWoodySAVRatio(), result.getLiveWoodySAVRatio(), 0);
+        assertEquals(expResult.getFuelBedDepth(), result.getFuelBedDepth(), 0);
+        assertEquals(expResult.getMoistureOfExtinction(), result.getMoistureOfExtinction(), 0);
+        assertEquals(expResult.getLowHeatContent(), result.getLowHeatContent(), 0);
+        assertEquals(expResult.getJsonObject(), result.getJsonObject());
+    }
+
+    @Test
+    public void testIsBurnable() throws IOException {
+        System.out.println("isBurnable");
+        FuelModelSnapshot.write(file, createCatalogs(new FuelModel(Json.createObjectBuilder()
+                .add("modelNo", "91")
+                .add("modelName", "Urban, developed")
+                .add("burnable", false)
+                .build())));
+        FuelModelSnapshot instance = FuelModelSnapshot.open(file);
+        assertTrue(instance.getFuelModel("4").isBurnable());
+        assertFalse(instance.getFuelModel("91").isBurnable());
+    }
+
+    /**
+     * A fuel model whose JSON text is longer than 64K.
+     */
+    @Test
+    public void testLongJson() throws IOException {
+        System.out.println("long JSON");
+        char[] chars = new char[70000];
+        Arrays.fill(chars, 'x');
+        FuelModel model = createModel("204", new String(chars));
+        FuelModelSnapshot.write(file, createCatalogs(model));
+        assertEquals(model.getJsonObject(), FuelModelSnapshot.open(file).getFuelModel("204").getJsonObject());
+    }
+
+    @Test
+    public void testGetCreated() throws IOException {
+        System.out.println("getCreated");
+        Instant created = Instant.ofEpochMilli(1445000000000L);
+        FuelModelSnapshot.write(file, createCatalogs(createModel("101", "GR1")), created);
+        assertEquals(created, FuelModelSnapshot.readCreated(file));
+        assertEquals(created, FuelModelSnapshot.open(file).getCreated());
+    }
+
+    /**
+     * A snapshot of another format version is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testOtherVersion() throws IOException {
+        System.out.println("other version");
+        FuelModelSnapshot.write(file, createCatalogs(createModel("101", "GR1")));
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(4, FuelModelSnapshot.VERSION - 1);
+        Files.write(file, bytes);
+        FuelModelSnapshot.readCreated(file);
+    }
+
+}
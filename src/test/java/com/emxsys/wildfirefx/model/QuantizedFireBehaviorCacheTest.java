@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import com.emxsys.wildfirefx.service.WmtRestService.Conditions;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.Json;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class QuantizedFireBehaviorCacheTest {
+
+    private FuelModel model;
+    private final List<FireBehaviorInputs> computed = new ArrayList<>();
+
+    public QuantizedFireBehaviorCacheTest() {
+    }
+
+    @Before
+    public void setUp() {
+        model = createModel("4");
+        computed.clear();
+    }
+
+    private static FuelModel createModel(String modelNo) {
+        return new FuelModel(Json.createObjectBuilder().add("modelNo", modelNo).build());
+    }
+
+    private FireBehavior compute(FireBehaviorInputs inputs) {
+        computed.add(inputs);
+        return new FireBehavior(Json.createObjectBuilder().build());
+    }
+
+    private FireBehaviorInputs inputs(double windSpeed) {
+        return inputs(model, windSpeed, 0, 0, 0, FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE);
+    }
+
+    private static FireBehaviorInputs inputs(FuelModel model, double windSpeed, double windDirection,
+            double aspect, double slope, double airTemperature) {
+        return new FireBehaviorInputs(model, Conditions.HOT_AND_DRY, airTemperature,
+                FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY, windSpeed, windDirection, aspect, slope);
+    }
+
+    @Test
+    public void testQuantize() {
+        System.out.println("quantize");
+        QuantizedFireBehaviorCache instance = new QuantizedFireBehaviorCache(16);
+        assertEquals(10.0, instance.quantize(inputs(10.04)).getWindSpeed(), 1e-9);
+        assertEquals(10.1, instance.quantize(inputs(10.06)).getWindSpeed(), 1e-9);
+        // The wind speed field holds 0 to 2047 steps of 0.1 mph
+        assertEquals(0, instance.quantize(inputs(-0.04)).getWindSpeed(), 0);
+        assertNull(instance.quantize(inputs(-0.06)));
+        assertEquals(204.7, instance.quantize(inputs(204.7)).getWindSpeed(), 1e-9);
+        assertNull(instance.quantize(inputs(204.76)));
+        assertNull(instance.quantize(inputs(Double.NaN)));
+        // The air temperature field holds -60 to 451 F
+        assertEquals(-60, instance.quantize(inputs(model, 0, 0, 0, 0, -60)).getAirTemperature(), 1e-9);
+        assertNull(instance.quantize(inputs(model, 0, 0, 0, 0, -60.6)));
+        assertEquals(451, instance.quantize(inputs(model, 0, 0, 0, 0, 451)).getAirTemperature(), 1e-9);
+        assertNull(instance.quantize(inputs(model, 0, 0, 0, 0, 451.6)));
+        // Angles are normalized to [0, 360)
+        assertEquals(359, instance.quantize(inputs(model, 0, -1, 0, 0, 80)).getWindDirection(), 1e-9);
+        assertEquals(0, instance.quantize(inputs(model, 0, 359.6, 0, 0, 80)).getWindDirection(), 1e-9);
+        assertEquals(0, instance.quantize(inputs(model, 0, 0, 720.4, 0, 80)).getAspect(), 1e-9);
+        // The whole slope range fits
+        assertEquals(90, instance.quantize(inputs(model, 0, 0, 0, 90, 80)).getSlope(), 1e-9);
+        assertNull(instance.quantize(inputs(model, 0, 0, 0, -1, 80)));
+    }
+
+    @Test
+    public void testQuantizeFullSlopeRange() {
+        System.out.println("quantize full slope range");
+        // 255 slope steps and the last fuel model id, all ones in every field
+        // but the moisture conditions
+        QuantizedFireBehaviorCache instance = new QuantizedFireBehaviorCache(16,
+                0.1, 360.0 / 1024, 90.0 / 255, 360.0 / 1024, 1, 100.0 / 255);
+        for (int i = 0; i < 63; i++) {
+            instance.quantize(inputs(createModel("m" + i), 0, 0, 0, 0, 80));
+        }
+        FireBehaviorInputs last = new FireBehaviorInputs(model, Conditions.COOL_AND_WET, 451, 100,
+                204.7, 360 - 360.0 / 1024, 360 - 360.0 / 1024, 90);
+        FireBehaviorInputs result = instance.quantize(last);
+        assertNotNull(result);
+        assertSame(model, result.getFuelModel());
+        assertEquals(90, result.getSlope(), 1e-9);
+        assertEquals(100, result.getRelativeHumidity(), 1e-9);
+    }
+
+    @Test
+    public void testGet() {
+        System.out.println("get");
+        QuantizedFireBehaviorCache instance = new QuantizedFireBehaviorCache(16);
+        FireBehavior first = instance.get(inputs(10.02), this::compute);
+        FireBehavior second = instance.get(inputs(10.04), this::compute);
+        assertSame(first, second);
+        assertEquals(1, computed.size());
+        assertEquals(10.0, computed.get(0).getWindSpeed(), 1e-9);
+        assertEquals(1, instance.getHits());
+        assertEquals(1, instance.getMisses());
+
+        // Inputs that do not fit are computed exactly
+        FireBehaviorInputs outOfRange = inputs(500);
+        instance.get(outOfRange, this::compute);
+        assertSame(outOfRange, computed.get(1));
+        assertEquals(1, instance.getBypasses());
+    }
+
+    @Test
+    public void testTooManyFuelModels() {
+        System.out.println("too many fuel models");
+        QuantizedFireBehaviorCache instance = new QuantizedFireBehaviorCache(256);
+        for (int i = 0; i < 64; i++) {
+            assertNotNull(instance.quantize(inputs(createModel("m" + i), 0, 0, 0, 0, 80)));
+        }
+        assertNull(instance.quantize(inputs(model, 0, 0, 0, 0, 80)));
+    }
+
+    @Test
+    public void testEviction() {
+        System.out.println("eviction");
+        // A single set of two ways
+        QuantizedFireBehaviorCache instance = new QuantizedFireBehaviorCache(2);
+        FireBehavior a = instance.get(inputs(1), this::compute);
+        FireBehavior b = instance.get(inputs(2), this::compute);
+        assertSame(a, instance.get(inputs(1), this::compute));  // a is the most recent
+        FireBehavior c = instance.get(inputs(3), this::compute);  // evicts b
+        assertEquals(1, instance.getEvictions());
+        assertSame(a, instance.get(inputs(1), this::compute));
+        assertSame(c, instance.get(inputs(3), this::compute));
+        assertNotSame(b, instance.get(inputs(2), this::compute));  // evicts a
+        assertEquals(2, instance.getEvictions());
+        assertEquals(4, computed.size());
+        assertEquals(3, instance.getHits());
+
+        instance.clear();
+        assertEquals(0, instance.getHits());
+        assertNotSame(c, instance.get(inputs(3), this::compute));
+    }
+
+    @Test
+    public void testCapacity() {
+        System.out.println("capacity");
+        for (int capacity : new int[]{2, 3, 4, 5, 1000}) {
+            QuantizedFireBehaviorCache instance = new QuantizedFireBehaviorCache(capacity);
+            for (int i = 0; i < 2000; i++) {
+                instance.get(inputs(i * 0.1), this::compute);
+            }
+            assertEquals(2000, instance.getMisses());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityTooSmall() {
+        System.out.println("capacity too small");
+        new QuantizedFireBehaviorCache(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityTooLarge() {
+        System.out.println("capacity too large");
+        new QuantizedFireBehaviorCache((1 << 30) + 1);
+    }
+}
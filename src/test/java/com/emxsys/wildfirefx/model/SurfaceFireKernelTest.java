@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import java.util.Arrays;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class SurfaceFireKernelTest {
+
+    static FuelModel model4;
+
+    public SurfaceFireKernelTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        model4 = FuelModelFixture.createModel4();
+    }
+
+    /**
+     * Compares the kernel with the WMT-REST server's fire behavior for fuel
+     * model #4, hot and dry, 30 degree slope (see FireBehaviorTest).
+     */
+    @Test
+    public void testCompute() {
+        System.out.println("compute");
+        SurfaceFireKernel instance = new SurfaceFireKernel(Arrays.asList(model4));
+        SurfaceFireKernel.Columns columns = new SurfaceFireKernel.Columns(3);
+        for (int i = 0; i < columns.size; i++) {
+            columns.dead1HrMoisture[i] = 6;
+            columns.dead10HrMoisture[i] = 7;
+            columns.dead100HrMoisture[i] = 8;
+            columns.liveHerbMoisture[i] = 70;
+            columns.liveWoodyMoisture[i] = 70;
+            columns.midflameWindSpeed[i] = 6.292451634296434;
+            columns.windDirection[i] = 135;
+            columns.aspect[i] = 270;
+            columns.slope[i] = 30;
+        }
+        columns.dead1HrMoisture[2] = 25;    // above the moisture of extinction
+        columns.dead10HrMoisture[2] = 25;
+        columns.dead100HrMoisture[2] = 25;
+        instance.compute(columns, false);
+
+        assertEquals(5.844834506657489, columns.rateOfSpreadNoWindNoSlope[0], 0.01);
+        assertEquals(12434.728679843649, columns.reactionIntensity[0], 15);
+        assertEquals(2745.4317115158465, columns.heatRelease[0], 3);
+        assertEquals(114.64958478903517, columns.rateOfSpreadMax[0], 0.2);
+        assertEquals(11.246842087522502, columns.rateOfSpreadFlanking[0], 0.05);
+        assertEquals(5.9134694426877665, columns.rateOfSpreadBacking[0], 0.05);
+        assertEquals(5246.0434298657, columns.firelineIntensity[0], 10);
+        assertEquals(23.138498817644386, columns.flameLength[0], 0.05);
+        assertEquals(columns.rateOfSpreadMax[0], columns.rateOfSpreadMax[1], 0);
+        assertEquals(0, columns.rateOfSpreadMax[2], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFuelModel() {
+        System.out.println("invalid fuel model");
+        SurfaceFireKernel instance = new SurfaceFireKernel(Arrays.asList(model4));
+        SurfaceFireKernel.Columns columns = new SurfaceFireKernel.Columns(1);
+        columns.fuelModel[0] = 1;
+        instance.compute(columns, false);
+    }
+}
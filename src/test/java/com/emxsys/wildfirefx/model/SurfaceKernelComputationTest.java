@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.model;
+
+import com.emxsys.wildfirefx.service.WmtRestService.Conditions;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.json.Json;
+import javax.json.JsonObject;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class SurfaceKernelComputationTest {
+
+    private static final double WIND_ADJUSTMENT = 0.4;
+
+    private final FuelModel model4 = FuelModelFixture.createModel4();
+    private final SurfaceFireKernel kernel = new SurfaceFireKernel(Arrays.asList(model4));
+    private final AtomicInteger references = new AtomicInteger();
+
+    public SurfaceKernelComputationTest() {
+    }
+
+    private static JsonObject value(String type, double value) {
+        return Json.createObjectBuilder().add("type", type).add("value", Double.toString(value)).build();
+    }
+
+    /**
+     * Computes the fire behavior with the kernel, standing in for the
+     * WMT-REST server: the moistures get wetter with the conditions, and the
+     * midflame wind is a fixed fraction of the wind speed.
+     */
+    private SurfaceFireKernel.Columns computeColumns(FireBehaviorInputs inputs) {
+        SurfaceFireKernel.Columns columns = new SurfaceFireKernel.Columns(1);
+        double wetness = inputs.getMoistureConditions().ordinal() * 3;
+        columns.dead1HrMoisture[0] = 6 + wetness;
+        columns.dead10HrMoisture[0] = 7 + wetness;
+        columns.dead100HrMoisture[0] = 8 + wetness;
+        columns.liveHerbMoisture[0] = 70 + wetness * 10;
+        columns.liveWoodyMoisture[0] = 70 + wetness * 10;
+        columns.midflameWindSpeed[0] = inputs.getWindSpeed() * WIND_ADJUSTMENT;
+        columns.windDirection[0] = inputs.getWindDirection();
+        columns.aspect[0] = inputs.getAspect();
+        columns.slope[0] = inputs.getSlope();
+        kernel.compute(columns, false);
+        return columns;
+    }
+
+    private FireBehavior reference(FireBehaviorInputs inputs) {
+        references.incrementAndGet();
+        SurfaceFireKernel.Columns columns = computeColumns(inputs);
+        return new FireBehavior(Json.createObjectBuilder()
+                .add("effectiveWindSpeed", value("wind_speed:mph", columns.effectiveWindSpeed[0]))
+                .add("firelineIntensity", value("fire_line_intensity:Btu/ft/s", columns.firelineIntensity[0]))
+                .add("flameLength", value("flame_length:ft", columns.flameLength[0]))
+                .add("fuelBed", Json.createObjectBuilder()
+                        .add("fuelModel", model4.getJsonObject())
+                        .add("fuelMoisture", Json.createObjectBuilder()
+                                .add("dead1HrFuelMoisture", value("fuel_moisture_1h:%", columns.dead1HrMoisture[0]))
+                                .add("dead10HrFuelMoisture", value("fuel_moisture_10h:%", columns.dead10HrMoisture[0]))
+                                .add("dead100HrFuelMoisture", value("fuel_moisture_100h:%", columns.dead100HrMoisture[0]))
+                                .add("liveHerbFuelMoisture", value("fuel_moisture_herb:%", columns.liveHerbMoisture[0]))
+                                .add("liveWoodyFuelMoisture", value("fuel_moisture_woody:%", columns.liveWoodyMoisture[0]))))
+                .add("rateOfSpreadBacking", value("rate_of_spread:ft/min", columns.rateOfSpreadBacking[0]))
+                .add("rateOfSpreadFlanking", value("rate_of_spread:ft/min", columns.rateOfSpreadFlanking[0]))
+                .add("rateOfSpreadMax", value("rate_of_spread:ft/min", columns.rateOfSpreadMax[0]))
+                .build());
+    }
+
+    private SurfaceKernelComputation createComputation() {
+        return new SurfaceKernelComputation(model4, FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE,
+                FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY, this::reference);
+    }
+
+    /**
+     * Test of the calibration: one reference per moisture class, and the
+     * wind adjustment factor of the reference.
+     */
+    @Test
+    public void testCalibration() {
+        System.out.println("calibration");
+        SurfaceKernelComputation instance = createComputation();
+        assertEquals(Conditions.values().length, references.get());
+        assertEquals(WIND_ADJUSTMENT, instance.getWindAdjustment(), 1e-9);
+    }
+
+    /**
+     * Test of apply method, against the reference away from the calibration
+     * inputs.
+     */
+    @Test
+    public void testApply() {
+        System.out.println("apply");
+        SurfaceKernelComputation instance = createComputation();
+        for (Conditions conditions : Conditions.values()) {
+            FireBehaviorInputs inputs = new FireBehaviorInputs(model4, conditions,
+                    FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE, FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY,
+                    17, 300, 250, 35);
+            FireBehavior expResult = reference(inputs);
+            FireBehavior result = instance.apply(inputs);
+            assertEquals(expResult.getRateOfSpreadMax(), result.getRateOfSpreadMax(), 1e-9);
+            assertEquals(expResult.getRateOfSpreadFlanking(), result.getRateOfSpreadFlanking(), 1e-9);
+            assertEquals(expResult.getRateOfSpreadBacking(), result.getRateOfSpreadBacking(), 1e-9);
+            assertEquals(expResult.getFlameLength(), result.getFlameLength(), 1e-9);
+            assertEquals(expResult.getFirelineIntensity(), result.getFirelineIntensity(), 1e-9);
+            assertEquals(expResult.getEffectiveWindSpeed(), result.getEffectiveWindSpeed(), 1e-9);
+            assertEquals("4", result.getFuelBed().getFuelModel().getModelNo());
+        }
+    }
+
+    /**
+     * Test of tabulating a surface: the grid nodes do not call the
+     * reference.
+     */
+    @Test
+    public void testSurface() {
+        System.out.println("surface");
+        SurfaceKernelComputation instance = createComputation();
+        FireBehaviorSurface surface = new FireBehaviorSurface(model4, FireBehaviorInputs.DEFAULT_AIR_TEMPERATURE,
+                FireBehaviorInputs.DEFAULT_RELATIVE_HUMIDITY, instance);
+        assertEquals(Conditions.values().length, references.get());
+        FireBehaviorSurface.Accuracy accuracy = surface.measureAccuracy(this::reference, 100, 0);
+        assertTrue(accuracy.getMaxRelativeError(FireBehaviorSurface.FLAME_LENGTH) < 0.25);
+    }
+
+}
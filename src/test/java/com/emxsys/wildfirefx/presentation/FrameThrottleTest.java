@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.presentation;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class FrameThrottleTest {
+
+    private FrameThrottle instance;
+    private DoubleProperty number;
+    private final List<Double> applied = new ArrayList<>();
+
+    public FrameThrottleTest() {
+    }
+
+    @Before
+    public void setUp() {
+        // Without an animation timer; the test flushes the frames
+        instance = new FrameThrottle(false);
+        number = new SimpleDoubleProperty(10);
+        applied.clear();
+    }
+
+    /**
+     * Test of bind method: the target is called immediately with the
+     * current value.
+     */
+    @Test
+    public void testBind() {
+        System.out.println("bind");
+        instance.bind(number, 0.5, applied::add);
+        assertEquals(1, applied.size());
+        assertEquals(10, applied.get(0), 0);
+    }
+
+    /**
+     * Test of flush method: the changes within a frame are coalesced into
+     * one update with the latest value.
+     */
+    @Test
+    public void testCoalescing() {
+        System.out.println("coalescing");
+        instance.bind(number, 0, applied::add);
+        number.set(11);
+        number.set(12);
+        number.set(13);
+        assertEquals(1, applied.size());
+        instance.flush();
+        assertEquals(2, applied.size());
+        assertEquals(13, applied.get(1), 0);
+        // Nothing pending
+        instance.flush();
+        assertEquals(2, applied.size());
+    }
+
+    /**
+     * Test of flush method: changes smaller than the precision, measured from
+     * the last applied value, are skipped.
+     */
+    @Test
+    public void testPrecision() {
+        System.out.println("precision");
+        instance.bind(number, 0.5, applied::add);
+        number.set(10.3);
+        instance.flush();
+        assertEquals(1, applied.size());
+        number.set(10.6);
+        instance.flush();
+        assertEquals(2, applied.size());
+        assertEquals(10.6, applied.get(1), 0);
+        // Small steps do not creep past the precision
+        number.set(10.9);
+        instance.flush();
+        assertEquals(2, applied.size());
+        number.set(11.2);
+        instance.flush();
+        assertEquals(3, applied.size());
+        assertEquals(11.2, applied.get(2), 0);
+        // A burst that returns to the applied value is skipped
+        number.set(20);
+        number.set(11.2);
+        instance.flush();
+        assertEquals(3, applied.size());
+    }
+
+    /**
+     * Test of bind method for objects: changes to an equal value are
+     * skipped.
+     */
+    @Test
+    public void testObjectBinding() {
+        System.out.println("object binding");
+        ObjectProperty<String> text = new SimpleObjectProperty<>("a");
+        List<String> texts = new ArrayList<>();
+        instance.bind(text, texts::add);
+        text.set("b");
+        text.set("a");
+        instance.flush();
+        assertEquals(1, texts.size());
+        text.set("c");
+        instance.flush();
+        assertEquals(2, texts.size());
+        assertEquals("c", texts.get(1));
+    }
+
+    /**
+     * Test of dispose method: the pending and later changes are discarded.
+     */
+    @Test
+    public void testDispose() {
+        System.out.println("dispose");
+        instance.bind(number, 0, applied::add);
+        number.set(11);
+        instance.dispose();
+        instance.flush();
+        number.set(12);
+        instance.flush();
+        assertEquals(1, applied.size());
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.presentation.haulchart;
+
+import com.emxsys.wildfirefx.model.FireBehavior;
+import com.emxsys.wildfirefx.presentation.haulchart.HaulChartExporter.Format;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import javax.json.Json;
+import javax.json.JsonObject;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class HaulChartExporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HaulChartExporter instance;
+
+    public HaulChartExporterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    @After
+    public void tearDown() {
+        if (instance != null) {
+            instance.close();
+        }
+    }
+
+    /**
+     * Test of export method: writes a PNG of the chart size.
+     */
+    @Test
+    public void testExportPng() throws Exception {
+        System.out.println("export");
+        instance = new HaulChartExporter(1, 400, 300);
+        File file = new File(folder.getRoot(), "chart.png");
+        assertSame(file, instance.export(createFireBehavior("4", 20), file, Format.PNG).get());
+        BufferedImage image = ImageIO.read(file);
+        assertNotNull(image);
+        assertEquals(400, image.getWidth());
+        assertEquals(300, image.getHeight());
+    }
+
+    /**
+     * Test of exportAll method: writes a file per fire behavior, named by
+     * index and fuel model code.
+     */
+    @Test
+    public void testExportAll() throws Exception {
+        System.out.println("exportAll");
+        instance = new HaulChartExporter(2, 200, 150);
+        List<FireBehavior> fires = Arrays.asList(createFireBehavior("1", 5), createFireBehavior("4", 20),
+                createFireBehavior("10", 8));
+        List<File> files = instance.exportAll(fires, new File(folder.getRoot(), "charts"), Format.PNG);
+        assertEquals(3, files.size());
+        assertEquals("001-FM4.png", files.get(1).getName());
+        for (File file : files) {
+            assertNotNull(ImageIO.read(file));
+        }
+    }
+
+    /**
+     * Test of export method: a job cancelled while it renders keeps its
+     * permit until the rendering stops.
+     */
+    @Test
+    public void testCancelWhileRendering() throws Exception {
+        System.out.println("cancel while rendering");
+        // One thread, so two jobs may be pending
+        instance = new HaulChartExporter(1, 200, 150);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        Future<File> blocked = instance.export(createBlockingFireBehavior(started, resume),
+                folder.newFile("blocked.png"), Format.PNG);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        blocked.cancel(true);
+
+        try {
+            Future<File> queued = instance.export(createFireBehavior("4", 20), folder.newFile("queued.png"),
+                    Format.PNG);
+            CountDownLatch submitted = new CountDownLatch(1);
+            Thread thread = new Thread(() -> {
+                try {
+                    instance.export(createFireBehavior("4", 20), folder.newFile("third.png"), Format.PNG);
+                    submitted.countDown();
+                } catch (InterruptedException | IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            assertFalse("Submitted while the cancelled job renders", submitted.await(200, TimeUnit.MILLISECONDS));
+
+            resume.countDown();
+            assertTrue(submitted.await(10, TimeUnit.SECONDS));
+            assertNotNull(queued.get(10, TimeUnit.SECONDS));
+        } finally {
+            resume.countDown();
+        }
+    }
+
+    private static FireBehavior createFireBehavior(String modelNo, double rosMax) {
+        return new FireBehavior(createJson(modelNo, rosMax));
+    }
+
+    /**
+     * @return A fire behavior that blocks the rendering, ignoring interrupts,
+     * until resumed.
+     */
+    private static FireBehavior createBlockingFireBehavior(CountDownLatch started, CountDownLatch resume) {
+        return new FireBehavior(createJson("4", 20)) {
+            @Override
+            public double getRateOfSpreadMax() {
+                started.countDown();
+                boolean interrupted = false;
+                while (resume.getCount() > 0) {
+                    try {
+                        resume.await();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getRateOfSpreadMax();
+            }
+        };
+    }
+
+    private static JsonObject createJson(String modelNo, double rosMax) {
+        return Json.createObjectBuilder()
+                .add("firelineIntensity", value(rosMax * 100))
+                .add("flameLength", value(rosMax / 4))
+                .add("fuelBed", Json.createObjectBuilder()
+                        .add("fuelModel", Json.createObjectBuilder()
+                                .add("modelNo", modelNo)
+                                .add("modelCode", "FM" + modelNo)
+                                .add("modelName", "Fuel model " + modelNo))
+                        .add("fuelMoisture", Json.createObjectBuilder())
+                        .add("heatRelease", value(rosMax * 50)))
+                .add("rateOfSpreadBacking", value(rosMax / 10))
+                .add("rateOfSpreadFlanking", value(rosMax / 3))
+                .add("rateOfSpreadMax", value(rosMax))
+                .build();
+    }
+
+    private static JsonObject value(double value) {
+        return Json.createObjectBuilder().add("value", Double.toString(value)).build();
+    }
+}
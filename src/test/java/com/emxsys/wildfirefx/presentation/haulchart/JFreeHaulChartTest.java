@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2015, Bruce Schubert <bruce@emxsys.com>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Bruce Schubert,  nor the names of its 
+ *       contributors may be used to endorse or promote products derived
+ *       from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emxsys.wildfirefx.presentation.haulchart;
+
+import com.emxsys.wildfirefx.model.FireBehavior;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import javax.json.Json;
+import javax.json.JsonObject;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.Range;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Bruce Schubert
+ */
+public class JFreeHaulChartTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 400;
+
+    public JFreeHaulChartTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    /**
+     * Test of createSnapshot method: the snapshot draws the same chart.
+     */
+    @Test
+    public void testSnapshotDrawsSameChart() {
+        System.out.println("createSnapshot");
+        JFreeHaulChart instance = new JFreeHaulChart();
+        instance.plotFireBehavior(createFireBehavior(20, 800));
+        XYPlot plot = (XYPlot) instance.getChart().getPlot();
+        plot.getDomainAxis().setRange(100, 5000);
+        plot.setRangeCrosshairVisible(false);
+        JFreeChart snapshot = instance.createSnapshot();
+        assertNotSame(instance.getChart(), snapshot);
+        assertArrayEquals(draw(instance.getChart()), draw(snapshot));
+    }
+
+    /**
+     * Test of createSnapshot method: the snapshot shares no state that is
+     * changed by plotting or zooming the chart.
+     */
+    @Test
+    public void testSnapshotIsDetached() {
+        System.out.println("createSnapshot detached");
+        JFreeHaulChart instance = new JFreeHaulChart();
+        instance.plotFireBehavior(createFireBehavior(20, 800));
+        JFreeChart snapshot = instance.createSnapshot();
+        int[] expected = draw(snapshot);
+
+        instance.plotFireBehavior(createFireBehavior(200, 5000));
+        XYPlot plot = (XYPlot) instance.getChart().getPlot();
+        plot.getDomainAxis().setRange(1000, 2000);
+
+        XYPlot snapshotPlot = (XYPlot) snapshot.getPlot();
+        assertNotSame(plot.getDataset(), snapshotPlot.getDataset());
+        assertNotSame(plot.getDomainAxis(), snapshotPlot.getDomainAxis());
+        assertEquals(20, snapshotPlot.getDataset().getYValue(0, 0), 0);
+        assertEquals(new Range(10, 11000), snapshotPlot.getDomainAxis().getRange());
+        assertArrayEquals(expected, draw(snapshot));
+    }
+
+    private static int[] draw(JFreeChart chart) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, WIDTH, HEIGHT));
+        g2.dispose();
+        return image.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH);
+    }
+
+    private static FireBehavior createFireBehavior(double rosMax, double heatRelease) {
+        return new FireBehavior(Json.createObjectBuilder()
+                .add("firelineIntensity", value(rosMax * heatRelease / 60))
+                .add("flameLength", value(rosMax / 4))
+                .add("fuelBed", Json.createObjectBuilder()
+                        .add("fuelModel", Json.createObjectBuilder()
+                                .add("modelNo", "4")
+                                .add("modelCode", "FM4")
+                                .add("modelName", "Chaparral (6 feet)"))
+                        .add("fuelMoisture", Json.createObjectBuilder())
+                        .add("heatRelease", value(heatRelease)))
+                .add("rateOfSpreadBacking", value(rosMax / 10))
+                .add("rateOfSpreadFlanking", value(rosMax / 3))
+                .add("rateOfSpreadMax", value(rosMax))
+                .build());
+    }
+
+    private static JsonObject value(double value) {
+        return Json.createObjectBuilder().add("value", Double.toString(value)).build();
+    }
+}